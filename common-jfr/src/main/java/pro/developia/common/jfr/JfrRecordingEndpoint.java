@@ -0,0 +1,160 @@
+package pro.developia.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 크기와 시간이 제한된 JFR 녹화를 시작하고 내려받는 엔드포인트
+ * <p>
+ * POST /actuator/jfr 로 JDK default 설정에 애플리케이션이 넘긴 이벤트를 모두 켠 녹화를 시작하고 (duration, maxSize, threshold),
+ * GET /actuator/jfr/dump 로 지금까지의 녹화를 .jfr 파일로 받는다. 녹화는 한 번에 하나만 유지하며
+ * duration 이 지나면 멈추지만 DELETE /actuator/jfr 로 닫기 전까지는 계속 내려받을 수 있다.
+ * 녹화가 없으면 이벤트는 shouldCommit() 에서 걸러지므로 요청 경로에 남는 비용은 거의 없다.
+ * <p>
+ * 덤프에는 스레드 스택과 클래스 이름이 그대로 담기므로 빈 등록은 jfr.recording.enabled 로 켤 때만 하고,
+ * default 설정 중 환경 변수와 시스템 프로퍼티(비밀번호, 토큰 포함)를 기록하는 이벤트는 끈다.
+ */
+@Slf4j
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint implements AutoCloseable {
+    private static final String DUMP = "dump";
+    private static final int STATUS_CONFLICT = 409;
+    private static final List<String> ENVIRONMENT_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private final String name;
+    private final List<Class<? extends Event>> events;
+    private final JfrRecordingProperties properties;
+
+    // this 로 보호
+    @Nullable
+    private Recording recording;
+    @Nullable
+    private Path dumpFile;
+
+    public JfrRecordingEndpoint(String name, List<Class<? extends Event>> events, JfrRecordingProperties properties) {
+        this.name = name;
+        this.events = events;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        status.put("events", events.stream().map(Class::getName).toList());
+        return status;
+    }
+
+    /**
+     * @param duration  녹화 시간, 없으면 jfr.recording.default-duration (최대 jfr.recording.max-duration)
+     * @param maxSize   녹화 최대 크기, 없거나 jfr.recording.max-size 보다 크면 max-size
+     * @param threshold 이 시간보다 짧은 이 모듈 이벤트는 버린다, 없으면 모두 기록
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration,
+                                                                       @Nullable DataSize maxSize,
+                                                                       @Nullable Duration threshold) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        }
+        closeRecording();
+
+        Duration limit = duration == null ? properties.getDefaultDuration() : duration;
+        if (limit.compareTo(properties.getMaxDuration()) > 0) {
+            limit = properties.getMaxDuration();
+        }
+        long sizeLimit = properties.getMaxSize().toBytes();
+        if (maxSize != null && maxSize.toBytes() < sizeLimit) {
+            sizeLimit = maxSize.toBytes();
+        }
+
+        Recording started = new Recording(Configuration.getConfiguration("default"));
+        started.setName(name);
+        started.setToDisk(true);
+        started.setMaxSize(sizeLimit);
+        started.setDuration(limit);
+        ENVIRONMENT_EVENTS.forEach(started::disable);
+        for (Class<? extends Event> event : events) {
+            started.enable(event).withThreshold(threshold == null ? Duration.ZERO : threshold);
+        }
+        started.start();
+        recording = started;
+        log.info("JFR 녹화를 시작합니다. duration={}, maxSize={} bytes, threshold={}", limit, sizeLimit, threshold);
+        return new WebEndpointResponse<>(status());
+    }
+
+    /**
+     * 지금까지 녹화된 데이터를 .jfr 파일로 내려준다 (녹화는 계속된다)
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) throws IOException {
+        if (!DUMP.equals(action) || recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        deleteDumpFile();
+        dumpFile = Files.createTempFile(name + "-", ".jfr");
+        recording.dump(dumpFile);
+        return new WebEndpointResponse<>(new FileSystemResource(dumpFile));
+    }
+
+    @DeleteOperation
+    public synchronized void stop() {
+        closeRecording();
+        deleteDumpFile();
+    }
+
+    @Override
+    public synchronized void close() {
+        stop();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteDumpFile() {
+        if (dumpFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(dumpFile);
+        } catch (IOException e) {
+            log.warn("JFR 덤프 파일을 지우지 못했습니다. path={}", dumpFile, e);
+        }
+        dumpFile = null;
+    }
+}
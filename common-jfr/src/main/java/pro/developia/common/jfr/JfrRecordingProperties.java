@@ -0,0 +1,33 @@
+package pro.developia.common.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jfr.recording")
+public class JfrRecordingProperties {
+    /**
+     * /actuator/jfr 엔드포인트 등록 여부, 켤 때는 management.server.port 로 내부 포트에만 노출한다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 시작할 때 duration 을 주지 않으면 이 시간 동안 녹화하고 멈춘다
+     */
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * 요청할 수 있는 최대 녹화 시간
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * 녹화 데이터 최대 크기, 넘으면 오래된 데이터부터 버린다
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,65 @@
+package pro.developia.common.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint("common-jfr-test", List.of(SampleEvent.class),
+            new JfrRecordingProperties());
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    @DisplayName("넘겨받은 이벤트는 기록하고, 환경 변수와 시스템 프로퍼티 이벤트는 덤프에 남기지 않는다.")
+    void recordsGivenEventsWithoutEnvironment() throws Exception {
+        endpoint.start(Duration.ofMinutes(1), DataSize.ofMegabytes(8), null);
+
+        new SampleEvent().commit();
+
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        List<String> names = RecordingFile.readAllEvents(response.getBody().getFile().toPath()).stream()
+                .map(RecordedEvent::getEventType)
+                .map(EventType::getName)
+                .toList();
+        assertThat(names).contains("pro.developia.common.Sample");
+        assertThat(names).doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+    }
+
+    @Test
+    @DisplayName("녹화는 하나만 유지하고, 녹화 중 다시 시작하면 409, 멈춘 뒤에는 dump 할 수 없다.")
+    void keepsSingleBoundedRecording() throws Exception {
+        endpoint.start(Duration.ofHours(1), DataSize.ofGigabytes(1), null);
+
+        Map<String, Object> status = endpoint.status();
+        assertThat(status.get("duration")).isEqualTo(new JfrRecordingProperties().getMaxDuration());
+        assertThat(status.get("maxSize")).isEqualTo(new JfrRecordingProperties().getMaxSize().toBytes());
+        assertThat(endpoint.start(null, null, null).getStatus()).isEqualTo(409);
+
+        endpoint.stop();
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+        assertThat(endpoint.dump("dump").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Name("pro.developia.common.Sample")
+    static class SampleEvent extends Event {
+    }
+}
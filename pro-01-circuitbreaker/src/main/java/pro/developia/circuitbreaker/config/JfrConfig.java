@@ -0,0 +1,43 @@
+package pro.developia.circuitbreaker.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.circuitbreaker.jfr.CircuitBreakerJfrEventConsumer;
+import pro.developia.circuitbreaker.jfr.CircuitBreakerPermissionEvent;
+import pro.developia.circuitbreaker.jfr.ExternalApiCallEvent;
+import pro.developia.circuitbreaker.jfr.FallbackEvent;
+import pro.developia.common.jfr.JfrRecordingEndpoint;
+import pro.developia.common.jfr.JfrRecordingProperties;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(JfrRecordingProperties.class)
+public class JfrConfig {
+
+    /**
+     * resilience4j 자동 설정이 레지스트리를 만들 때 등록해 yml 로 만든 breaker 에도 붙는다
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerJfrEventConsumer() {
+        return new CircuitBreakerJfrEventConsumer();
+    }
+
+    /**
+     * /actuator/jfr 로 시작한 녹화에서는 기본으로 꺼 둔 허용 확인 이벤트까지 모두 켠다
+     * <p>
+     * 덤프에 스택과 클래스 정보가 담기므로 jfr.recording.enabled=true 일 때만 등록한다
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jfr.recording", name = "enabled")
+    public JfrRecordingEndpoint jfrRecordingEndpoint(JfrRecordingProperties properties) {
+        return new JfrRecordingEndpoint("pro-01-circuitbreaker", List.of(
+                ExternalApiCallEvent.class,
+                CircuitBreakerPermissionEvent.class,
+                FallbackEvent.class), properties);
+    }
+}
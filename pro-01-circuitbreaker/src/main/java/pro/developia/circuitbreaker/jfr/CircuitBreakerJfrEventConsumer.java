@@ -0,0 +1,41 @@
+package pro.developia.circuitbreaker.jfr;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+
+/**
+ * 레지스트리에 추가되는 모든 circuit breaker 의 호출 결과/거부 이벤트를 {@link CircuitBreakerPermissionEvent} 로 남긴다
+ * <p>
+ * 녹화 중이 아니면 shouldCommit() 에서 바로 돌아간다.
+ */
+public class CircuitBreakerJfrEventConsumer implements RegistryEventConsumer<CircuitBreaker> {
+
+    @Override
+    public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> entryAddedEvent) {
+        register(entryAddedEvent.getAddedEntry());
+    }
+
+    @Override
+    public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> entryRemoveEvent) {
+    }
+
+    @Override
+    public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> entryReplacedEvent) {
+        register(entryReplacedEvent.getNewEntry());
+    }
+
+    private static void register(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher()
+                .onSuccess(event -> commit(circuitBreaker, true, "success"))
+                .onError(event -> commit(circuitBreaker, true, "error"))
+                .onIgnoredError(event -> commit(circuitBreaker, true, "ignored-error"))
+                .onCallNotPermitted(event -> commit(circuitBreaker, false, "not-permitted"));
+    }
+
+    private static void commit(CircuitBreaker circuitBreaker, boolean permitted, String outcome) {
+        new CircuitBreakerPermissionEvent().commit(circuitBreaker, permitted, outcome);
+    }
+}
@@ -0,0 +1,47 @@
+package pro.developia.circuitbreaker.jfr;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * circuit breaker 허용 확인 한 번, 보호된 호출마다 생기므로 기본으로 꺼 둔다
+ * <p>
+ * 허용 확인은 resilience4j aspect 안에서 일어나므로 breaker 이벤트(성공/실패/거부)를 받은 시점에 기록한다.
+ * 허용된 호출은 outcome 에 호출 결과가 남는다.
+ */
+@Name("pro.developia.circuitbreaker.CircuitBreakerPermission")
+@Label("Circuit Breaker Permission")
+@Category({"Developia", "Circuit Breaker"})
+@Description("circuit breaker 허용 확인, permitted=false 면 호출하지 않고 fallback 으로 간다")
+@Enabled(false)
+@StackTrace(false)
+public class CircuitBreakerPermissionEvent extends Event {
+    @Label("Circuit Breaker")
+    String name;
+
+    @Label("State")
+    String state;
+
+    @Label("Permitted")
+    boolean permitted;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void commit(CircuitBreaker circuitBreaker, boolean permitted, String outcome) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.name = circuitBreaker.getName();
+        this.state = circuitBreaker.getState().name();
+        this.permitted = permitted;
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,42 @@
+package pro.developia.circuitbreaker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * circuit breaker 가 허용해 실제로 나간 외부 API 호출 한 번
+ */
+@Name("pro.developia.circuitbreaker.ExternalApiCall")
+@Label("External API Call")
+@Category({"Developia", "Circuit Breaker"})
+@Description("circuit breaker 가 허용한 외부 API 호출, 실패하면 exception 에 예외 타입이 남는다")
+@StackTrace(false)
+public class ExternalApiCallEvent extends Event {
+    @Label("Circuit Breaker")
+    String name;
+
+    @Label("URL")
+    String url;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Exception")
+    String exception;
+
+    public void commit(String name, String url, @Nullable Throwable failure) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.name = name;
+        this.url = url;
+        this.success = failure == null;
+        this.exception = failure == null ? null : failure.getClass().getName();
+        commit();
+    }
+}
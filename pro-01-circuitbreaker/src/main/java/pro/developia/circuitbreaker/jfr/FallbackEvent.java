@@ -0,0 +1,33 @@
+package pro.developia.circuitbreaker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 호출이 거부되었거나 실패해서 실행된 fallback 메서드
+ */
+@Name("pro.developia.circuitbreaker.Fallback")
+@Label("Circuit Breaker Fallback")
+@Category({"Developia", "Circuit Breaker"})
+@Description("fallback 으로 응답한 호출, exception 은 fallback 을 일으킨 예외 타입 (거부면 CallNotPermittedException)")
+@StackTrace(false)
+public class FallbackEvent extends Event {
+    @Label("Circuit Breaker")
+    String name;
+
+    @Label("Exception")
+    String exception;
+
+    public void commit(String name, Throwable cause) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.name = name;
+        this.exception = cause.getClass().getName();
+        commit();
+    }
+}
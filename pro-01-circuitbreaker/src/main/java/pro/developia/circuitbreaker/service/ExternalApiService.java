@@ -7,24 +7,40 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import pro.developia.circuitbreaker.jfr.ExternalApiCallEvent;
+import pro.developia.circuitbreaker.jfr.FallbackEvent;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ExternalApiService {
+    private static final String CIRCUIT_BREAKER = "externalApiService";
+
     private final RestTemplate restTemplate;
     @Value("${external.api.url}")
     private String externalApiUrl;
 
 
-    @CircuitBreaker(name = "externalApiService", fallbackMethod = "fallback")
+    @CircuitBreaker(name = CIRCUIT_BREAKER, fallbackMethod = "fallback")
     public String callExternalApi() {
         log.info("=== callExternalApi ===");
-        return restTemplate.getForObject(externalApiUrl + "/api/data", String.class);
+        String url = externalApiUrl + "/api/data";
+        ExternalApiCallEvent event = new ExternalApiCallEvent();
+        event.begin();
+        RuntimeException failure = null;
+        try {
+            return restTemplate.getForObject(url, String.class);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.commit(CIRCUIT_BREAKER, url, failure);
+        }
     }
 
     private String fallback(Throwable t) {
         log.warn("== fallback {}", t.getClass().getSimpleName());
+        new FallbackEvent().commit(CIRCUIT_BREAKER, t);
 
         if (t instanceof HttpServerErrorException) {
             return "fallback(HttpServerErrorException)";
@@ -0,0 +1,57 @@
+package pro.developia.circuitbreaker.jfr;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerJfrEventConsumerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("허용된 호출은 결과와 함께, 거부된 호출은 permitted=false 로 기록된다.")
+    void recordsPermissionChecks() throws Exception {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults(),
+                new CircuitBreakerJfrEventConsumer());
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("externalApiService");
+        Path dump = tempDir.resolve("permission.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(CircuitBreakerPermissionEvent.class);
+            recording.start();
+
+            circuitBreaker.executeSupplier(() -> "success");
+            assertThatThrownBy(() -> circuitBreaker.executeSupplier(() -> {
+                throw new IllegalStateException("error");
+            })).isInstanceOf(IllegalStateException.class);
+            circuitBreaker.transitionToForcedOpenState();
+            assertThatThrownBy(() -> circuitBreaker.executeSupplier(() -> "not called"))
+                    .isInstanceOf(CallNotPermittedException.class);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("pro.developia.circuitbreaker.CircuitBreakerPermission"))
+                .toList();
+        assertThat(events)
+                .extracting(event -> event.getString("outcome") + ":" + event.getBoolean("permitted") + ":" + event.getString("state"))
+                .containsExactly("success:true:CLOSED", "error:true:CLOSED", "not-permitted:false:FORCED_OPEN");
+        assertThat(events).allSatisfy(event -> assertThat(event.getString("name")).isEqualTo("externalApiService"));
+    }
+}
@@ -0,0 +1,130 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JMH 결과(jmh.json)와 HTTP 부하 결과(load.json)를 provider 비교 표 하나로 합친다
+ * <p>
+ * JMH 는 같은 벤치마크를 처리량/SampleTime 두 모드로 돌리므로, 처리량과 p99 를 (벤치마크, provider) 한 줄로 묶는다.
+ */
+@Slf4j
+public class BenchmarkReport {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        Path jmh = Path.of(args[0]);
+        Path load = Path.of(args[1]);
+        Path output = Path.of(args[2]);
+
+        StringBuilder report = new StringBuilder("# 캐시 provider 비교\n\n");
+        report.append("## JMH: products 캐시 get / put / getAll (8 스레드, Zipfian 키)\n\n");
+        if (Files.exists(jmh)) {
+            appendJmh(report, objectMapper.readTree(jmh.toFile()));
+        } else {
+            report.append("결과 없음 (`./gradlew :pro-02-cache:jmh`)\n");
+        }
+        report.append("\n## HTTP: GET /products/{id} (Zipfian 키)\n\n");
+        if (Files.exists(load)) {
+            appendLoad(report, objectMapper.readTree(load.toFile()));
+        } else {
+            report.append("결과 없음 (`./gradlew :pro-02-cache:loadTest`)\n");
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, report);
+        log.warn("비교 리포트 저장: {}", output.toAbsolutePath());
+    }
+
+    private static void appendJmh(StringBuilder report, JsonNode results) {
+        Map<String, JmhRow> rows = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.path("benchmark").asText();
+            benchmark = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            String provider = result.path("params").path("provider").asText();
+            JmhRow row = rows.computeIfAbsent(benchmark + "/" + provider, key -> new JmhRow());
+            row.benchmark = benchmark;
+            row.provider = provider;
+            row.threads = result.path("threads").asInt();
+
+            JsonNode primary = result.path("primaryMetric");
+            if (result.path("mode").asText().equals("thrpt")) {
+                row.throughput = format(primary.path("score").asDouble()) + " ± " + format(primary.path("scoreError").asDouble())
+                        + " " + primary.path("scoreUnit").asText();
+                row.allocation = secondary(result, "gc.alloc.rate.norm");
+                row.gcCount = secondary(result, "gc.count");
+                row.gcTime = secondary(result, "gc.time");
+            } else if (result.path("mode").asText().equals("sample")) {
+                row.p99 = format(primary.path("scorePercentiles").path("99.0").asDouble()) + " " + primary.path("scoreUnit").asText();
+            }
+        }
+
+        report.append("| benchmark | provider | threads | 처리량 | p99 | 할당 (B/op) | GC 횟수 | GC 시간 (ms) |\n");
+        report.append("|---|---|---|---|---|---|---|---|\n");
+        for (JmhRow row : rows.values()) {
+            report.append(String.format("| %s | %s | %d | %s | %s | %s | %s | %s |%n",
+                    row.benchmark, row.provider, row.threads, row.throughput, row.p99, row.allocation, row.gcCount, row.gcTime));
+        }
+    }
+
+    private static void appendLoad(StringBuilder report, JsonNode results) {
+        report.append("| profile | 동시 요청 | 처리량 (req/s) | p50 (ms) | p99 (ms) | p99.9 (ms) | hit ratio | heap (MB) | live heap (MB) | GC 횟수 | GC 시간 (ms) | 오류 |\n");
+        report.append("|---|---|---|---|---|---|---|---|---|---|---|---|\n");
+        for (JsonNode result : results) {
+            report.append(String.format("| %s | %d | %s | %s | %s | %s | %s | %d | %d | %d | %d | %d |%n",
+                    result.path("profile").asText(),
+                    result.path("concurrency").asInt(),
+                    format(result.path("throughput").asDouble()),
+                    format(result.path("p50Micros").asLong() / 1000.0),
+                    format(result.path("p99Micros").asLong() / 1000.0),
+                    format(result.path("p999Micros").asLong() / 1000.0),
+                    format(result.path("hitRatio").asDouble()),
+                    result.path("heapUsedMb").asLong(),
+                    result.path("liveHeapMb").asLong(),
+                    result.path("gcCount").asLong(),
+                    result.path("gcMillis").asLong(),
+                    result.path("errors").asLong()));
+        }
+    }
+
+    /**
+     * JMH 버전에 따라 보조 지표 이름 앞에 "·" 가 붙기도 한다
+     */
+    private static String secondary(JsonNode result, String name) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().replace("·", "").equals(name)) {
+                return format(metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, value >= 100 ? "%.0f" : "%.3f", value);
+    }
+
+    private static class JmhRow {
+        private String benchmark;
+        private String provider;
+        private int threads;
+        private String throughput = "-";
+        private String p99 = "-";
+        private String allocation = "-";
+        private String gcCount = "-";
+        private String gcTime = "-";
+    }
+}
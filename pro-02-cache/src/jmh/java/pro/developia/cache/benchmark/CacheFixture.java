@@ -0,0 +1,202 @@
+package pro.developia.cache.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pro.developia.cache.admission.BudgetedCache;
+import pro.developia.cache.admission.CacheBudgetProperties;
+import pro.developia.cache.admission.StoredSizeEstimator;
+import pro.developia.cache.config.CaffeineCacheConfig;
+import pro.developia.cache.config.RedisCacheConfig;
+import pro.developia.cache.ehcache.EhcacheTierProperties;
+import pro.developia.cache.ehcache.TieredCacheManagerFactory;
+import pro.developia.cache.offheap.OffHeapProductCache;
+import pro.developia.cache.offheap.OffHeapProductStore;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.support.RedisStandIn;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크 대상 provider 별 products 캐시, 각 프로필(application.yml)과 같은 설정으로 만든다
+ * <p>
+ * get/put 은 애플리케이션과 같은 Spring {@link Cache} 경로를, getAll 은 provider 의 네이티브 다건 조회를 사용한다.
+ */
+abstract class CacheFixture implements AutoCloseable {
+    static final String CACHE_NAME = "products";
+
+    abstract Cache cache();
+
+    abstract Map<Long, Product> getAll(List<Long> ids);
+
+    @Override
+    public void close() {
+    }
+
+    static CacheFixture create(String provider) {
+        return switch (provider) {
+            case "caffeine" -> new CaffeineFixture();
+            case "ehcache" -> new EhcacheFixture();
+            case "offheap" -> new OffHeapFixture();
+            case "redis" -> new RedisFixture();
+            default -> throw new IllegalArgumentException("알 수 없는 provider: " + provider);
+        };
+    }
+
+    private static class CaffeineFixture extends CacheFixture {
+        private final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                new CaffeineCacheConfig().caffeine(new CacheBudgetProperties(), Duration.ofSeconds(30)).build();
+        private final Cache cache = new CaffeineCache(CACHE_NAME, nativeCache);
+
+        @Override
+        Cache cache() {
+            return cache;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<Long, Product> getAll(List<Long> ids) {
+            return (Map) nativeCache.getAllPresent(ids);
+        }
+    }
+
+    private static class EhcacheFixture extends CacheFixture {
+        private final CacheManager cacheManager;
+        private final javax.cache.Cache<Long, Product> nativeCache;
+        private final Cache cache;
+
+        EhcacheFixture() {
+            EhcacheTierProperties properties = new EhcacheTierProperties();
+            try {
+                properties.setDiskPath(Files.createTempDirectory("ehcache-benchmark").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            properties.setPersistent(false);
+            // 애플리케이션과 같이 heap 계층은 heap 예산으로, admission 장부는 disk 계층 직렬화 크기로 센다
+            CacheBudgetProperties budgetProperties = new CacheBudgetProperties();
+            properties.setHeapSize(budgetProperties.getMaxSize());
+            cacheManager = TieredCacheManagerFactory.create(properties);
+            nativeCache = cacheManager.getCache(CACHE_NAME, Long.class, Product.class);
+            cache = new BudgetedCache(new JCacheCache(cacheManager.getCache(CACHE_NAME)), properties.getDiskSize().toBytes(),
+                    StoredSizeEstimator::estimate, budgetProperties, new SimpleMeterRegistry());
+        }
+
+        @Override
+        Cache cache() {
+            return cache;
+        }
+
+        @Override
+        Map<Long, Product> getAll(List<Long> ids) {
+            return nativeCache.getAll(new HashSet<>(ids));
+        }
+
+        @Override
+        public void close() {
+            cacheManager.close();
+        }
+    }
+
+    private static class OffHeapFixture extends CacheFixture {
+        private final OffHeapProductStore store = new OffHeapProductStore(1_000_000, 96, 16, Duration.ofMinutes(10));
+        private final Cache cache = new OffHeapProductCache(CACHE_NAME, store);
+
+        @Override
+        Cache cache() {
+            return cache;
+        }
+
+        @Override
+        Map<Long, Product> getAll(List<Long> ids) {
+            Map<Long, Product> found = new HashMap<>();
+            for (Long id : ids) {
+                Product product = store.get(id);
+                if (product != null) {
+                    found.put(id, product);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void close() {
+            store.clear();
+        }
+    }
+
+    /**
+     * -Dbenchmark.redis.port 가 없으면 같은 JVM 의 {@link RedisStandIn} 에 연결한다
+     */
+    private static class RedisFixture extends CacheFixture {
+        private final RedisStandIn standIn;
+        private final LettuceConnectionFactory connectionFactory;
+        private final RedisCache cache;
+        private final String keyPrefix;
+
+        RedisFixture() {
+            Integer port = Integer.getInteger("benchmark.redis.port");
+            standIn = port == null ? RedisStandIn.start(0) : null;
+            connectionFactory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration("localhost", port != null ? port : standIn.port()));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            RedisCacheManager cacheManager = new RedisCacheConfig().redisCacheManager(
+                    RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), new SimpleMeterRegistry());
+            cacheManager.afterPropertiesSet();
+            cache = (RedisCache) cacheManager.getCache(CACHE_NAME);
+            keyPrefix = cache.getCacheConfiguration().getKeyPrefixFor(CACHE_NAME);
+        }
+
+        @Override
+        Cache cache() {
+            return cache;
+        }
+
+        @Override
+        Map<Long, Product> getAll(List<Long> ids) {
+            byte[][] keys = new byte[ids.size()][];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (keyPrefix + ids.get(i)).getBytes(StandardCharsets.UTF_8);
+            }
+            List<byte[]> values;
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                values = connection.stringCommands().mGet(keys);
+            }
+            Map<Long, Product> found = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                byte[] value = values.get(i);
+                if (value != null) {
+                    found.put(ids.get(i), (Product) cache.getCacheConfiguration().getValueSerializationPair()
+                            .read(ByteBuffer.wrap(value)));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void close() {
+            connectionFactory.destroy();
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+    }
+}
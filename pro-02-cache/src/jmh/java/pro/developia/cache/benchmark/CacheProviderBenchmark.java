@@ -0,0 +1,113 @@
+package pro.developia.cache.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import pro.developia.cache.product.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * provider 별 products 캐시 get/put/getAll 을 8 스레드가 동시에 호출할 때의 처리량과 지연 분포
+ * <p>
+ * 키는 Zipfian 분포로 뽑으므로 소수의 hot 키에 경합이 몰린다. readWrite 그룹은 조회 6 : 갱신 2 스레드로 같은 키를 두고 다툰다.
+ * redis 는 기본적으로 같은 JVM 의 stand-in 에 붙으므로 네트워크 왕복과 직렬화 비용만 비교한다. (-Dbenchmark.redis.port 로 실제 Redis 지정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class CacheProviderBenchmark {
+    private static final int BATCH_SIZE = 16;
+
+    @Param({"caffeine", "ehcache", "offheap", "redis"})
+    public String provider;
+
+    @Param("100000")
+    public int keySpace;
+
+    @Param("0.99")
+    public double skew;
+
+    private CacheFixture fixture;
+    private Cache cache;
+    private ZipfianGenerator keys;
+    private Product[] products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = CacheFixture.create(provider);
+        cache = fixture.cache();
+        keys = new ZipfianGenerator(keySpace, skew);
+        products = new Product[keySpace + 1];
+        for (int id = 1; id <= keySpace; id++) {
+            products[id] = new Product((long) id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+            cache.put((long) id, products[id]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper get() {
+        return cache.get(nextId());
+    }
+
+    @Benchmark
+    public void put() {
+        long id = nextId();
+        cache.put(id, products[(int) id]);
+    }
+
+    @Benchmark
+    public Map<Long, Product> getAll() {
+        List<Long> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(nextId());
+        }
+        return fixture.getAll(ids);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(6)
+    public Cache.ValueWrapper readWriteGet() {
+        return get();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public void readWritePut() {
+        put();
+    }
+
+    private long nextId() {
+        return keys.next() + 1;
+    }
+}
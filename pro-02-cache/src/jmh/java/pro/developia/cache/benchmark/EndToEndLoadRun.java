@@ -0,0 +1,233 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pro.developia.cache.CacheApplication;
+import pro.developia.cache.support.RedisStandIn;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 프로필별로 애플리케이션을 띄워 GET /products/{id} 에 Zipfian 키 부하를 걸고 처리량, 지연 백분위, heap, GC 를 기록한다
+ * <p>
+ * redis 프로필은 같은 JVM 의 {@link RedisStandIn} 에 연결한다. 부하 발생기도 같은 JVM 에서 돌므로 heap/GC 수치에는 발생기 몫이 포함되지만,
+ * 모든 프로필에서 같은 양이라 상대 비교에는 영향이 없다.
+ * <p>
+ * 설정 (시스템 프로퍼티): load.profiles, load.duration, load.warmup, load.concurrency, load.skew, load.catalog-size, load.read-latency
+ */
+@Slf4j
+public class EndToEndLoadRun {
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/cache-benchmark/load.json");
+        Settings settings = Settings.fromSystemProperties();
+        List<LoadResult> results = new ArrayList<>();
+        for (String profile : settings.profiles()) {
+            LoadResult result = run(profile, settings);
+            log.warn("{}", result);
+            results.add(result);
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        log.warn("부하 테스트 결과 저장: {}", output.toAbsolutePath());
+    }
+
+    static LoadResult run(String profile, Settings settings) throws Exception {
+        Path workDir = Files.createTempDirectory("cache-load-" + profile);
+        RedisStandIn redis = profile.equals("redis") ? RedisStandIn.start(0) : null;
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.pro.developia.cache", "WARN");
+        properties.put("cache.warmup.enabled", false);
+        properties.put("cache.warmup.snapshot-path", workDir.resolve("hot-keys.txt").toString());
+        properties.put("cache.penetration.filter.snapshot-path", workDir.resolve("product-ids.bloom").toString());
+        properties.put("cache.ehcache.disk-path", workDir.resolve("ehcache").toString());
+        properties.put("cache.ehcache.persistent", false);
+        properties.put("product.write-behind.journal-path", workDir.resolve("product-writes.journal").toString());
+        properties.put("product.catalog-size", settings.catalogSize());
+        properties.put("product.repository.read-latency", settings.readLatency().toString());
+        if (redis != null) {
+            properties.put("spring.data.redis.port", redis.port());
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CacheApplication.class)
+                .profiles(profile)
+                .properties(properties)
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI base = URI.create("http://localhost:" + port + "/products/");
+            ZipfianGenerator keys = new ZipfianGenerator(settings.catalogSize(), settings.skew());
+
+            drive(base, keys, settings.concurrency(), settings.warmup());
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            double hitsBefore = cacheGets(meterRegistry, "hit");
+            double missesBefore = cacheGets(meterRegistry, "miss");
+            System.gc();
+            long gcCountBefore = gcCount();
+            long gcMillisBefore = gcMillis();
+
+            Run run = drive(base, keys, settings.concurrency(), settings.duration());
+
+            long gcCount = gcCount() - gcCountBefore;
+            long gcMillis = gcMillis() - gcMillisBefore;
+            long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            System.gc();
+            long liveHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            double hits = cacheGets(meterRegistry, "hit") - hitsBefore;
+            double misses = cacheGets(meterRegistry, "miss") - missesBefore;
+
+            long[] latencies = run.latencies();
+            Arrays.sort(latencies);
+            return new LoadResult(profile, settings.concurrency(), settings.skew(), latencies.length, run.errors(),
+                    latencies.length / (run.elapsedNanos() / 1e9),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000,
+                    hits + misses == 0 ? Double.NaN : hits / (hits + misses),
+                    heapUsed / 1024 / 1024, liveHeap / 1024 / 1024, gcCount, gcMillis);
+        } finally {
+            if (redis != null) {
+                redis.close();
+            }
+        }
+    }
+
+    /**
+     * concurrency 개의 가상 스레드가 duration 동안 쉬지 않고 요청을 보낸다 (closed-loop)
+     */
+    private static Run drive(URI base, ZipfianGenerator keys, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[][] samples = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int worker = 0; worker < concurrency; worker++) {
+            int index = worker;
+            Thread.ofVirtual().start(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(base.resolve(String.valueOf(keys.next() + 1))).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            log.debug("부하 요청 실패: {}", e.toString());
+                            continue;
+                        }
+                        long latency = System.nanoTime() - sent;
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = latency;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    samples[index] = latencies;
+                    counts[index] = count;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        client.close();
+
+        long[] merged = new long[Arrays.stream(counts).sum()];
+        int offset = 0;
+        for (int worker = 0; worker < concurrency; worker++) {
+            System.arraycopy(samples[worker], 0, merged, offset, counts[worker]);
+            offset += counts[worker];
+        }
+        return new Run(merged, errors.get(), elapsed);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000;
+    }
+
+    /**
+     * products 캐시의 cache.backend.gets{result} 누적값, 메트릭 구현(FunctionCounter/Counter)과 관계없이 COUNT 측정값을 더한다
+     */
+    private static double cacheGets(MeterRegistry meterRegistry, String result) {
+        double total = 0;
+        for (Meter meter : meterRegistry.find("cache.backend.gets").tag("cache", "products").tag("result", result).meters()) {
+            for (Measurement measurement : meter.measure()) {
+                if (measurement.getStatistic() == Statistic.COUNT) {
+                    total += measurement.getValue();
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    record Settings(List<String> profiles, Duration duration, Duration warmup, int concurrency, double skew,
+                    int catalogSize, Duration readLatency) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    List.of(System.getProperty("load.profiles", "caffeine,ehcache,redis").split(",")),
+                    Duration.parse(System.getProperty("load.duration", "PT30S")),
+                    Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                    Integer.getInteger("load.concurrency", 64),
+                    Double.parseDouble(System.getProperty("load.skew", "0.99")),
+                    Integer.getInteger("load.catalog-size", 100_000),
+                    // 기본 2초 지연이면 MISS 가 부하를 지배하므로 DB 1회 조회 수준으로 줄인다
+                    Duration.parse(System.getProperty("load.read-latency", "PT0.005S")));
+        }
+    }
+
+    record LoadResult(String profile, int concurrency, double skew, long requests, long errors, double throughput,
+                      long p50Micros, long p99Micros, long p999Micros, long maxMicros, double hitRatio,
+                      long heapUsedMb, long liveHeapMb, long gcCount, long gcMillis) {
+    }
+
+    private record Run(long[] latencies, long errors, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,372 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import pro.developia.cache.trace.AccessTraceReader;
+import pro.developia.cache.trace.AccessTraceWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 상품 조회 로그(cache.trace)를 정책과 크기별로 재생하여 hit ratio 곡선과 로더(DB) 부하를 계산한다
+ * <p>
+ * 로그의 시각으로 시계를 돌리므로 TTL 도 실제 조회 간격대로 만료된다. 정책은 [기본 정책][+access=기간|+write=기간] 형식이다.
+ * <ul>
+ *     <li>lru: 접근 순서 LinkedHashMap (TTL 은 조회 시 확인, 만료된 엔트리도 밀려날 때까지 자리를 차지)</li>
+ *     <li>w-tinylfu: Caffeine maximumSize (caffeine 프로필과 같은 admission/eviction)</li>
+ *     <li>size-bounded: Caffeine maximumWeight, 로그에 기록된 엔트리 크기(RetainedSizeEstimator)로 무게를 매기고
+ *     크기 × 로그의 평균 엔트리 크기를 byte 한도로 쓴다 (cache.budget.max-size 환산).
+ *     크기가 없는 조회(응답 캐시 HIT)는 같은 id 의 마지막 기록 크기로 채운다.
+ *     엔트리 크기가 없는 로그(이전 형식, 합성 로그)로는 재생하지 않는다.</li>
+ * </ul>
+ * 로더 부하는 MISS 를 DB 조회로 보고 초당 평균/최대 로드 수와, read-latency 를 곱한 평균 동시 로드 수(Little's law)로 낸다.
+ * sim.trace 가 없으면 Zipfian 합성 로그를 만들어 재생한다.
+ * <p>
+ * 설정 (시스템 프로퍼티): sim.trace, sim.sizes, sim.policies, sim.read-latency,
+ * sim.synthetic-accesses, sim.synthetic-keys, sim.synthetic-rate, sim.synthetic-skew
+ */
+@Slf4j
+public class HitRatioSimulation {
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/cache-benchmark/hit-ratio");
+        Settings settings = Settings.fromSystemProperties();
+        Path trace = settings.trace() != null ? settings.trace() : synthesize(settings);
+        int meanEntrySize = meanEntrySize(trace);
+
+        List<SimulationResult> results = new ArrayList<>();
+        for (String policy : settings.policies()) {
+            if (policy.startsWith("size-bounded") && meanEntrySize == 0) {
+                log.warn("로그에 엔트리 크기가 없어 {} 는 재생하지 않습니다.", policy);
+                continue;
+            }
+            for (long size : settings.sizes()) {
+                SimulationResult result = replay(trace, Policy.parse(policy, size, meanEntrySize), settings.readLatency());
+                log.warn("{}", result);
+                results.add(result);
+            }
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Path json = output.resolveSibling(output.getFileName() + ".json");
+        Path markdown = output.resolveSibling(output.getFileName() + ".md");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(json.toFile(), results);
+        Files.writeString(markdown, report(trace, settings, results));
+        log.warn("hit ratio 시뮬레이션 결과 저장: {}, {}", json.toAbsolutePath(), markdown.toAbsolutePath());
+    }
+
+    static SimulationResult replay(Path trace, Policy policy, Duration readLatency) throws IOException {
+        long accesses = 0;
+        long misses = 0;
+        long firstMillis = -1;
+        long lastMillis = 0;
+        long bucketSecond = -1;
+        long bucketMisses = 0;
+        long peakMissesPerSecond = 0;
+        try (AccessTraceReader reader = new AccessTraceReader(trace)) {
+            while (reader.next()) {
+                long now = reader.timeMillis();
+                if (firstMillis < 0) {
+                    firstMillis = now;
+                }
+                lastMillis = now;
+                accesses++;
+                if (policy.access(reader.id(), reader.size(), now)) {
+                    continue;
+                }
+                misses++;
+                long second = now / 1_000;
+                if (second != bucketSecond) {
+                    peakMissesPerSecond = Math.max(peakMissesPerSecond, bucketMisses);
+                    bucketSecond = second;
+                    bucketMisses = 0;
+                }
+                bucketMisses++;
+            }
+        }
+        peakMissesPerSecond = Math.max(peakMissesPerSecond, bucketMisses);
+
+        // 1초 미만의 로그도 초당 수치가 튀지 않도록 최소 1초로 본다
+        double seconds = Math.max(1, (lastMillis - firstMillis) / 1_000.0);
+        double loadsPerSecond = misses / seconds;
+        return new SimulationResult(policy.name(), policy.size(), policy.maxBytes(), accesses, misses,
+                accesses == 0 ? Double.NaN : (double) (accesses - misses) / accesses,
+                loadsPerSecond, peakMissesPerSecond, loadsPerSecond * readLatency.toNanos() / 1e9);
+    }
+
+    /**
+     * 로그에 기록된 엔트리 크기의 평균, 크기가 하나도 없으면 0
+     */
+    static int meanEntrySize(Path trace) throws IOException {
+        long total = 0;
+        long count = 0;
+        try (AccessTraceReader reader = new AccessTraceReader(trace)) {
+            while (reader.next()) {
+                if (reader.size() > 0) {
+                    total += reader.size();
+                    count++;
+                }
+            }
+        }
+        return count == 0 ? 0 : (int) (total / count);
+    }
+
+    private static Path synthesize(Settings settings) throws IOException {
+        // AccessTraceWriter 는 있는 파일에 쓰지 않으므로 빈 디렉터리 안에 만든다
+        Path directory = Files.createTempDirectory("product-access");
+        directory.toFile().deleteOnExit();
+        Path trace = directory.resolve("synthetic.trace");
+        trace.toFile().deleteOnExit();
+        ZipfianGenerator keys = new ZipfianGenerator(settings.syntheticKeys(), settings.syntheticSkew());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanGapMillis = 1_000.0 / settings.syntheticRate();
+        double now = System.currentTimeMillis();
+        try (AccessTraceWriter writer = new AccessTraceWriter(trace)) {
+            for (long i = 0; i < settings.syntheticAccesses(); i++) {
+                // 포아송 도착
+                now += -Math.log(1 - random.nextDouble()) * meanGapMillis;
+                // 합성 로그는 엔트리 크기를 모른다
+                writer.write((long) now, keys.next() + 1, 0);
+            }
+        }
+        log.warn("sim.trace 가 없어 Zipfian(skew={}) 합성 로그 {}건을 만들었습니다. (키 {}개, 초당 {}건)",
+                settings.syntheticSkew(), settings.syntheticAccesses(), settings.syntheticKeys(), settings.syntheticRate());
+        return trace;
+    }
+
+    private static String report(Path trace, Settings settings, List<SimulationResult> results) {
+        StringBuilder report = new StringBuilder("# products 캐시 hit ratio 시뮬레이션\n\n");
+        report.append("- 로그: ").append(settings.trace() != null ? trace.toAbsolutePath() : "Zipfian 합성").append('\n');
+        if (!results.isEmpty()) {
+            report.append("- 조회 수: ").append(results.getFirst().accesses()).append('\n');
+        }
+        report.append("- DB 조회 지연 (동시 로드 추정): ").append(settings.readLatency()).append("\n\n");
+
+        report.append("## hit ratio\n\n");
+        appendTable(report, settings, results, result -> String.format(Locale.ROOT, "%.4f", result.hitRatio()));
+        report.append("\n## 로더 부하: 초당 평균 로드 (최대) / 평균 동시 로드\n\n");
+        appendTable(report, settings, results, result -> String.format(Locale.ROOT, "%.1f (%d) / %.1f",
+                result.loadsPerSecond(), result.peakLoadsPerSecond(), result.concurrentLoads()));
+
+        results.stream().filter(result -> result.maxBytes() > 0).findFirst().ifPresent(result ->
+                report.append("\nsize-bounded 의 byte 한도는 크기 × ").append(result.maxBytes() / result.size())
+                        .append(" byte (로그에 기록된 평균 엔트리 크기, RetainedSizeEstimator 기준) 이다.\n"));
+        return report.toString();
+    }
+
+    private static void appendTable(StringBuilder report, Settings settings, List<SimulationResult> results,
+                                    Function<SimulationResult, String> cell) {
+        Map<String, Map<Long, SimulationResult>> byPolicy = new LinkedHashMap<>();
+        for (SimulationResult result : results) {
+            byPolicy.computeIfAbsent(result.policy(), policy -> new LinkedHashMap<>()).put(result.size(), result);
+        }
+        report.append("| 크기 |");
+        byPolicy.keySet().forEach(policy -> report.append(' ').append(policy).append(" |"));
+        report.append('\n').append("|---|").append("---|".repeat(byPolicy.size())).append('\n');
+        for (long size : settings.sizes()) {
+            report.append("| ").append(size).append(" |");
+            for (Map<Long, SimulationResult> bySize : byPolicy.values()) {
+                report.append(' ').append(cell.apply(bySize.get(size))).append(" |");
+            }
+            report.append('\n');
+        }
+    }
+
+    /**
+     * 재생할 캐시 정책, access 는 조회가 HIT 이면 true 를 돌려주고 MISS 면 로드한 것으로 보고 넣는다
+     */
+    interface Policy {
+        String name();
+
+        long size();
+
+        long maxBytes();
+
+        /**
+         * @param entrySize 로그에 기록된 엔트리 크기, 모르면 0
+         */
+        boolean access(long id, int entrySize, long nowMillis);
+
+        static Policy parse(String spec, long size, int meanEntrySize) {
+            String[] parts = spec.split("\\+");
+            Duration expireAfterAccess = null;
+            Duration expireAfterWrite = null;
+            for (int i = 1; i < parts.length; i++) {
+                String[] option = parts[i].split("=", 2);
+                Duration duration = Duration.parse("PT" + option[1].toUpperCase(Locale.ROOT));
+                switch (option[0]) {
+                    case "access" -> expireAfterAccess = duration;
+                    case "write" -> expireAfterWrite = duration;
+                    default -> throw new IllegalArgumentException("알 수 없는 TTL 옵션: " + parts[i]);
+                }
+            }
+            return switch (parts[0]) {
+                case "lru" -> new LruPolicy(spec, size, expireAfterAccess, expireAfterWrite);
+                case "w-tinylfu" -> new CaffeinePolicy(spec, size, 0, expireAfterAccess, expireAfterWrite);
+                case "size-bounded" -> new CaffeinePolicy(spec, size, meanEntrySize, expireAfterAccess, expireAfterWrite);
+                default -> throw new IllegalArgumentException("알 수 없는 정책: " + spec);
+            };
+        }
+    }
+
+    static final class LruPolicy implements Policy {
+        private final String name;
+        private final long size;
+        private final long accessTtlMillis;
+        private final long writeTtlMillis;
+        private final LinkedHashMap<Long, long[]> entries;
+
+        LruPolicy(String name, long size, Duration expireAfterAccess, Duration expireAfterWrite) {
+            this.name = name;
+            this.size = size;
+            this.accessTtlMillis = expireAfterAccess == null ? Long.MAX_VALUE : expireAfterAccess.toMillis();
+            this.writeTtlMillis = expireAfterWrite == null ? Long.MAX_VALUE : expireAfterWrite.toMillis();
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                    return size() > LruPolicy.this.size;
+                }
+            };
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long maxBytes() {
+            return 0;
+        }
+
+        @Override
+        public boolean access(long id, int entrySize, long nowMillis) {
+            // [쓴 시각, 마지막 접근 시각]
+            long[] times = entries.get(id);
+            if (times != null && nowMillis - times[0] < writeTtlMillis && nowMillis - times[1] < accessTtlMillis) {
+                times[1] = nowMillis;
+                return true;
+            }
+            entries.put(id, new long[]{nowMillis, nowMillis});
+            return false;
+        }
+    }
+
+    static final class CaffeinePolicy implements Policy {
+        private final String name;
+        private final long size;
+        private final long maxBytes;
+        private final int meanEntrySize;
+        // 크기가 없는 조회에 쓸 id 별 마지막 기록 크기 (size-bounded 만)
+        private final Map<Long, Integer> entrySizes = new HashMap<>();
+        // 값으로 엔트리 크기를 넣어 두고 그대로 무게로 쓴다
+        private final Cache<Long, Integer> cache;
+        private long nowNanos;
+
+        /**
+         * @param meanEntrySize 0 이면 maximumSize, 아니면 크기 × meanEntrySize 를 maximumWeight 로 쓴다
+         */
+        CaffeinePolicy(String name, long size, int meanEntrySize, Duration expireAfterAccess, Duration expireAfterWrite) {
+            this.name = name;
+            this.size = size;
+            this.meanEntrySize = meanEntrySize;
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .executor(Runnable::run)
+                    .ticker((Ticker) () -> nowNanos);
+            if (meanEntrySize > 0) {
+                this.maxBytes = size * meanEntrySize;
+                builder.maximumWeight(maxBytes)
+                        .weigher((Long id, Integer entrySize) -> entrySize);
+            } else {
+                this.maxBytes = 0;
+                builder.maximumSize(size);
+            }
+            if (expireAfterAccess != null) {
+                builder.expireAfterAccess(expireAfterAccess);
+            }
+            if (expireAfterWrite != null) {
+                builder.expireAfterWrite(expireAfterWrite);
+            }
+            this.cache = builder.build();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long maxBytes() {
+            return maxBytes;
+        }
+
+        @Override
+        public boolean access(long id, int entrySize, long nowMillis) {
+            nowNanos = nowMillis * 1_000_000;
+            if (meanEntrySize > 0 && entrySize > 0) {
+                entrySizes.put(id, entrySize);
+            }
+            if (cache.getIfPresent(id) != null) {
+                return true;
+            }
+            cache.put(id, weight(id, entrySize));
+            return false;
+        }
+
+        private int weight(long id, int entrySize) {
+            if (meanEntrySize == 0) {
+                return 1;
+            }
+            return entrySize > 0 ? entrySize : entrySizes.getOrDefault(id, meanEntrySize);
+        }
+    }
+
+    record Settings(Path trace, List<Long> sizes, List<String> policies, Duration readLatency,
+                    long syntheticAccesses, long syntheticKeys, double syntheticRate, double syntheticSkew) {
+
+        static Settings fromSystemProperties() {
+            String trace = System.getProperty("sim.trace");
+            return new Settings(
+                    trace == null || trace.isBlank() ? null : Path.of(trace),
+                    Arrays.stream(System.getProperty("sim.sizes", "100,1000,10000,100000,1000000").split(","))
+                            .map(Long::valueOf)
+                            .toList(),
+                    // 지금 설정: caffeine expireAfterAccess 30s, ehcache 생성 후 10분, redis TTL 30분
+                    List.of(System.getProperty("sim.policies",
+                            "lru,w-tinylfu,size-bounded,w-tinylfu+access=30s,w-tinylfu+write=10m,w-tinylfu+write=30m").split(",")),
+                    Duration.parse(System.getProperty("sim.read-latency", "PT2S")),
+                    Long.getLong("sim.synthetic-accesses", 5_000_000),
+                    Long.getLong("sim.synthetic-keys", 1_000_000),
+                    Double.parseDouble(System.getProperty("sim.synthetic-rate", "2000")),
+                    Double.parseDouble(System.getProperty("sim.synthetic-skew", "0.99")));
+        }
+    }
+
+    record SimulationResult(String policy, long size, long maxBytes, long accesses, long misses, double hitRatio,
+                            double loadsPerSecond, long peakLoadsPerSecond, double concurrentLoads) {
+    }
+}
@@ -0,0 +1,124 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import pro.developia.cache.batch.MissBatchProperties;
+import pro.developia.cache.batch.MissBatcher;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 요청률별로 cold key MISS 를 일정 간격으로 보내(open-loop) 배치 로드 유무에 따른 초당 DB 호출 수와 MISS 지연을 기록한다
+ * <p>
+ * 모든 요청이 서로 다른 id 라 캐시 sync 로는 합쳐지지 않는 경우다. 캐시와 HTTP 를 거치지 않고 {@link MissBatcher} 와
+ * {@link ProductRepository} 만 사용하므로 DB 호출 수는 배치 설정에만 좌우된다.
+ * 배치를 끄면 DB 호출 수가 요청률을 그대로 따라가고, 켜면 초당 최대 1 / window 번 (요청률이 높으면 maxBatchSize 단위) 으로 묶인다.
+ * <p>
+ * 설정 (시스템 프로퍼티): batch.rates, batch.duration, batch.read-latency, batch.window, batch.max-batch-size
+ */
+@Slf4j
+public class MissBatchLoadRun {
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/cache-benchmark/miss-batch.json");
+        Settings settings = Settings.fromSystemProperties();
+        List<BatchResult> results = new ArrayList<>();
+        for (int rate : settings.rates()) {
+            for (boolean batching : new boolean[]{false, true}) {
+                BatchResult result = run(rate, batching, settings);
+                log.warn("{}", result);
+                results.add(result);
+            }
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        log.warn("MISS 배치 부하 결과 저장: {}", output.toAbsolutePath());
+    }
+
+    static BatchResult run(int rate, boolean batching, Settings settings) throws InterruptedException {
+        int requests = (int) (rate * settings.duration().toMillis() / 1_000);
+        ProductRepository productRepository = new ProductRepository(requests, settings.readLatency(), Duration.ZERO);
+        MissBatchProperties properties = new MissBatchProperties();
+        properties.setEnabled(batching);
+        properties.setWindow(settings.window());
+        properties.setMaxBatchSize(settings.maxBatchSize());
+
+        long[] latencies = new long[requests];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(requests);
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             MissBatcher<Long, Product> batcher = new MissBatcher<>("products",
+                     ids -> productRepository.findAllById(ids).stream()
+                             .collect(Collectors.toMap(Product::getId, Function.identity())),
+                     executor, properties, new SimpleMeterRegistry())) {
+            long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+            start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                // 밀린 요청은 몰아서 보내 요청률을 유지한다 (coordinated omission 없이 예정 시각 기준으로 지연 측정)
+                long scheduled = start + i * interval;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int index = i;
+                batcher.load(i + 1L).whenComplete((product, ex) -> {
+                    if (ex != null || product == null) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - scheduled;
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        double seconds = elapsed / 1e9;
+        long dbCalls = productRepository.readCalls();
+        return new BatchResult(rate, batching, settings.window().toMillis(), settings.maxBatchSize(),
+                requests, errors.get(), requests / seconds, dbCalls, dbCalls / seconds,
+                dbCalls == 0 ? 0 : (double) requests / dbCalls,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000;
+    }
+
+    record Settings(List<Integer> rates, Duration duration, Duration readLatency, Duration window, int maxBatchSize) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Arrays.stream(System.getProperty("batch.rates", "100,500,1000,5000,20000").split(","))
+                            .map(Integer::valueOf)
+                            .toList(),
+                    Duration.parse(System.getProperty("batch.duration", "PT10S")),
+                    Duration.parse(System.getProperty("batch.read-latency", "PT0.01S")),
+                    Duration.parse(System.getProperty("batch.window", "PT0.005S")),
+                    Integer.getInteger("batch.max-batch-size", 128));
+        }
+    }
+
+    record BatchResult(int requestRate, boolean batching, long windowMillis, int maxBatchSize, long requests, long errors,
+                       double achievedRate, long dbCalls, double dbCallsPerSecond, double keysPerCall,
+                       long p50Micros, long p99Micros, long maxMicros) {
+    }
+}
@@ -0,0 +1,138 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pro.developia.cache.metrics.CacheBackend;
+import pro.developia.cache.metrics.InstrumentedCacheResolver;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.response.ProductResponseCache;
+import pro.developia.cache.response.ProductResponseCacheFilter;
+import pro.developia.cache.response.ResponseCacheProperties;
+import pro.developia.cache.trace.AccessTraceProperties;
+import pro.developia.cache.trace.AccessTraceRecorder;
+import pro.developia.cache.warmup.HotKeyTracker;
+import pro.developia.cache.warmup.WarmupProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /products/{id} HIT 경로 비교: 응답 캐시에 저장된 JSON 바이트 출력 vs Redis JSON 역직렬화 후 다시 직렬화
+ * <p>
+ * 둘 다 같은 {@link ProductResponseCacheFilter} 를 거치고, json 은 응답 캐시가 꺼진 필터 뒤에서 Redis 코덱(default typing)으로
+ * 읽은 상품을 메시지 컨버터처럼 다시 쓴다. 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+public class ResponseCacheBenchmark {
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final ObjectMapper responseMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ProductResponseCacheFilter cachedBytes;
+    private ProductResponseCacheFilter disabled;
+    private FilterChain controller;
+    private FilterChain twoCodecPasses;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper redisMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        redisMapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder().allowIfSubType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL);
+        Product product = new Product(1L, "상품1", BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+        byte[] redisValue = redisMapper.writeValueAsBytes(product);
+
+        controller = (request, response) -> {
+            response.setContentType("application/json");
+            responseMapper.writeValue(response.getOutputStream(), product);
+        };
+        twoCodecPasses = (request, response) -> {
+            Product loaded = redisMapper.readValue(redisValue, Product.class);
+            response.setContentType("application/json");
+            responseMapper.writeValue(response.getOutputStream(), loaded);
+        };
+
+        ResponseCacheProperties enabled = new ResponseCacheProperties();
+        enabled.setEnabled(true);
+        cachedBytes = filter(enabled);
+        disabled = filter(new ResponseCacheProperties());
+        // 첫 요청(MISS)으로 응답 바이트를 저장해 둔다
+        serve(cachedBytes, controller);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedBytes() throws Exception {
+        return serve(cachedBytes, controller);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse json() throws Exception {
+        return serve(disabled, twoCodecPasses);
+    }
+
+    private static MockHttpServletResponse serve(ProductResponseCacheFilter filter, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), response, chain);
+        return response;
+    }
+
+    private static ProductResponseCacheFilter filter(ResponseCacheProperties properties) {
+        CacheBackend backend = new CacheBackend() {
+            @Override
+            public String name() {
+                return "benchmark";
+            }
+
+            @Override
+            public double size(Cache cache) {
+                return Double.NaN;
+            }
+
+            @Override
+            public double evictions(Cache cache) {
+                return Double.NaN;
+            }
+
+            @Override
+            public Duration timeToLive(Cache cache) {
+                return TTL;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheBackend", backend);
+        ObjectProvider<CacheBackend> backendProvider = beanFactory.getBeanProvider(CacheBackend.class);
+
+        InstrumentedCacheResolver cacheResolver = new InstrumentedCacheResolver(
+                new ConcurrentMapCacheManager(ProductResponseCache.CACHE_NAME), backend, new SimpleMeterRegistry());
+        return new ProductResponseCacheFilter(new ProductResponseCache(cacheResolver, backendProvider, properties),
+                new HotKeyTracker(new WarmupProperties()), new AccessTraceRecorder(new AccessTraceProperties(), new SimpleMeterRegistry()));
+    }
+}
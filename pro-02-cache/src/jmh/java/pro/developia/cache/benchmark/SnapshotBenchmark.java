@@ -0,0 +1,101 @@
+package pro.developia.cache.benchmark;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.impl.copy.SerializingCopier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.developia.cache.ehcache.ProductSerializer;
+import pro.developia.cache.product.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 불변 스냅샷을 참조로 공유하는 heap 캐시와, 조회/저장마다 값을 복사하는 store-by-value heap 캐시의 비용 비교
+ * <p>
+ * 둘 다 Ehcache heap 계층만 쓰고, by-value 는 off-heap 계층과 같은 {@link ProductSerializer} 로 복사한다.
+ * (JCache 기본 store-by-value 의 Java 직렬화보다 빠르므로 복사 비용의 하한이다)
+ * get 은 조회 비용, update 는 조회 후 with* 로 새 스냅샷을 만들어 다시 넣는 copy-on-write 갱신 비용이다.
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class SnapshotBenchmark {
+    private static final String CACHE_NAME = "products";
+
+    @Param({"ehcache-reference", "ehcache-value"})
+    public String provider;
+
+    @Param("100000")
+    public int keySpace;
+
+    @Param("0.99")
+    public double skew;
+
+    private CacheManager cacheManager;
+    private Cache<Long, Product> cache;
+    private ZipfianGenerator keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CacheConfigurationBuilder<Long, Product> configuration = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Long.class, Product.class, ResourcePoolsBuilder.heap(keySpace));
+        if (provider.equals("ehcache-value")) {
+            configuration = configuration
+                    .withValueSerializer(ProductSerializer.class)
+                    .withValueCopier(SerializingCopier.<Product>asCopierClass());
+        }
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache(CACHE_NAME, configuration)
+                .build(true);
+        cache = cacheManager.getCache(CACHE_NAME, Long.class, Product.class);
+        keys = new ZipfianGenerator(keySpace, skew);
+        for (long id = 1; id <= keySpace; id++) {
+            cache.put(id, new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public Product get() {
+        return cache.get(nextId());
+    }
+
+    @Benchmark
+    public Product update() {
+        long id = nextId();
+        Product updated = cache.get(id).withPrice(BigDecimal.valueOf(id));
+        cache.put(id, updated);
+        return updated;
+    }
+
+    private long nextId() {
+        return keys.next() + 1;
+    }
+}
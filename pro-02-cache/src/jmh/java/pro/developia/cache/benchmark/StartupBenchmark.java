@@ -0,0 +1,281 @@
+package pro.developia.cache.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 모듈별로 애플리케이션을 새 JVM 으로 여러 번 띄워 기본 / AOT / AOT + AppCDS 모드의 기동 시간을 비교한다
+ * <p>
+ * 각 모듈의 fastStartTrain 이 남긴 build/fast-start/launch.properties (풀어 둔 jar, main class, CDS 아카이브, 인자) 로
+ * 같은 classpath 에서 모드별 JVM 옵션만 바꿔 실행한다. 측정값은 프로세스 시작 시점부터의 경과 시간이다.
+ * <ul>
+ *     <li>time-to-ready: "Started ... in N seconds" 로그가 나올 때까지 (컨텍스트 refresh 와 내장 Tomcat 기동 완료)</li>
+ *     <li>time-to-first-request: 그 뒤 probe-path 로 보낸 첫 요청이 200 으로 끝날 때까지 (DispatcherServlet 초기화, 첫 요청의 클래스 로딩 포함)</li>
+ * </ul>
+ * 실행 순서에 따른 편차를 줄이려고 모드를 번갈아 띄우고, 모드별 중앙값과 최솟값을 낸다.
+ * <p>
+ * 설정 (시스템 프로퍼티): startup.runs, startup.timeout
+ */
+@Slf4j
+public class StartupBenchmark {
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "build/reports/cache-benchmark/startup");
+        Settings settings = Settings.fromSystemProperties();
+        List<Launch> launches = new ArrayList<>();
+        for (String fastStartDir : Arrays.copyOfRange(args, Math.min(1, args.length), args.length)) {
+            launches.add(Launch.load(Path.of(fastStartDir)));
+        }
+        if (launches.isEmpty()) {
+            throw new IllegalArgumentException("fast-start 디렉터리(build/fast-start)를 하나 이상 지정해야 합니다.");
+        }
+
+        List<StartupResult> results = new ArrayList<>();
+        for (Launch launch : launches) {
+            Map<Mode, List<Sample>> samples = new EnumMap<>(Mode.class);
+            for (int run = 0; run < settings.runs(); run++) {
+                for (Mode mode : Mode.values()) {
+                    Sample sample = start(launch, mode, settings.timeout());
+                    log.warn("{} {} #{}: ready {} ms, first request {} ms", launch.name(), mode.label, run + 1,
+                            sample.readyMillis(), sample.firstRequestMillis());
+                    samples.computeIfAbsent(mode, key -> new ArrayList<>()).add(sample);
+                }
+            }
+            for (Mode mode : Mode.values()) {
+                results.add(StartupResult.of(launch.name(), mode.label, samples.get(mode)));
+            }
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Path json = output.resolveSibling(output.getFileName() + ".json");
+        Path markdown = output.resolveSibling(output.getFileName() + ".md");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(json.toFile(), results);
+        Files.writeString(markdown, report(settings, results));
+        log.warn("기동 시간 비교 결과 저장: {}, {}", json.toAbsolutePath(), markdown.toAbsolutePath());
+    }
+
+    /**
+     * 애플리케이션을 띄워 준비 로그와 첫 요청 응답까지의 시간을 재고 종료한다
+     */
+    static Sample start(Launch launch, Mode mode, Duration timeout) throws Exception {
+        Path workDir = Files.createTempDirectory("startup-" + launch.name());
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(launch.jar());
+        command.addAll(mode.jvmArgs(launch));
+        // 스냅샷/저널 파일이 실행마다 새로 시작하도록 임시 디렉터리를 분리
+        command.add("-Djava.io.tmpdir=" + workDir);
+        command.add(launch.mainClass());
+        command.addAll(launch.args());
+        command.addAll(launch.probeArgs());
+        command.add("--server.port=0");
+        command.add("--spring.main.banner-mode=off");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        try {
+            Ready ready = awaitReady(process).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(ready.nanos() - start);
+            long deadline = start + timeout.toNanos();
+            URI probe = URI.create("http://localhost:" + ready.port() + launch.probePath());
+            try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+                while (true) {
+                    HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(probe).GET().build(),
+                            HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() == 200) {
+                        long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Sample(readyMillis, ready.jvmReadyMillis(), firstRequestMillis);
+                    }
+                    if (System.nanoTime() > deadline) {
+                        throw new TimeoutException(probe + " 가 200 을 돌려주지 않습니다. status=" + response.statusCode());
+                    }
+                    Thread.sleep(10);
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * 출력을 계속 읽으면서 (버퍼가 차서 멈추지 않도록) 포트와 준비 로그가 나오면 완료한다
+     */
+    private static CompletableFuture<Ready> awaitReady(Process process) {
+        CompletableFuture<Ready> ready = new CompletableFuture<>();
+        List<String> tail = new ArrayList<>();
+        Thread.ofPlatform().daemon(true).name("startup-output").start(() -> {
+            Integer port = null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (ready.isDone()) {
+                        continue;
+                    }
+                    if (tail.size() == 50) {
+                        tail.removeFirst();
+                    }
+                    tail.add(line);
+                    Matcher portMatcher = PORT.matcher(line);
+                    if (portMatcher.find()) {
+                        port = Integer.valueOf(portMatcher.group(1));
+                    }
+                    Matcher startedMatcher = STARTED.matcher(line);
+                    if (startedMatcher.find() && port != null) {
+                        long jvmReadyMillis = (long) (Double.parseDouble(startedMatcher.group(1)) * 1_000);
+                        ready.complete(new Ready(System.nanoTime(), jvmReadyMillis, port));
+                    }
+                }
+            } catch (IOException e) {
+                ready.completeExceptionally(e);
+            }
+            ready.completeExceptionally(new IllegalStateException(
+                    "준비 로그 전에 프로세스가 끝났습니다.\n" + String.join("\n", tail)));
+        });
+        return ready;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static String report(Settings settings, List<StartupResult> results) {
+        StringBuilder report = new StringBuilder("# 기동 시간 비교 (기본 / AOT / AOT + AppCDS)\n\n");
+        report.append("- JVM: ").append(System.getProperty("java.vm.name")).append(' ')
+                .append(System.getProperty("java.version")).append('\n');
+        report.append("- 실행 횟수: 모드별 ").append(settings.runs()).append("회, 중앙값 (최솟값) ms\n");
+        report.append("- time-to-ready: 프로세스 시작 ~ Started 로그, time-to-first-request: 프로세스 시작 ~ 첫 요청 200 응답\n\n");
+        report.append("| 모듈 | 모드 | time-to-ready | time-to-first-request | JVM 보고 기동 시간 | 기본 대비 first-request |\n");
+        report.append("|---|---|---|---|---|---|\n");
+        for (StartupResult result : results) {
+            StartupResult baseline = results.stream()
+                    .filter(other -> other.module().equals(result.module()) && other.mode().equals(Mode.DEFAULT.label))
+                    .findFirst()
+                    .orElse(result);
+            report.append(String.format(Locale.ROOT, "| %s | %s | %d (%d) | %d (%d) | %d | %.2fx |%n",
+                    result.module(), result.mode(),
+                    result.readyMedianMillis(), result.readyMinMillis(),
+                    result.firstRequestMedianMillis(), result.firstRequestMinMillis(),
+                    result.jvmReadyMedianMillis(),
+                    (double) baseline.firstRequestMedianMillis() / result.firstRequestMedianMillis()));
+        }
+        return report.toString();
+    }
+
+    enum Mode {
+        DEFAULT("default"),
+        AOT("aot"),
+        AOT_CDS("aot+cds");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        List<String> jvmArgs(Launch launch) {
+            return switch (this) {
+                case DEFAULT -> List.of();
+                case AOT -> List.of("-Dspring.aot.enabled=true");
+                case AOT_CDS -> List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + launch.archive());
+            };
+        }
+    }
+
+    /**
+     * fastStartTrain 이 기록한 모듈 실행 정보
+     */
+    record Launch(String name, String jar, String mainClass, String archive, List<String> args,
+                  String probePath, List<String> probeArgs) {
+
+        static Launch load(Path fastStartDir) throws IOException {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(fastStartDir.resolve("launch.properties"))) {
+                properties.load(reader);
+            }
+            return new Launch(
+                    properties.getProperty("name"),
+                    properties.getProperty("jar"),
+                    properties.getProperty("main-class"),
+                    properties.getProperty("archive"),
+                    split(properties.getProperty("args", "")),
+                    properties.getProperty("probe-path", "/actuator/health"),
+                    split(properties.getProperty("probe-args", "")));
+        }
+
+        private static List<String> split(String args) {
+            return args.isBlank() ? List.of() : List.of(args.trim().split(" +"));
+        }
+    }
+
+    record Settings(int runs, Duration timeout) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("startup.runs", 5),
+                    Duration.parse(System.getProperty("startup.timeout", "PT2M")));
+        }
+    }
+
+    record Ready(long nanos, long jvmReadyMillis, int port) {
+    }
+
+    record Sample(long readyMillis, long jvmReadyMillis, long firstRequestMillis) {
+    }
+
+    record StartupResult(String module, String mode, int runs,
+                         long readyMedianMillis, long readyMinMillis,
+                         long firstRequestMedianMillis, long firstRequestMinMillis,
+                         long jvmReadyMedianMillis) {
+
+        static StartupResult of(String module, String mode, List<Sample> samples) {
+            long[] ready = samples.stream().mapToLong(Sample::readyMillis).sorted().toArray();
+            long[] firstRequest = samples.stream().mapToLong(Sample::firstRequestMillis).sorted().toArray();
+            long[] jvmReady = samples.stream().mapToLong(Sample::jvmReadyMillis).sorted().toArray();
+            return new StartupResult(module, mode, samples.size(),
+                    ready[ready.length / 2], ready[0],
+                    firstRequest[firstRequest.length / 2], firstRequest[0],
+                    jvmReady[jvmReady.length / 2]);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package pro.developia.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * [0, items) 범위의 Zipfian 분포 난수 (YCSB 와 같은 Gray et al. 방식)
+ * <p>
+ * 0 에 가까운 값일수록 자주 나온다. skew 0.99 면 상위 1% 키가 요청의 절반 가까이를 차지한다.
+ * zeta 는 생성 시 한 번만 계산하므로 이후 next() 는 락 없이 여러 스레드에서 호출할 수 있다.
+ */
+public final class ZipfianGenerator {
+    private final long items;
+    private final double theta;
+    private final double zetan;
+    private final double alpha;
+    private final double eta;
+
+    public ZipfianGenerator(long items, double skew) {
+        this.items = items;
+        this.theta = skew;
+        this.zetan = zeta(items, skew);
+        this.alpha = 1.0 / (1.0 - skew);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - skew)) / (1 - zeta(2, skew) / zetan);
+    }
+
+    public long next() {
+        return next(ThreadLocalRandom.current().nextDouble());
+    }
+
+    long next(double u) {
+        double uz = u * zetan;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,340 @@
+package pro.developia.cache.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * 엔트리 크기 합을 예산 안으로 유지하고, TinyLFU 방식으로 새 엔트리의 진입을 결정하는 Cache 데코레이터
+ * <p>
+ * 예산이 남아 있으면 그대로 저장한다. 넘치면 엔트리 몇 개를 표본으로 뽑아 가장 덜 쓰인 것을 evict 후보로 삼고,
+ * 새 키의 접근 빈도가 후보보다 높을 때만 후보를 내보내고 저장한다. 한 번 읽고 마는 scan 은 빈도가 1 이라 hot set 을 밀어내지 못한다.
+ * <p>
+ * 크기는 장부가 대표하는 계층의 단위로 잰다. 기본은 {@link RetainedSizeEstimator} 의 retained heap 크기이고,
+ * Ehcache 3계층 캐시에는 모든 엔트리를 가진 disk 계층의 직렬화 크기({@link StoredSizeEstimator})를 쓴다. (heap 계층은 Ehcache 가 직접 제한)
+ * Caffeine 은 weigher 와 W-TinyLFU 를 자체적으로 지원하므로 쓰지 않는다.
+ * delegate 가 스스로 만료/evict 한 엔트리는 다음 MISS 때 장부에서 지우고, 기동 전부터 있던 엔트리(persistent disk 계층에서 복원)는
+ * 처음 HIT 될 때 장부에 올린다. 기동 시 계층 전체를 순회하지 않으므로 읽히지 않은 복원 엔트리는 장부에 없고, 그 크기는 Ehcache 가 disk-size 로 제한한다.
+ */
+public class BudgetedCache implements Cache {
+    private final Cache delegate;
+    private final long maxWeight;
+    private final ToIntBiFunction<Object, Object> weigher;
+    private final int sampleSize;
+    private final FrequencySketch sketch;
+
+    private final ConcurrentMap<Object, Integer> weights = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<Object, Integer>> hand;
+
+    private final Counter admitted;
+    private final Counter rejected;
+    private final Counter evicted;
+
+    public BudgetedCache(Cache delegate, CacheBudgetProperties properties, MeterRegistry meterRegistry) {
+        this(delegate, properties.getMaxSize().toBytes(), RetainedSizeEstimator::estimate, properties, meterRegistry);
+    }
+
+    /**
+     * @param maxWeight weigher 단위의 예산
+     * @param weigher   (key, value) 엔트리 크기
+     */
+    public BudgetedCache(Cache delegate, long maxWeight, ToIntBiFunction<Object, Object> weigher,
+                         CacheBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.sampleSize = properties.getSampleSize();
+        this.sketch = new FrequencySketch(properties.getSketchEntries());
+        this.hand = weights.entrySet().iterator();
+
+        Tags tags = Tags.of("cache", delegate.getName());
+        this.admitted = Counter.builder("cache.budget.admissions").tags(tags).tag("result", "admitted").register(meterRegistry);
+        this.rejected = Counter.builder("cache.budget.admissions").tags(tags).tag("result", "rejected").register(meterRegistry);
+        this.evicted = Counter.builder("cache.budget.evictions").tags(tags).register(meterRegistry);
+        Gauge.builder("cache.budget.weight", weight, AtomicLong::get).tags(tags).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cache.budget.max.weight", () -> maxWeight).tags(tags).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        sketch.increment(key);
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            forget(key);
+        } else {
+            seed(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        sketch.increment(key);
+        T value = delegate.get(key, type);
+        if (value == null) {
+            forget(key);
+        } else {
+            seed(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * delegate 의 로드 중복 제거를 그대로 쓰고, 로드된 값이 진입하지 못하면 저장된 뒤에 바로 지운다
+     */
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        sketch.increment(key);
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        if (loaded.get()) {
+            admitOrEvict(key, value);
+        } else {
+            seed(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        // retrieve 를 지원하지 않는 delegate 는 여기서 예외가 나고 get 으로 다시 들어오므로, 빈도는 그 뒤에 올린다
+        CompletableFuture<?> value = delegate.retrieve(key);
+        sketch.increment(key);
+        return value;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        AtomicBoolean loaded = new AtomicBoolean();
+        CompletableFuture<T> value = delegate.retrieve(key, () -> {
+            loaded.set(true);
+            return valueLoader.get();
+        });
+        sketch.increment(key);
+        return value.whenComplete((loadedValue, ex) -> {
+            if (ex != null) {
+                return;
+            }
+            if (loaded.get()) {
+                admitOrEvict(key, loadedValue);
+            } else {
+                seed(key, loadedValue);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (admit(key, value)) {
+            delegate.put(key, value);
+        } else {
+            // 이전 값이 남아 있으면 새 값과 달라지므로 지운다
+            delegate.evict(key);
+        }
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            admitOrEvict(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        forget(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        forget(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        clearWeights();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        clearWeights();
+        return invalidated;
+    }
+
+    public long weight() {
+        return weight.get();
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    private void admitOrEvict(Object key, @Nullable Object value) {
+        if (!admit(key, value)) {
+            delegate.evict(key);
+        }
+    }
+
+    /**
+     * 예산 안에 들어오면 장부에 기록하고 밀려난 엔트리를 delegate 에서 지운다
+     *
+     * @return false 면 저장하지 않아야 한다
+     */
+    private boolean admit(Object key, @Nullable Object value) {
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight > maxWeight) {
+            rejected.increment();
+            return false;
+        }
+
+        List<Object> victims = new ArrayList<>();
+        evictionLock.lock();
+        try {
+            Integer previous = weights.put(key, entryWeight);
+            long total = weight.addAndGet(entryWeight - (previous != null ? previous : 0));
+            int candidateFrequency = sketch.frequency(key);
+            long freed = 0;
+            while (total - freed > maxWeight) {
+                Object victim = sampleVictim(key, victims);
+                if (victim == null) {
+                    break;
+                }
+                // 이미 있던 키의 갱신은 비교 없이 받아들이고, 새 키만 밀어낼 엔트리보다 자주 쓰였는지 확인한다
+                if (previous == null && candidateFrequency <= sketch.frequency(victim)) {
+                    weights.remove(key, entryWeight);
+                    weight.addAndGet(-entryWeight);
+                    rejected.increment();
+                    return false;
+                }
+                victims.add(victim);
+                freed += weights.getOrDefault(victim, 0);
+            }
+            for (Object victim : victims) {
+                Integer victimWeight = weights.remove(victim);
+                if (victimWeight != null) {
+                    weight.addAndGet(-victimWeight);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+
+        for (Object victim : victims) {
+            delegate.evict(victim);
+        }
+        evicted.increment(victims.size());
+        admitted.increment();
+        return true;
+    }
+
+    /**
+     * 시계 바늘처럼 장부를 돌면서 sampleSize 개를 보고 가장 빈도가 낮은 키를 고른다 (evictionLock 안에서 호출)
+     */
+    @Nullable
+    private Object sampleVictim(Object candidate, List<Object> chosen) {
+        Object victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        boolean wrapped = false;
+        for (int seen = 0; seen < sampleSize; ) {
+            if (!hand.hasNext()) {
+                if (wrapped) {
+                    break;
+                }
+                hand = weights.entrySet().iterator();
+                wrapped = true;
+                continue;
+            }
+            Object key = hand.next().getKey();
+            if (key.equals(candidate) || chosen.contains(key)) {
+                continue;
+            }
+            seen++;
+            int frequency = sketch.frequency(key);
+            if (frequency < victimFrequency) {
+                victim = key;
+                victimFrequency = frequency;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * HIT 된 엔트리가 장부에 없으면 (기동 전부터 delegate 에 있던 엔트리) 올린다
+     * 예산을 넘은 만큼은 다음 저장 때 admission 비교를 거쳐 밀려난다.
+     */
+    private void seed(Object key, @Nullable Object value) {
+        if (value == null || weights.containsKey(key)) {
+            return;
+        }
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (weights.putIfAbsent(key, entryWeight) == null) {
+            weight.addAndGet(entryWeight);
+        }
+    }
+
+    private void forget(Object key) {
+        Integer previous = weights.remove(key);
+        if (previous != null) {
+            weight.addAndGet(-previous);
+        }
+    }
+
+    private void clearWeights() {
+        evictionLock.lock();
+        try {
+            weights.clear();
+            weight.set(0);
+            hand = weights.entrySet().iterator();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
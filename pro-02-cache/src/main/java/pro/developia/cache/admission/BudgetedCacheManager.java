@@ -0,0 +1,50 @@
+package pro.developia.cache.admission;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * delegate CacheManager 가 돌려주는 모든 Cache 를 {@link BudgetedCache} 로 감싼다
+ */
+public class BudgetedCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final Function<Cache, BudgetedCache> decorator;
+    private final ConcurrentMap<String, BudgetedCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param decorator 캐시마다 예산 단위와 장부 초기화를 정해 {@link BudgetedCache} 를 만든다
+     */
+    public BudgetedCacheManager(CacheManager delegate, Function<Cache, BudgetedCache> decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        BudgetedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> decorator.apply(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,32 @@
+package pro.developia.cache.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * caffeine / ehcache 프로필에 공통으로 적용하는 캐시별 heap 예산
+ * <p>
+ * 엔트리 수가 아니라 retained heap 크기의 합으로 제한한다. caffeine 은 캐시 전체를 {@link RetainedSizeEstimator} 로,
+ * ehcache 는 heap 계층만 Ehcache 가 잰 크기로 제한하고 off-heap/disk 계층은 각자의 크기 설정을 따른다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.budget")
+public class CacheBudgetProperties {
+    /**
+     * 캐시 하나(ehcache 는 heap 계층)가 쓸 수 있는 retained 크기
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    /**
+     * admission 비교 때 evict 후보로 살펴볼 엔트리 수 (ehcache)
+     */
+    private int sampleSize = 8;
+
+    /**
+     * 접근 빈도 sketch 가 구분할 키 수, 키당 약 0.5 byte (ehcache)
+     */
+    private int sketchEntries = 200_000;
+}
@@ -0,0 +1,100 @@
+package pro.developia.cache.admission;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 4bit Count-Min sketch 로 추정한 키별 최근 접근 빈도 (TinyLFU)
+ * <p>
+ * long 하나에 4bit 카운터 16개를 담고, 키마다 서로 다른 word 4개에서 카운터 하나씩을 올린다. 빈도는 그중 최솟값이다.
+ * 증가 횟수가 sampleSize(카운터 word 수 x 10)에 도달하면 모든 카운터를 절반으로 줄여, 예전에 hot 했던 키도 점점 밀려나게 한다.
+ * 증가/조회는 CAS 로만 동작하므로 조회 경로에서 락을 잡지 않는다.
+ */
+public class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final long sampleSize;
+    private final AtomicLong additions = new AtomicLong();
+    private final AtomicBoolean resetting = new AtomicBoolean();
+
+    /**
+     * @param expectedEntries 구분하려는 키 수, word 하나에 키 2개 꼴로 잡는다
+     */
+    public FrequencySketch(long expectedEntries) {
+        int length = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, expectedEntries / 2)) * 2 - 1);
+        this.table = new AtomicLongArray(length);
+        this.tableMask = length - 1;
+        this.sampleSize = 10L * length;
+    }
+
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            long word = table.get(indexOf(hash, i));
+            frequency = Math.min(frequency, (int) ((word >>> ((start + i) << 2)) & 0xF));
+        }
+        return frequency;
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && additions.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+        while (true) {
+            long word = table.get(index);
+            if ((word & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 모든 카운터를 절반으로, 동시에 여러 스레드가 들어오면 한 스레드만 수행한다
+     */
+    private void reset() {
+        if (!resetting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < table.length(); i++) {
+                table.getAndUpdate(i, word -> (word >>> 1) & RESET_MASK);
+            }
+            additions.getAndUpdate(count -> count / 2);
+        } finally {
+            resetting.set(false);
+        }
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
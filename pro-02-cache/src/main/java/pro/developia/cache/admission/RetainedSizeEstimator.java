@@ -0,0 +1,85 @@
+package pro.developia.cache.admission;
+
+import org.springframework.lang.Nullable;
+import pro.developia.cache.product.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 캐시 엔트리가 heap 에 붙잡아 두는 크기 추정 (64bit JVM, compressed oops, 8 byte 정렬 기준)
+ * <p>
+ * 리플렉션으로 객체 그래프를 순회하지 않고, 캐시에 실제로 들어가는 타입(Product, byte[], String)의 레이아웃을 직접 계산한다.
+ * 모르는 타입은 {@link #UNKNOWN_SIZE} 로 본다.
+ */
+public final class RetainedSizeEstimator {
+    /**
+     * 캐시 노드(해시 엔트리, 정책용 링크)와 Long 키
+     */
+    static final int ENTRY_OVERHEAD = 64;
+    static final int UNKNOWN_SIZE = 256;
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private RetainedSizeEstimator() {
+    }
+
+    /**
+     * Caffeine Weigher 로도 쓰는 엔트리 크기 (int 범위로 자름)
+     */
+    public static int estimate(Object key, @Nullable Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + sizeOf(value));
+    }
+
+    public static long sizeOf(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Product product) {
+            return align(OBJECT_HEADER + 4 * REFERENCE)
+                    + sizeOf(product.getId())
+                    + sizeOf(product.getName())
+                    + sizeOf(product.getPrice())
+                    + sizeOf(product.getCreatedAt());
+        }
+        if (value instanceof byte[] bytes) {
+            return align(ARRAY_HEADER + bytes.length);
+        }
+        if (value instanceof String string) {
+            return align(OBJECT_HEADER + REFERENCE + 4 + 1 + 1)
+                    + align(ARRAY_HEADER + (long) string.length() * (isLatin1(string) ? 1 : 2));
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return 16;
+        }
+        if (value instanceof BigDecimal decimal) {
+            // intCompact 로 표현되지 않는 큰 값만 BigInteger 를 따로 가진다
+            long size = align(OBJECT_HEADER + 2 * REFERENCE + 8 + 4 + 4);
+            int bits = decimal.unscaledValue().bitLength();
+            if (bits >= Long.SIZE) {
+                size += align(OBJECT_HEADER + REFERENCE + 5 * 4) + align(ARRAY_HEADER + 4L * ((bits + 31) / 32));
+            }
+            return size;
+        }
+        if (value instanceof LocalDateTime) {
+            // LocalDateTime + LocalDate + LocalTime
+            return 3 * 24;
+        }
+        return UNKNOWN_SIZE;
+    }
+
+    private static boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
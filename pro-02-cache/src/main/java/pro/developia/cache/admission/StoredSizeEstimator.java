@@ -0,0 +1,35 @@
+package pro.developia.cache.admission;
+
+import org.springframework.lang.Nullable;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductCodec;
+
+/**
+ * off-heap/disk 계층에 직렬화되어 저장되는 엔트리 크기 (Long 키 + {@link ProductCodec} 또는 byte[] 값)
+ * <p>
+ * 계층 자체의 엔트리 관리 오버헤드는 포함하지 않는다. 모르는 타입은 {@link RetainedSizeEstimator#UNKNOWN_SIZE} 로 본다.
+ */
+public final class StoredSizeEstimator {
+    static final int KEY_SIZE = Long.BYTES;
+
+    private StoredSizeEstimator() {
+    }
+
+    public static int estimate(Object key, @Nullable Object value) {
+        return KEY_SIZE + sizeOf(value);
+    }
+
+    static int sizeOf(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Product product) {
+            int size = ProductCodec.encodedSize(product);
+            return size >= 0 ? size : RetainedSizeEstimator.UNKNOWN_SIZE;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return RetainedSizeEstimator.UNKNOWN_SIZE;
+    }
+}
@@ -0,0 +1,27 @@
+package pro.developia.cache.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.miss-batch")
+public class MissBatchProperties {
+    /**
+     * false 면 MISS 마다 바로 한 건씩 로드한다
+     */
+    private boolean enabled = true;
+
+    /**
+     * 첫 MISS 이후 같은 배치로 모을 최대 대기 시간, 모든 MISS 응답이 최대 이만큼 늦어진다
+     */
+    private Duration window = Duration.ofMillis(5);
+
+    /**
+     * 한 번에 로드할 최대 id 수, 이만큼 모이면 window 를 기다리지 않고 바로 로드한다
+     */
+    private int maxBatchSize = 128;
+}
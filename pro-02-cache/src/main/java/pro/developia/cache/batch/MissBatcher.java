@@ -0,0 +1,170 @@
+package pro.developia.cache.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 서로 다른 키의 동시 MISS 를 모아 한 번의 일괄 로드로 처리하는 DataLoader 방식의 로더
+ * <p>
+ * 첫 키가 들어오면 window 뒤에 배치를 보내도록 예약하고, 그 사이 들어온 키는 같은 배치에 합친다.
+ * maxBatchSize 만큼 모이면 window 를 기다리지 않고 바로 보낸다. 같은 배치에 같은 키가 다시 들어오면 같은 future 를 돌려준다.
+ * 일괄 로드는 executor 에서 실행되고, 결과에 없는 키는 null 로, 로드 예외는 배치의 모든 키에 그대로 전달된다.
+ * 캐시의 동시 MISS 합치기(sync)는 키 단위이므로, 이 로더는 그 뒤에서 키 사이의 DB 왕복을 줄인다.
+ */
+@Slf4j
+public class MissBatcher<K, V> implements AutoCloseable {
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final Executor executor;
+    private final boolean batching;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // lock 으로 보호, 아직 보내지 않은 배치
+    private Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+    private boolean closed;
+
+    private final DistributionSummary batchSize;
+    private final Timer loadTimer;
+    private final Counter dedupedCounter;
+
+    /**
+     * @param batchLoader 키 집합을 한 번에 로드하여 찾은 값만 돌려주는 함수
+     * @param executor    일괄 로드를 실행할 executor, 배치를 모으는 스레드는 로드를 기다리지 않는다
+     */
+    public MissBatcher(String cacheName,
+                       Function<Set<K>, Map<K, V>> batchLoader,
+                       Executor executor,
+                       MissBatchProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.batchLoader = batchLoader;
+        this.executor = executor;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.batching = properties.isEnabled() && windowNanos > 0 && maxBatchSize > 1;
+        this.scheduler = batching
+                ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(cacheName + "-miss-batch").daemon(true).factory())
+                : null;
+
+        this.batchSize = DistributionSummary.builder("cache.miss.batch.size")
+                .description("일괄 로드 한 번에 담긴 키 수")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("cache.miss.batch.load").tag("cache", cacheName).register(meterRegistry);
+        this.dedupedCounter = Counter.builder("cache.miss.batch.deduped")
+                .description("이미 배치에 있는 키라 같은 로드를 기다린 MISS")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키를 현재 배치에 넣고, 배치 로드가 끝나면 완료되는 future 를 돌려준다
+     */
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        lock.lock();
+        try {
+            future = batch.get(key);
+            if (future != null) {
+                dedupedCounter.increment();
+                return future;
+            }
+            future = new CompletableFuture<>();
+            batch.put(key, future);
+            if (!batching || closed || batch.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (batch.size() == 1) {
+                Map<K, CompletableFuture<V>> scheduled = batch;
+                scheduler.schedule(() -> dispatchIfPending(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * 모으는 중인 배치를 바로 보내고 예약 스레드를 정리한다, 이후의 MISS 는 모으지 않고 바로 로드한다
+     */
+    @Override
+    public void close() {
+        Map<K, CompletableFuture<V>> remaining;
+        lock.lock();
+        try {
+            closed = true;
+            remaining = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+    }
+
+    // window 가 지났을 때 그 배치가 maxBatchSize 로 이미 보내졌다면 새로 모으는 배치를 건드리지 않는다
+    private void dispatchIfPending(Map<K, CompletableFuture<V>> scheduled) {
+        lock.lock();
+        try {
+            if (batch != scheduled) {
+                return;
+            }
+            takeBatch();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(scheduled);
+    }
+
+    private Map<K, CompletableFuture<V>> takeBatch() {
+        Map<K, CompletableFuture<V>> taken = batch;
+        batch = new LinkedHashMap<>();
+        return taken;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> futures) {
+        batchSize.record(futures.size());
+        try {
+            executor.execute(() -> loadBatch(futures));
+        } catch (RejectedExecutionException e) {
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void loadBatch(Map<K, CompletableFuture<V>> futures) {
+        Map<K, V> loaded;
+        long start = System.nanoTime();
+        try {
+            loaded = batchLoader.apply(futures.keySet());
+        } catch (Throwable e) {
+            log.warn("{}건 일괄 로드에 실패했습니다.", futures.size(), e);
+            futures.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        } finally {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        futures.forEach((key, future) -> future.complete(loaded.get(key)));
+    }
+}
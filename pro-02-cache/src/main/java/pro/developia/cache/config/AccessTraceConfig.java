@@ -0,0 +1,10 @@
+package pro.developia.cache.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.trace.AccessTraceProperties;
+
+@Configuration
+@EnableConfigurationProperties(AccessTraceProperties.class)
+public class AccessTraceConfig {
+}
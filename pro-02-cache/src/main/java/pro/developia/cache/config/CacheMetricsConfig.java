@@ -0,0 +1,24 @@
+package pro.developia.cache.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.metrics.CacheBackend;
+import pro.developia.cache.metrics.InstrumentedCacheResolver;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    /**
+     * 프로필에 따라 등록되는 CacheManager(redis, ehcache, caffeine)의 캐시를 {@link pro.developia.cache.metrics.InstrumentedCache} 로 감싼다
+     * 빈 이름이 cacheResolver 이면 Spring Boot 의 캐시 자동 설정이 적용되지 않으므로 다른 이름을 쓴다.
+     */
+    @Bean
+    public InstrumentedCacheResolver instrumentedCacheResolver(CacheManager cacheManager,
+                                                               ObjectProvider<CacheBackend> cacheBackend,
+                                                               MeterRegistry meterRegistry) {
+        return new InstrumentedCacheResolver(cacheManager, cacheBackend.getIfAvailable(() -> CacheBackend.UNKNOWN), meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package pro.developia.cache.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.metrics.InstrumentedCacheResolver;
+import pro.developia.cache.resilience.DegradingCacheErrorHandler;
+
+/**
+ * CachingConfigurer 는 하나만 등록할 수 있으므로 캐시 어노테이션 설정을 이곳에 모은다
+ */
+@Configuration
+public class CachingConfig implements CachingConfigurer {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<InstrumentedCacheResolver> cacheResolver;
+
+    public CachingConfig(ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<InstrumentedCacheResolver> cacheResolver) {
+        this.meterRegistry = meterRegistry;
+        this.cacheResolver = cacheResolver;
+    }
+
+    /**
+     * 기본 SimpleCacheErrorHandler 는 캐시 오류를 그대로 던지므로, 캐시 장애에도 로더로 응답하도록 바꾼다
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new DegradingCacheErrorHandler(meterRegistry.getObject());
+    }
+
+    /**
+     * CacheManager 빈은 감싸지 않고, 어노테이션이 사용하는 캐시만 메트릭 데코레이터로 감싼다
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return cacheResolver.getObject();
+    }
+}
@@ -0,0 +1,49 @@
+package pro.developia.cache.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import pro.developia.cache.admission.CacheBudgetProperties;
+import pro.developia.cache.admission.RetainedSizeEstimator;
+import pro.developia.cache.metrics.CaffeineCacheBackend;
+
+import java.time.Duration;
+
+@Profile("caffeine")
+@Configuration
+@EnableConfigurationProperties(CacheBudgetProperties.class)
+public class CaffeineCacheConfig {
+
+    @Bean
+    public CaffeineCacheBackend caffeineCacheBackend() {
+        return new CaffeineCacheBackend();
+    }
+
+    /**
+     * 엔트리 수 대신 추정 retained 크기로 제한한다, admission 과 eviction 은 Caffeine 의 W-TinyLFU 가 맡는다
+     * spring.cache.caffeine.spec 이 설정되어 있으면 이 빈은 무시되므로 spec 을 함께 쓰지 않는다.
+     */
+    @Bean
+    public Caffeine<Object, Object> caffeine(CacheBudgetProperties budgetProperties,
+                                             @Value("${cache.caffeine.expire-after-access:PT30S}") Duration expireAfterAccess) {
+        return Caffeine.newBuilder()
+                .maximumWeight(budgetProperties.getMaxSize().toBytes())
+                .weigher(RetainedSizeEstimator::estimate)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats();
+    }
+
+    /**
+     * CompletableFuture 를 반환하는 @Cacheable (Cache.retrieve) 은 AsyncCache 로 만든 캐시에서만 동작한다
+     * 동기 API 는 AsyncCache.synchronous() 로 그대로 쓸 수 있다.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCacheManager() {
+        return cacheManager -> cacheManager.setAsyncCacheMode(true);
+    }
+}
@@ -1,27 +1,64 @@
 package pro.developia.cache.config;
 
-import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.stereotype.Component;
+import pro.developia.cache.admission.BudgetedCache;
+import pro.developia.cache.admission.BudgetedCacheManager;
+import pro.developia.cache.admission.CacheBudgetProperties;
+import pro.developia.cache.admission.StoredSizeEstimator;
+import pro.developia.cache.ehcache.EhcacheTierProperties;
+import pro.developia.cache.ehcache.ProductSerializer;
+import pro.developia.cache.ehcache.TieredCacheManagerFactory;
+import pro.developia.cache.ehcache.TimedSerializer;
+import pro.developia.cache.metrics.EhcacheCacheBackend;
 
 import javax.cache.CacheManager;
-import javax.cache.configuration.MutableConfiguration;
-import javax.cache.expiry.CreatedExpiryPolicy;
-import javax.cache.expiry.Duration;
 
 @Profile("ehcache")
-@Component
-public class EhcacheConfig implements JCacheManagerCustomizer {
+@Configuration
+@EnableConfigurationProperties({EhcacheTierProperties.class, CacheBudgetProperties.class})
+public class EhcacheConfig {
 
-    @Override
-    public void customize(CacheManager cacheManager) {
-        cacheManager.createCache("products", buildCacheConfiguration(Duration.TEN_MINUTES));
+    /**
+     * heap -> off-heap -> disk 계층 products / product-responses 캐시
+     * Spring Boot 의 기본 jCacheCacheManager 대신 사용되며, 종료 시 close 되어 디스크 계층이 보존된다.
+     * heap 계층 크기는 cache.ehcache.heap-size (기본 cache.budget.max-size) 로 제한한다.
+     */
+    @Bean
+    public CacheManager jCacheCacheManager(EhcacheTierProperties properties,
+                                           EhcacheCacheBackend ehcacheCacheBackend,
+                                           MeterRegistry meterRegistry) {
+        CacheManager cacheManager = TieredCacheManagerFactory.create(properties,
+                new TimedSerializer<>(new ProductSerializer(), meterRegistry),
+                ehcacheCacheBackend.listenerFor(TieredCacheManagerFactory.PRODUCTS));
+        TieredCacheManagerFactory.createResponseCache(cacheManager, properties,
+                ehcacheCacheBackend.listenerFor(TieredCacheManagerFactory.PRODUCT_RESPONSES));
+        return cacheManager;
     }
 
-    private MutableConfiguration<Long, Object> buildCacheConfiguration(Duration ttl) {
-        return new MutableConfiguration<Long, Object>()
-                .setTypes(Long.class, Object.class)
-                .setStoreByValue(false)
-                .setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(ttl));
+    /**
+     * heap 예산은 heap 계층에만 적용되므로, 앞에 두는 TinyLFU admission 의 장부는 모든 엔트리를 가진 disk 계층을 직렬화 크기로 센다
+     * persistent disk 계층에서 복원된 엔트리는 기동을 막지 않도록 순회하지 않고, 처음 HIT 될 때 장부에 올린다.
+     * CacheManager 빈이 있으면 Spring Boot 의 JCacheCacheManager 자동 설정은 적용되지 않는다.
+     */
+    @Bean
+    public BudgetedCacheManager cacheManager(CacheManager jCacheCacheManager,
+                                             EhcacheTierProperties tierProperties,
+                                             CacheBudgetProperties budgetProperties,
+                                             MeterRegistry meterRegistry) {
+        JCacheCacheManager cacheManager = new JCacheCacheManager(jCacheCacheManager);
+        cacheManager.afterPropertiesSet();
+        long diskBudget = tierProperties.getDiskSize().toBytes();
+        return new BudgetedCacheManager(cacheManager,
+                cache -> new BudgetedCache(cache, diskBudget, StoredSizeEstimator::estimate, budgetProperties, meterRegistry));
+    }
+
+    @Bean
+    public EhcacheCacheBackend ehcacheCacheBackend(EhcacheTierProperties properties) {
+        return new EhcacheCacheBackend(properties.getTimeToLive());
     }
 }
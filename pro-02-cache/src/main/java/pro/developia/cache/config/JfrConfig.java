@@ -0,0 +1,36 @@
+package pro.developia.cache.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.jfr.CacheFallbackEvent;
+import pro.developia.cache.jfr.CacheLoadEvent;
+import pro.developia.cache.jfr.CacheLookupEvent;
+import pro.developia.cache.jfr.CacheSerializationEvent;
+import pro.developia.cache.jfr.CircuitBreakerPermissionEvent;
+import pro.developia.common.jfr.JfrRecordingEndpoint;
+import pro.developia.common.jfr.JfrRecordingProperties;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(JfrRecordingProperties.class)
+public class JfrConfig {
+
+    /**
+     * /actuator/jfr 로 시작한 녹화에서는 기본으로 꺼 둔 조회/직렬화/허용 확인 이벤트까지 모두 켠다
+     * <p>
+     * 덤프에 스택과 클래스 정보가 담기므로 jfr.recording.enabled=true 일 때만 등록한다
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jfr.recording", name = "enabled")
+    public JfrRecordingEndpoint jfrRecordingEndpoint(JfrRecordingProperties properties) {
+        return new JfrRecordingEndpoint("pro-02-cache", List.of(
+                CacheLookupEvent.class,
+                CacheLoadEvent.class,
+                CacheSerializationEvent.class,
+                CircuitBreakerPermissionEvent.class,
+                CacheFallbackEvent.class), properties);
+    }
+}
@@ -0,0 +1,39 @@
+package pro.developia.cache.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.batch.MissBatchProperties;
+import pro.developia.cache.batch.MissBatcher;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductRepository;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * products 캐시 MISS 를 모아 ProductRepository.findAllById 한 번으로 로드한다
+ */
+@Configuration
+@EnableConfigurationProperties(MissBatchProperties.class)
+public class MissBatchConfig {
+
+    /**
+     * @param productLoadExecutor 일괄 로드를 실행할 executor,
+     *                            spring.threads.virtual.enabled=true 면 배치마다 가상 스레드, 아니면 spring.task.execution.pool 크기의 스레드 풀
+     */
+    @Bean
+    public MissBatcher<Long, Product> productMissBatcher(ProductRepository productRepository,
+                                                         MissBatchProperties properties,
+                                                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor productLoadExecutor,
+                                                         MeterRegistry meterRegistry) {
+        return new MissBatcher<>("products",
+                ids -> productRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())),
+                productLoadExecutor, properties, meterRegistry);
+    }
+}
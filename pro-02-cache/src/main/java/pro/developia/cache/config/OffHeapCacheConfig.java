@@ -0,0 +1,28 @@
+package pro.developia.cache.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import pro.developia.cache.metrics.OffHeapCacheBackend;
+import pro.developia.cache.offheap.OffHeapCacheManager;
+import pro.developia.cache.offheap.OffHeapCacheProperties;
+
+@Profile("offheap")
+@Configuration
+@EnableConfigurationProperties(OffHeapCacheProperties.class)
+public class OffHeapCacheConfig {
+
+    /**
+     * CacheManager 빈이 있으면 Spring Boot 캐시 자동 설정은 적용되지 않는다
+     */
+    @Bean
+    public OffHeapCacheManager cacheManager(OffHeapCacheProperties properties) {
+        return new OffHeapCacheManager(properties);
+    }
+
+    @Bean
+    public OffHeapCacheBackend offHeapCacheBackend() {
+        return new OffHeapCacheBackend();
+    }
+}
@@ -0,0 +1,31 @@
+package pro.developia.cache.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import pro.developia.cache.penetration.BloomFilterStore;
+import pro.developia.cache.penetration.FileBloomFilterStore;
+import pro.developia.cache.penetration.PenetrationProperties;
+import pro.developia.cache.penetration.RedisBloomFilterStore;
+
+@Configuration
+@EnableConfigurationProperties(PenetrationProperties.class)
+public class PenetrationConfig {
+
+    /**
+     * 여러 인스턴스가 같은 상품 id 필터를 보도록 Redis 에 공유
+     */
+    @Bean
+    @Profile("redis")
+    public BloomFilterStore redisBloomFilterStore(RedisConnectionFactory redisConnectionFactory, PenetrationProperties properties) {
+        return new RedisBloomFilterStore(redisConnectionFactory, properties.getFilter().getRedisKey());
+    }
+
+    @Bean
+    @Profile("!redis")
+    public BloomFilterStore fileBloomFilterStore(PenetrationProperties properties) {
+        return new FileBloomFilterStore(properties.getFilter().getSnapshotPath());
+    }
+}
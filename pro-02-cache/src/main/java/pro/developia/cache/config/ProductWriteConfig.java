@@ -0,0 +1,33 @@
+package pro.developia.cache.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.developia.cache.product.ProductRepository;
+import pro.developia.cache.product.WriteThroughProductWriter;
+import pro.developia.cache.writebehind.WriteBehindProductWriter;
+import pro.developia.cache.writebehind.WriteBehindProperties;
+
+/**
+ * product.write.mode 로 상품 변경의 저장소 반영 방식을 고른다
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class ProductWriteConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "product.write", name = "mode", havingValue = "write-behind", matchIfMissing = true)
+    public WriteBehindProductWriter writeBehindProductWriter(ProductRepository productRepository,
+                                                             WriteBehindProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new WriteBehindProductWriter(productRepository, properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "product.write", name = "mode", havingValue = "write-through")
+    public WriteThroughProductWriter writeThroughProductWriter(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        return new WriteThroughProductWriter(productRepository, meterRegistry);
+    }
+}
@@ -4,33 +4,171 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import pro.developia.cache.hotkey.HotKeyCacheManager;
+import pro.developia.cache.hotkey.HotKeyEndpoint;
+import pro.developia.cache.hotkey.HotKeyMonitor;
+import pro.developia.cache.hotkey.HotKeyProperties;
+import pro.developia.cache.metrics.RedisCacheBackend;
+import pro.developia.cache.redis.AsyncRedisCacheWriter;
+import pro.developia.cache.redis.AsyncRedisWriteProperties;
+import pro.developia.cache.redis.TimedRedisSerializer;
+import pro.developia.cache.resilience.RedisCommandTimeouts;
+import pro.developia.cache.resilience.RedisResilienceProperties;
+import pro.developia.cache.resilience.ResilientCacheManager;
+import pro.developia.cache.response.ProductResponseCache;
+import pro.developia.cache.shard.RedisShard;
+import pro.developia.cache.shard.ShardProperties;
+import pro.developia.cache.shard.ShardedRedisCacheManager;
+import pro.developia.cache.shard.ShardedRedisCacheWriter;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Profile("redis")
 @Configuration
+@EnableConfigurationProperties({AsyncRedisWriteProperties.class, HotKeyProperties.class, ShardProperties.class,
+        RedisResilienceProperties.class})
 public class RedisCacheConfig {
+    /**
+     * Redis 호출은 circuit breaker 로 감싸 장애 시 로컬 사본/로더로 응답하고 (cache.redis.resilience.enabled),
+     * hot key 는 짧은 TTL 의 로컬 복제본에서 응답해 한 Redis 노드로 몰리는 조회를 덜어낸다 (cache.redis.hot-key.enabled)
+     * CacheManager 빈이 있으면 Spring Boot 의 RedisCacheManager 자동 설정은 적용되지 않는다.
+     */
+    @Bean
+    public CacheManager cacheManager(RedisCacheWriter redisCacheWriter,
+                                     HotKeyProperties hotKeyProperties,
+                                     RedisResilienceProperties resilienceProperties,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = redisCacheManager(redisCacheWriter, meterRegistry);
+        if (!hotKeyProperties.isEnabled() && !resilienceProperties.isEnabled()) {
+            return redisCacheManager;
+        }
+        redisCacheManager.afterPropertiesSet();
+        CacheManager cacheManager = redisCacheManager;
+        if (resilienceProperties.isEnabled()) {
+            cacheManager = new ResilientCacheManager(cacheManager,
+                    circuitBreakerRegistry.circuitBreaker(resilienceProperties.getCircuitBreaker()),
+                    resilienceProperties, meterRegistry);
+        }
+        if (hotKeyProperties.isEnabled()) {
+            cacheManager = new HotKeyCacheManager(cacheManager, hotKeyProperties, meterRegistry);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * 조회/쓰기 명령은 짧은 timeout 으로 끊고, 연결이 끊긴 동안의 명령은 재연결까지 쌓아두지 않고 바로 실패시킨다
+     * (쌓아두면 모든 캐시 호출이 timeout 만큼 기다린 뒤에야 breaker 에 실패로 기록된다)
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer redisCommandTimeoutCustomizer(RedisProperties redisProperties,
+                                                                                      RedisResilienceProperties resilienceProperties) {
+        Duration defaultTimeout = redisProperties.getTimeout() != null ? redisProperties.getTimeout() : RedisURI.DEFAULT_TIMEOUT_DURATION;
+        SocketOptions.Builder socketOptions = SocketOptions.builder();
+        if (redisProperties.getConnectTimeout() != null) {
+            socketOptions.connectTimeout(redisProperties.getConnectTimeout());
+        }
+        return builder -> builder.clientOptions(ClientOptions.builder()
+                .socketOptions(socketOptions.build())
+                .timeoutOptions(TimeoutOptions.builder()
+                        .timeoutSource(new RedisCommandTimeouts(resilienceProperties.getReadTimeout(),
+                                resilienceProperties.getWriteTimeout(), defaultTimeout))
+                        .build())
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+    }
+
+    @Bean
+    public HotKeyMonitor hotKeyMonitor(CacheManager cacheManager, HotKeyProperties hotKeyProperties) {
+        return new HotKeyMonitor(cacheManager, hotKeyProperties);
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyMonitor hotKeyMonitor) {
+        return new HotKeyEndpoint(hotKeyMonitor);
+    }
+
+    public RedisCacheManager redisCacheManager(RedisCacheWriter redisCacheWriter, MeterRegistry meterRegistry) {
         RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new TimedRedisSerializer<>(jsonSerializer(), meterRegistry)))
                 .entryTtl(Duration.ofMinutes(30));
+        // 렌더링된 응답은 이미 JSON 바이트이므로 Jackson 을 거치지 않고 그대로 저장
+        Map<String, RedisCacheConfiguration> cacheConfigurations = Map.of(ProductResponseCache.CACHE_NAME,
+                redisCacheConfiguration.serializeValuesWith(RedisSerializationContext.SerializationPair.byteArray()));
 
-        return RedisCacheManager.builder(connectionFactory)
+        if (redisCacheWriter instanceof ShardedRedisCacheWriter shardedRedisCacheWriter) {
+            return new ShardedRedisCacheManager(shardedRedisCacheWriter, redisCacheConfiguration, cacheConfigurations);
+        }
+        return RedisCacheManager.builder(redisCacheWriter)
                 .cacheDefaults(redisCacheConfiguration)
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .enableStatistics()
                 .build();
     }
 
+    @Bean
+    public RedisCacheBackend redisCacheBackend(RedisConnectionFactory connectionFactory, RedisCacheWriter redisCacheWriter) {
+        if (redisCacheWriter instanceof ShardedRedisCacheWriter shardedRedisCacheWriter) {
+            return new RedisCacheBackend(shardedRedisCacheWriter.connectionFactories());
+        }
+        return new RedisCacheBackend(connectionFactory);
+    }
+
+    /**
+     * 캐시 MISS 후 SET 을 비동기 파이프라인으로 전송하는 writer (cache.redis.async-write.enabled=false 면 기존 동기 writer)
+     * cache.redis.shards.nodes 가 있으면 노드마다 writer 를 두고 consistent hash 로 나눠 보낸다.
+     */
+    @Bean
+    public RedisCacheWriter redisCacheWriter(RedisConnectionFactory connectionFactory,
+                                             AsyncRedisWriteProperties properties,
+                                             ShardProperties shardProperties,
+                                             MeterRegistry meterRegistry) {
+        if (!shardProperties.getNodes().isEmpty()) {
+            List<RedisShard> shards = shardProperties.getNodes().stream()
+                    .map(node -> RedisShard.connect(node, shardProperties.getTimeout(), shardConnectionFactory ->
+                            nodeWriter(shardConnectionFactory, properties, meterRegistry, Tags.of("shard", node))))
+                    .toList();
+            return new ShardedRedisCacheWriter(shards, shardProperties, meterRegistry);
+        }
+        return nodeWriter(connectionFactory, properties, meterRegistry, Tags.empty());
+    }
+
+    private static RedisCacheWriter nodeWriter(RedisConnectionFactory connectionFactory,
+                                               AsyncRedisWriteProperties properties,
+                                               MeterRegistry meterRegistry,
+                                               Tags tags) {
+        RedisCacheWriter writer = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+        if (!properties.isEnabled()) {
+            return writer;
+        }
+        return new AsyncRedisCacheWriter(writer, connectionFactory, properties, meterRegistry, tags);
+    }
+
     /**
      * 역직렬화 시 클래스 타입 정보를 포함하는 Jackson Serializer 생성
      */
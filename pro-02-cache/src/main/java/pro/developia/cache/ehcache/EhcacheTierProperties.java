@@ -0,0 +1,52 @@
+package pro.developia.cache.ehcache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * products 캐시의 heap -> off-heap -> disk 계층 크기 설정
+ * <p>
+ * Ehcache 는 아래 계층일수록 더 커야 한다. (heap < off-heap < disk)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.ehcache")
+public class EhcacheTierProperties {
+    /**
+     * 역직렬화 없이 참조로 보관할 hot 엔트리 수
+     */
+    private long heapEntries = 1_000;
+
+    /**
+     * 설정하면 heap 계층을 엔트리 수 대신 Ehcache 가 잰 retained 크기로 제한한다 (heap-entries 무시)
+     */
+    @Nullable
+    private DataSize heapSize;
+
+    /**
+     * GC 대상이 아닌 off-heap 영역 크기
+     */
+    private DataSize offheapSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 디스크 계층 크기
+     */
+    private DataSize diskSize = DataSize.ofMegabytes(512);
+
+    /**
+     * 디스크 계층 저장 경로, 재시작 후에도 같은 경로를 사용해야 warm 상태로 올라온다
+     */
+    private String diskPath = System.getProperty("java.io.tmpdir") + "/pro-02-cache/ehcache";
+
+    /**
+     * false 면 종료 시 디스크 계층을 비운다
+     */
+    private boolean persistent = true;
+
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -0,0 +1,46 @@
+package pro.developia.cache.ehcache;
+
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * off-heap/disk 계층에서 사용하는 Product 전용 바이너리 Serializer
+ * <p>
+ * Java 기본 직렬화보다 작고 빠르며, 클래스 메타데이터를 기록하지 않는다. 포맷은 {@link ProductCodec} 참고
+ */
+public class ProductSerializer implements Serializer<Product> {
+
+    public ProductSerializer() {
+    }
+
+    /**
+     * Ehcache 가 리플렉션으로 생성할 때 사용하는 생성자
+     */
+    public ProductSerializer(ClassLoader classLoader) {
+    }
+
+    @Override
+    public ByteBuffer serialize(Product product) throws SerializerException {
+        int size = ProductCodec.encodedSize(product);
+        if (size < 0) {
+            throw new SerializerException("직렬화할 수 없는 상품입니다. id=" + product.getId());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        ProductCodec.encode(product, buffer, 0, size);
+        return buffer;
+    }
+
+    @Override
+    public Product read(ByteBuffer binary) throws SerializerException {
+        return ProductCodec.decode(binary, binary.position());
+    }
+
+    @Override
+    public boolean equals(Product product, ByteBuffer binary) throws SerializerException {
+        return product.equals(read(binary));
+    }
+}
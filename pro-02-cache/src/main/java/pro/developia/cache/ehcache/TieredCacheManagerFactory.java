@@ -0,0 +1,114 @@
+package pro.developia.cache.ehcache;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.ByteArraySerializer;
+import org.ehcache.impl.serialization.LongSerializer;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.serialization.Serializer;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.product.Product;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.File;
+import java.net.URI;
+
+/**
+ * heap / off-heap / disk 3계층으로 구성된 products 캐시를 가진 JCache CacheManager 생성
+ * <p>
+ * disk 계층은 CacheManager 수준의 persistence 설정이 필요하므로 JCacheManagerCustomizer 로는 만들 수 없다.
+ * CacheManager 를 정상 종료(close)해야 디스크 계층 내용이 다음 기동 시 그대로 로드된다.
+ */
+public final class TieredCacheManagerFactory {
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_RESPONSES = "product-responses";
+
+    private TieredCacheManagerFactory() {
+    }
+
+    public static CacheManager create(EhcacheTierProperties properties) {
+        return create(properties, new ProductSerializer(), null);
+    }
+
+    /**
+     * @param valueSerializer off-heap/disk 계층 값 Serializer
+     * @param listener        CREATED/REMOVED/EVICTED/EXPIRED 이벤트를 받을 리스너 (메트릭 집계용)
+     */
+    public static CacheManager create(EhcacheTierProperties properties,
+                                      Serializer<Product> valueSerializer,
+                                      @Nullable CacheEventListener<Object, Object> listener) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        File rootDirectory = new File(properties.getDiskPath());
+
+        DefaultConfiguration configuration = new DefaultConfiguration(provider.getDefaultClassLoader(),
+                new DefaultPersistenceConfiguration(rootDirectory));
+
+        // 디스크 경로별로 URI 를 구분해야 같은 JVM 안에서 서로 다른 CacheManager 로 생성된다
+        URI uri = rootDirectory.toURI();
+        CacheManager cacheManager = provider.getCacheManager(uri, configuration);
+        cacheManager.createCache(PRODUCTS, Eh107Configuration.fromEhcacheCacheConfiguration(
+                productCacheConfiguration(properties, valueSerializer, listener)));
+        cacheManager.enableStatistics(PRODUCTS, true);
+        return cacheManager;
+    }
+
+    /**
+     * 렌더링된 상품 응답(byte[]) 캐시, 재기동 후에도 products 와 함께 유지되도록 같은 계층 구성을 사용
+     */
+    public static void createResponseCache(CacheManager cacheManager,
+                                           EhcacheTierProperties properties,
+                                           @Nullable CacheEventListener<Object, Object> listener) {
+        CacheConfigurationBuilder<Long, byte[]> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Long.class, byte[].class, resourcePools(properties))
+                .withKeySerializer(new LongSerializer())
+                .withValueSerializer(new ByteArraySerializer())
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(properties.getTimeToLive()));
+        if (listener != null) {
+            builder = builder.withService(listenerConfiguration(listener));
+        }
+        cacheManager.createCache(PRODUCT_RESPONSES, Eh107Configuration.fromEhcacheCacheConfiguration(builder.build()));
+        cacheManager.enableStatistics(PRODUCT_RESPONSES, true);
+    }
+
+    public static CacheConfiguration<Long, Product> productCacheConfiguration(EhcacheTierProperties properties,
+                                                                             Serializer<Product> valueSerializer,
+                                                                             @Nullable CacheEventListener<Object, Object> listener) {
+        CacheConfigurationBuilder<Long, Product> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Long.class, Product.class, resourcePools(properties))
+                .withKeySerializer(new LongSerializer())
+                .withValueSerializer(valueSerializer)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(properties.getTimeToLive()));
+        if (listener != null) {
+            builder = builder.withService(listenerConfiguration(listener));
+        }
+        return builder.build();
+    }
+
+    private static ResourcePoolsBuilder resourcePools(EhcacheTierProperties properties) {
+        ResourcePoolsBuilder builder = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        builder = properties.getHeapSize() != null
+                ? builder.heap(properties.getHeapSize().toBytes(), MemoryUnit.B)
+                : builder.heap(properties.getHeapEntries(), EntryUnit.ENTRIES);
+        return builder
+                .offheap(properties.getOffheapSize().toBytes(), MemoryUnit.B)
+                .disk(properties.getDiskSize().toBytes(), MemoryUnit.B, properties.isPersistent());
+    }
+
+    private static CacheEventListenerConfigurationBuilder listenerConfiguration(CacheEventListener<Object, Object> listener) {
+        return CacheEventListenerConfigurationBuilder
+                .newEventListenerConfiguration(listener, EventType.CREATED, EventType.REMOVED, EventType.EVICTED, EventType.EXPIRED)
+                .unordered()
+                .asynchronous();
+    }
+}
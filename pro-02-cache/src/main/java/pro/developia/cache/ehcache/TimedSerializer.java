@@ -0,0 +1,48 @@
+package pro.developia.cache.ehcache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * off-heap/disk 계층으로 오가는 직렬화 시간을 cache.serialization 메트릭으로 기록
+ */
+public class TimedSerializer<T> implements Serializer<T> {
+    private final Serializer<T> delegate;
+    private final Timer serializeTimer;
+    private final Timer deserializeTimer;
+
+    public TimedSerializer(Serializer<T> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.serializeTimer = Timer.builder("cache.serialization")
+                .tags("backend", "ehcache", "operation", "serialize")
+                .register(meterRegistry);
+        this.deserializeTimer = Timer.builder("cache.serialization")
+                .tags("backend", "ehcache", "operation", "deserialize")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ByteBuffer serialize(T object) throws SerializerException {
+        return serializeTimer.record(() -> delegate.serialize(object));
+    }
+
+    @Override
+    public T read(ByteBuffer binary) throws ClassNotFoundException, SerializerException {
+        long start = System.nanoTime();
+        try {
+            return delegate.read(binary);
+        } finally {
+            deserializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean equals(T object, ByteBuffer binary) throws ClassNotFoundException, SerializerException {
+        return delegate.equals(object, binary);
+    }
+}
@@ -0,0 +1,223 @@
+package pro.developia.cache.hotkey;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.hotkey.HotKeyDetector.HotKey;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 원격 캐시(Redis) 앞에서 hot key 만 짧은 TTL 의 로컬 복제본으로 응답하는 Cache 데코레이터
+ * <p>
+ * 소수의 인기 상품 조회가 한 Redis 노드와 네트워크를 포화시키지 않도록, hot key 의 값은 localTtl 동안 로컬에서 돌려준다.
+ * 이 인스턴스의 put/evict 는 복제본에도 바로 반영하고, 다른 인스턴스의 변경은 localTtl 안에 반영된다.
+ */
+public class HotKeyCache implements Cache {
+    private final Cache delegate;
+    private final HotKeyDetector detector;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> replica;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+
+    public HotKeyCache(Cache delegate, HotKeyProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.detector = new HotKeyDetector(properties);
+        this.replica = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxHotKeys())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+
+        Tags tags = Tags.of("cache", delegate.getName());
+        this.localHits = Counter.builder("cache.hotkey.local").tags(tags).tag("result", "hit").register(meterRegistry);
+        this.localMisses = Counter.builder("cache.hotkey.local").tags(tags).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.hotkey.size", detector, HotKeyDetector::size).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("cache.hotkey.promotions", detector, HotKeyDetector::promotions).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("cache.hotkey.demotions", detector, HotKeyDetector::demotions).tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        HotKey hotKey = detector.record(key);
+        if (hotKey == null) {
+            return delegate.get(key);
+        }
+        Object local = local(key, hotKey);
+        if (local != null) {
+            return new SimpleValueWrapper(local);
+        }
+        ValueWrapper value = delegate.get(key);
+        if (value != null) {
+            replicate(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        HotKey hotKey = detector.record(key);
+        if (hotKey == null) {
+            return delegate.get(key, type);
+        }
+        Object local = local(key, hotKey);
+        if (local != null && (type == null || type.isInstance(local))) {
+            return (T) local;
+        }
+        T value = delegate.get(key, type);
+        replicate(key, value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        HotKey hotKey = detector.record(key);
+        if (hotKey == null) {
+            return delegate.get(key, valueLoader);
+        }
+        Object local = local(key, hotKey);
+        if (local != null) {
+            return (T) local;
+        }
+        T value = delegate.get(key, valueLoader);
+        replicate(key, value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        HotKey hotKey = detector.record(key);
+        if (hotKey == null) {
+            return delegate.retrieve(key);
+        }
+        Object local = local(key, hotKey);
+        if (local != null) {
+            return CompletableFuture.completedFuture(new SimpleValueWrapper(local));
+        }
+        CompletableFuture<?> value = delegate.retrieve(key);
+        if (value == null) {
+            return null;
+        }
+        return value.whenComplete((result, ex) -> {
+            if (ex == null) {
+                replicate(key, result instanceof ValueWrapper wrapper ? wrapper.get() : result);
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        HotKey hotKey = detector.record(key);
+        if (hotKey == null) {
+            return delegate.retrieve(key, valueLoader);
+        }
+        Object local = local(key, hotKey);
+        if (local != null) {
+            return CompletableFuture.completedFuture((T) local);
+        }
+        return delegate.retrieve(key, valueLoader).whenComplete((value, ex) -> {
+            if (ex == null) {
+                replicate(key, value);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        replica.invalidate(key);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        replica.invalidate(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        replica.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        replica.invalidate(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        replica.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        replica.invalidateAll();
+        return invalidated;
+    }
+
+    /**
+     * 식은 hot key 를 내리고 로컬 복제본에서도 지운다
+     */
+    public void demoteCooled() {
+        replica.invalidateAll(detector.demoteCooled());
+    }
+
+    public HotKeyDetector getDetector() {
+        return detector;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Nullable
+    private Object local(Object key, HotKey hotKey) {
+        Object local = replica.getIfPresent(key);
+        if (local != null) {
+            hotKey.recordLocalHit();
+            localHits.increment();
+        } else {
+            localMisses.increment();
+        }
+        return local;
+    }
+
+    private void replicate(Object key, @Nullable Object value) {
+        // 원격에서 가져오는 사이 내려간 키는 복제하지 않는다
+        if (value != null && detector.isHot(key)) {
+            replica.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package pro.developia.cache.hotkey;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * cache-names 에 해당하는 Cache 만 {@link HotKeyCache} 로 감싸고, 나머지는 그대로 돌려준다
+ */
+public class HotKeyCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final HotKeyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> cacheNames;
+    private final ConcurrentMap<String, HotKeyCache> caches = new ConcurrentHashMap<>();
+
+    public HotKeyCacheManager(CacheManager delegate, HotKeyProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cacheNames = Set.copyOf(properties.getCacheNames());
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        HotKeyCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null || !cacheNames.contains(name)) {
+            return target;
+        }
+        return caches.computeIfAbsent(name, key -> new HotKeyCache(target, properties, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
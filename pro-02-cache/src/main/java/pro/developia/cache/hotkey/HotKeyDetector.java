@@ -0,0 +1,142 @@
+package pro.developia.cache.hotkey;
+
+import org.springframework.lang.Nullable;
+import pro.developia.cache.admission.FrequencySketch;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch 로 키별 최근 접근 빈도를 추정해 상위 키(hot key)를 고른다
+ * <p>
+ * 접근 경로는 sketch 카운터 CAS 와 hot key 맵 조회뿐이라 락을 잡지 않고 객체도 만들지 않는다.
+ * 새 hot key 를 올릴 때만 {@link HotKey} 하나를 만들고, 수는 maxHotKeys 로 제한한다.
+ * 빈도는 sketch 가 일정 횟수마다 절반으로 줄이므로, 트래픽에서 차지하는 비중이 줄어든 키는 {@link #demoteCooled()} 에서 내려간다.
+ */
+public class HotKeyDetector {
+    private final FrequencySketch sketch;
+    private final int promoteFrequency;
+    private final int demoteFrequency;
+    private final int maxHotKeys;
+
+    private final ConcurrentMap<Object, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+
+    public HotKeyDetector(HotKeyProperties properties) {
+        this.sketch = new FrequencySketch(properties.getSketchEntries());
+        this.promoteFrequency = properties.getPromoteFrequency();
+        this.demoteFrequency = properties.getDemoteFrequency();
+        this.maxHotKeys = properties.getMaxHotKeys();
+    }
+
+    /**
+     * 접근을 기록하고, hot key 면 그 상태를 돌려준다
+     */
+    @Nullable
+    public HotKey record(Object key) {
+        sketch.increment(key);
+        HotKey hotKey = hotKeys.get(key);
+        if (hotKey != null || sketch.frequency(key) < promoteFrequency) {
+            return hotKey;
+        }
+        return promote(key);
+    }
+
+    public boolean isHot(Object key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 추정 빈도가 demoteFrequency 아래로 내려간 hot key 를 내린다
+     *
+     * @return 내린 키 (로컬 복제본에서 지울 대상)
+     */
+    public List<Object> demoteCooled() {
+        List<Object> demoted = new ArrayList<>();
+        hotKeys.forEach((key, hotKey) -> {
+            if (sketch.frequency(key) < demoteFrequency && hotKeys.remove(key, hotKey)) {
+                size.decrementAndGet();
+                demotions.increment();
+                demoted.add(key);
+            }
+        });
+        return demoted;
+    }
+
+    /**
+     * 현재 hot key, 추정 빈도가 높은 순
+     */
+    public List<HotKeyStat> hotKeys() {
+        List<HotKeyStat> stats = new ArrayList<>();
+        hotKeys.forEach((key, hotKey) -> stats.add(
+                new HotKeyStat(key.toString(), sketch.frequency(key), hotKey.promotedAt(), hotKey.localHits())));
+        stats.sort(Comparator.comparingInt(HotKeyStat::frequency).reversed()
+                .thenComparing(Comparator.comparingLong(HotKeyStat::localHits).reversed()));
+        return stats;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long promotions() {
+        return promotions.sum();
+    }
+
+    public long demotions() {
+        return demotions.sum();
+    }
+
+    @Nullable
+    private HotKey promote(Object key) {
+        // 자리를 먼저 예약해 동시에 올라오는 키가 maxHotKeys 를 넘지 않게 한다
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxHotKeys) {
+                return null;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        HotKey promoted = new HotKey(Instant.now());
+        HotKey existing = hotKeys.putIfAbsent(key, promoted);
+        if (existing != null) {
+            size.decrementAndGet();
+            return existing;
+        }
+        promotions.increment();
+        return promoted;
+    }
+
+    /**
+     * hot key 로 올라간 시각과 로컬 복제본에서 응답한 횟수
+     */
+    public static final class HotKey {
+        private final Instant promotedAt;
+        private final LongAdder localHits = new LongAdder();
+
+        private HotKey(Instant promotedAt) {
+            this.promotedAt = promotedAt;
+        }
+
+        public Instant promotedAt() {
+            return promotedAt;
+        }
+
+        public long localHits() {
+            return localHits.sum();
+        }
+
+        void recordLocalHit() {
+            localHits.increment();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package pro.developia.cache.hotkey;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/hotkeys : 캐시별로 로컬 복제본에서 응답 중인 hot key
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+    private final HotKeyMonitor hotKeyMonitor;
+
+    public HotKeyEndpoint(HotKeyMonitor hotKeyMonitor) {
+        this.hotKeyMonitor = hotKeyMonitor;
+    }
+
+    @ReadOperation
+    public Map<String, List<HotKeyStat>> hotKeys() {
+        return hotKeyMonitor.hotKeys();
+    }
+}
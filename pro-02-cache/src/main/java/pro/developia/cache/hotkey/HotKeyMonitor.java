@@ -0,0 +1,46 @@
+package pro.developia.cache.hotkey;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * hot key 캐시들을 주기적으로 평가해 식은 키를 내리고, 현재 hot key 목록을 제공한다
+ */
+public class HotKeyMonitor {
+    private final CacheManager cacheManager;
+    private final HotKeyProperties properties;
+
+    public HotKeyMonitor(CacheManager cacheManager, HotKeyProperties properties) {
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${cache.redis.hot-key.evaluation-interval:PT1S}",
+            fixedDelayString = "${cache.redis.hot-key.evaluation-interval:PT1S}")
+    public void demoteCooled() {
+        caches().forEach(HotKeyCache::demoteCooled);
+    }
+
+    /**
+     * 캐시 이름별 현재 hot key, 추정 빈도가 높은 순
+     */
+    public Map<String, List<HotKeyStat>> hotKeys() {
+        Map<String, List<HotKeyStat>> hotKeys = new LinkedHashMap<>();
+        caches().forEach(cache -> hotKeys.put(cache.getName(), cache.getDetector().hotKeys()));
+        return hotKeys;
+    }
+
+    private List<HotKeyCache> caches() {
+        return properties.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(HotKeyCache.class::isInstance)
+                .map(HotKeyCache.class::cast)
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package pro.developia.cache.hotkey;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.redis.hot-key")
+public class HotKeyProperties {
+    private boolean enabled = true;
+
+    /**
+     * hot key 를 감지해 로컬 복제본을 둘 캐시 이름
+     */
+    private List<String> cacheNames = new ArrayList<>(List.of("products"));
+
+    /**
+     * 접근 빈도 sketch 크기, 약 sketchEntries x 5 회 접근마다 빈도가 절반으로 줄어든다 (집계 창)
+     */
+    private int sketchEntries = 1_024;
+
+    /**
+     * 추정 빈도(0 ~ 15)가 이 값 이상이면 hot key 로 올린다
+     */
+    private int promoteFrequency = 12;
+
+    /**
+     * hot key 의 추정 빈도가 이 값 아래로 내려가면 다음 평가 때 내린다 (promoteFrequency 보다 작게 두어 경계에서 오르내리지 않게 한다)
+     */
+    private int demoteFrequency = 6;
+
+    /**
+     * 캐시별 최대 hot key 수 (= 로컬 복제본 최대 엔트리 수)
+     */
+    private int maxHotKeys = 64;
+
+    /**
+     * 로컬 복제본 TTL, 다른 인스턴스에서 바뀐 값이 이 시간만큼 늦게 보일 수 있다
+     */
+    private Duration localTtl = Duration.ofSeconds(1);
+
+    /**
+     * 식은 hot key 를 내리는 주기 (@Scheduled 에서 직접 참조)
+     */
+    private Duration evaluationInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,12 @@
+package pro.developia.cache.hotkey;
+
+import java.time.Instant;
+
+/**
+ * actuator hotkeys 엔드포인트 응답 항목
+ *
+ * @param frequency Count-Min sketch 추정 빈도 (0 ~ 15, 최근 접근 비중)
+ * @param localHits 로컬 복제본에서 Redis 왕복 없이 응답한 횟수
+ */
+public record HotKeyStat(String key, int frequency, Instant promotedAt, long localHits) {
+}
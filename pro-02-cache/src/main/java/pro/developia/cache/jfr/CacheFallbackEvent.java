@@ -0,0 +1,35 @@
+package pro.developia.cache.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Redis 를 건너뛰고 로컬 사본이나 로더로 응답한 조회 (breaker 가 열렸거나 Redis 에 이전 값이 남은 키)
+ */
+@Name("pro.developia.cache.Fallback")
+@Label("Cache Fallback")
+@Category({"Developia", "Circuit Breaker"})
+@Description("Redis 대신 로컬 사본(local)이나 로더(loader)로 응답한 조회")
+public class CacheFallbackEvent extends Event {
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Source")
+    String source;
+
+    public void commit(String cache, Object key, String source) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.cache = cache;
+        this.key = String.valueOf(key);
+        this.source = source;
+        commit();
+    }
+}
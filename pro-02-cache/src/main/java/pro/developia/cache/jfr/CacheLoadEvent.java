@@ -0,0 +1,37 @@
+package pro.developia.cache.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * MISS 로 실행된 로더 한 번 (비동기 로더는 future 가 완료될 때까지)
+ */
+@Name("pro.developia.cache.Load")
+@Label("Cache Load")
+@Category({"Developia", "Cache"})
+@Description("캐시 MISS 로 실행된 로더")
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Success")
+    boolean success;
+
+    public void commit(String cache, Object key, boolean success) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.cache = cache;
+        this.key = String.valueOf(key);
+        this.success = success;
+        commit();
+    }
+}
@@ -0,0 +1,60 @@
+package pro.developia.cache.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.admission.RetainedSizeEstimator;
+
+/**
+ * 캐시 조회 한 번, 로더를 받는 조회는 MISS 면 로드 시간까지 포함한다
+ * <p>
+ * 요청마다 생기므로 기본으로 꺼 두고, /actuator/jfr 로 시작한 녹화에서만 켠다.
+ */
+@Name("pro.developia.cache.Lookup")
+@Label("Cache Lookup")
+@Category({"Developia", "Cache"})
+@Description("캐시 조회, bytes 는 HIT 값의 추정 heap 크기")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+    @Label("Cache")
+    String cache;
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * 녹화 중일 때만 필드를 채우고 기록한다
+     */
+    public void commit(String cache, String backend, String operation, Object key, boolean hit, @Nullable Object value) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.cache = cache;
+        this.backend = backend;
+        this.operation = operation;
+        this.key = String.valueOf(key);
+        this.hit = hit;
+        this.bytes = hit ? RetainedSizeEstimator.sizeOf(value) : 0;
+        commit();
+    }
+}
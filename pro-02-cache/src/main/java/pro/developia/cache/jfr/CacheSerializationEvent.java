@@ -0,0 +1,42 @@
+package pro.developia.cache.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.lang.Nullable;
+
+/**
+ * 캐시 값 직렬화/역직렬화 한 번, 조회마다 생기므로 기본으로 꺼 둔다
+ */
+@Name("pro.developia.cache.Serialization")
+@Label("Cache Serialization")
+@Category({"Developia", "Cache"})
+@Description("캐시 값 직렬화/역직렬화, bytes 는 직렬화된 크기")
+@Enabled(false)
+@StackTrace(false)
+public class CacheSerializationEvent extends Event {
+    @Label("Backend")
+    String backend;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public void commit(String backend, String operation, @Nullable byte[] bytes) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.backend = backend;
+        this.operation = operation;
+        this.bytes = bytes == null ? 0 : bytes.length;
+        commit();
+    }
+}
@@ -0,0 +1,40 @@
+package pro.developia.cache.jfr;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Redis 호출 전 circuit breaker 허용 확인 한 번, 캐시 호출마다 생기므로 기본으로 꺼 둔다
+ */
+@Name("pro.developia.cache.CircuitBreakerPermission")
+@Label("Circuit Breaker Permission")
+@Category({"Developia", "Circuit Breaker"})
+@Description("circuit breaker 허용 확인, permitted=false 면 Redis 를 건너뛴다")
+@Enabled(false)
+@StackTrace(false)
+public class CircuitBreakerPermissionEvent extends Event {
+    @Label("Circuit Breaker")
+    String name;
+
+    @Label("State")
+    String state;
+
+    @Label("Permitted")
+    boolean permitted;
+
+    public void commit(CircuitBreaker circuitBreaker, boolean permitted) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.name = circuitBreaker.getName();
+        this.state = circuitBreaker.getState().name();
+        this.permitted = permitted;
+        commit();
+    }
+}
@@ -0,0 +1,54 @@
+package pro.developia.cache.metrics;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * 캐시 구현체마다 다른 방식으로 얻어야 하는 지표(크기, eviction 수)를 제공
+ * <p>
+ * hit/miss/load 는 {@link InstrumentedCache} 에서 구현체와 무관하게 집계한다.
+ * 응답 캐시의 Cache-Control 계산을 위해 엔트리 TTL 도 구현체 설정에서 꺼내 준다.
+ */
+public interface CacheBackend {
+    CacheBackend UNKNOWN = new CacheBackend() {
+        @Override
+        public String name() {
+            return "unknown";
+        }
+
+        @Override
+        public double size(Cache cache) {
+            return Double.NaN;
+        }
+
+        @Override
+        public double evictions(Cache cache) {
+            return Double.NaN;
+        }
+    };
+
+    /**
+     * 메트릭 backend 태그 값 (redis, ehcache, caffeine ...)
+     */
+    String name();
+
+    /**
+     * 현재 엔트리 수, 알 수 없으면 NaN
+     */
+    double size(Cache cache);
+
+    /**
+     * 누적 eviction 수, 알 수 없으면 NaN
+     */
+    double evictions(Cache cache);
+
+    /**
+     * 엔트리 TTL (접근 기준 만료면 유휴 시간), 알 수 없거나 만료가 없으면 null
+     */
+    @Nullable
+    default Duration timeToLive(Cache cache) {
+        return null;
+    }
+}
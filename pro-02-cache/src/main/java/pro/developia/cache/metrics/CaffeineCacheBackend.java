@@ -0,0 +1,40 @@
+package pro.developia.cache.metrics;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * spec 에 recordStats 가 있어야 evictionCount 가 집계된다
+ */
+public class CaffeineCacheBackend implements CacheBackend {
+    @Override
+    public String name() {
+        return "caffeine";
+    }
+
+    @Override
+    public double size(Cache cache) {
+        return nativeCache(cache).estimatedSize();
+    }
+
+    @Override
+    public double evictions(Cache cache) {
+        return nativeCache(cache).stats().evictionCount();
+    }
+
+    @Nullable
+    @Override
+    public Duration timeToLive(Cache cache) {
+        var policy = nativeCache(cache).policy();
+        return policy.expireAfterWrite()
+                .or(policy::expireAfterAccess)
+                .map(expiration -> expiration.getExpiresAfter())
+                .orElse(null);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache(Cache cache) {
+        return (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache();
+    }
+}
@@ -0,0 +1,80 @@
+package pro.developia.cache.metrics;
+
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JCache/Ehcache 에는 크기 조회 API 가 없으므로 캐시 이벤트(CREATED/REMOVED/EVICTED/EXPIRED)로 집계한다
+ * <p>
+ * 크기는 이 프로세스가 기동한 이후의 이벤트 기준이라, persistent disk 계층에서 복원된 엔트리는 포함되지 않는다.
+ */
+public class EhcacheCacheBackend implements CacheBackend {
+    private final Map<String, Counts> counts = new ConcurrentHashMap<>();
+    @Nullable
+    private final Duration timeToLive;
+
+    /**
+     * @param timeToLive 모든 캐시에 공통으로 설정한 TTL (JCache 설정에서 꺼내기 번거로우므로 직접 받는다)
+     */
+    public EhcacheCacheBackend(@Nullable Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public String name() {
+        return "ehcache";
+    }
+
+    @Override
+    public double size(Cache cache) {
+        return counts(cache.getName()).size.sum();
+    }
+
+    @Override
+    public double evictions(Cache cache) {
+        return counts(cache.getName()).evictions.sum();
+    }
+
+    @Nullable
+    @Override
+    public Duration timeToLive(Cache cache) {
+        return timeToLive;
+    }
+
+    /**
+     * 캐시 생성 시 등록할 이벤트 리스너
+     */
+    public CacheEventListener<Object, Object> listenerFor(String cacheName) {
+        Counts cacheCounts = counts(cacheName);
+        return event -> cacheCounts.on(event);
+    }
+
+    private Counts counts(String cacheName) {
+        return counts.computeIfAbsent(cacheName, name -> new Counts());
+    }
+
+    private static final class Counts {
+        private final LongAdder size = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        private void on(CacheEvent<?, ?> event) {
+            switch (event.getType()) {
+                case CREATED -> size.increment();
+                case REMOVED, EXPIRED -> size.decrement();
+                case EVICTED -> {
+                    size.decrement();
+                    evictions.increment();
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package pro.developia.cache.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.jfr.CacheLoadEvent;
+import pro.developia.cache.jfr.CacheLookupEvent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 모든 캐시 구현체에 동일한 hit/miss/load/put 메트릭을 기록하는 Cache 데코레이터
+ * <p>
+ * Spring Boot 캐시 meter binder 의 cache.gets 등과 태그 구성(cache.manager 대신 backend)이 달라 같은 이름을 쓰면
+ * 합산되거나 Prometheus 에서 거부되므로 cache.backend.* 이름으로 기록한다.
+ * <p>
+ * JFR 녹화 중이면 조회와 로드를 {@link CacheLookupEvent}, {@link CacheLoadEvent} 로도 남긴다.
+ */
+public class InstrumentedCache implements Cache {
+    private final Cache delegate;
+    private final String backendName;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    public InstrumentedCache(Cache delegate, CacheBackend backend, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.backendName = backend.name();
+        Tags tags = Tags.of("cache", delegate.getName(), "backend", backend.name());
+
+        this.hits = Counter.builder("cache.backend.gets").tags(tags).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.backend.gets").tags(tags).tag("result", "miss").register(meterRegistry);
+        this.puts = Counter.builder("cache.backend.puts").tags(tags).register(meterRegistry);
+        this.loadSuccess = Timer.builder("cache.backend.loads").tags(tags).tag("result", "success")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.loadFailure = Timer.builder("cache.backend.loads").tags(tags).tag("result", "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.backend.evictions", delegate, backend::evictions).tags(tags).register(meterRegistry);
+        Gauge.builder("cache.backend.size", delegate, backend::size).tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        ValueWrapper wrapper = delegate.get(key);
+        event.commit(getName(), backendName, "get", key, wrapper != null, wrapper != null ? wrapper.get() : null);
+        return record(wrapper);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        T value = delegate.get(key, type);
+        event.commit(getName(), backendName, "get", key, value != null, value);
+        return record(value);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = delegate.get(key, () -> {
+            loaded.set(true);
+            return timedLoad(key, valueLoader);
+        });
+        (loaded.get() ? misses : hits).increment();
+        event.commit(getName(), backendName, "get-or-load", key, !loaded.get(), value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        CompletableFuture<?> future;
+        try {
+            future = delegate.retrieve(key);
+        } catch (UnsupportedOperationException e) {
+            ValueWrapper cached = delegate.get(key);
+            future = cached != null ? CompletableFuture.completedFuture(cached.get()) : null;
+        }
+        if (future == null) {
+            misses.increment();
+            event.commit(getName(), backendName, "retrieve", key, false, null);
+            return null;
+        }
+        return future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                record(value);
+                event.commit(getName(), backendName, "retrieve", key, value != null, value);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        // 로더를 실행했거나, 다른 요청의 로드를 기다린 경우
+        AtomicBoolean missed = new AtomicBoolean();
+        Supplier<CompletableFuture<T>> timedLoader = () -> {
+            missed.set(true);
+            CacheLoadEvent loadEvent = new CacheLoadEvent();
+            loadEvent.begin();
+            long start = System.nanoTime();
+            return valueLoader.get().whenComplete((value, ex) -> {
+                (ex == null ? loadSuccess : loadFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                loadEvent.commit(getName(), key, ex == null);
+            });
+        };
+        CompletableFuture<T> future;
+        try {
+            future = delegate.retrieve(key, timedLoader);
+        } catch (UnsupportedOperationException e) {
+            future = retrieveWithoutAsyncSupport(key, timedLoader, missed);
+        }
+        return future.whenComplete((value, ex) -> {
+            (missed.get() ? misses : hits).increment();
+            event.commit(getName(), backendName, "retrieve-or-load", key, !missed.get(), value);
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        puts.increment();
+        delegate.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    // 진행 중인 로드를 먼저 떼어내야 로드가 끝난 뒤 지우기 전 값을 다시 저장하지 않는다
+    @Override
+    public void evict(Object key) {
+        loading.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loading.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        loading.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loading.clear();
+        return delegate.invalidate();
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * retrieve 를 지원하지 않는 구현(JCacheCache) 용: 조회는 동기로 하고, 같은 키의 로드는 하나로 합쳐 완료될 때 저장한다
+     * <p>
+     * get(key, loader) 로 감싸면 로드가 끝날 때까지 스레드(와 Ehcache 의 엔트리 락)를 잡으므로 쓰지 않는다.
+     * 로드 중에 evict/clear 되면 결과는 기다리던 요청에만 돌려주고 저장하지 않는다.
+     *
+     * @param missed 진행 중인 로드에 합류한 요청도 캐시에서 값을 얻지 못했으므로 miss 로 표시한다
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> retrieveWithoutAsyncSupport(Object key, Supplier<CompletableFuture<T>> valueLoader, AtomicBoolean missed) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture((T) cached.get());
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            missed.set(true);
+            return (CompletableFuture<T>) inFlight;
+        }
+        valueLoader.get().whenComplete((value, ex) -> {
+            boolean current = loading.remove(key, future);
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+            if (current) {
+                put(key, value);
+            }
+            future.complete(value);
+        });
+        return (CompletableFuture<T>) future;
+    }
+
+    private <T> T record(@Nullable T value) {
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    private <T> T timedLoad(Object key, Callable<T> valueLoader) throws Exception {
+        CacheLoadEvent event = new CacheLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            T value = valueLoader.call();
+            loadSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.commit(getName(), key, true);
+            return value;
+        } catch (Exception e) {
+            loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.commit(getName(), key, false);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package pro.developia.cache.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * delegate CacheManager 가 돌려주는 모든 Cache 를 {@link InstrumentedCache} 로 감싼다
+ * <p>
+ * 빈으로 등록하지 않고 {@link InstrumentedCacheResolver} 안에서만 쓰는 view 이다. (CacheManager 빈의 타입을 바꾸지 않기 위해)
+ */
+public class InstrumentedCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final CacheBackend backend;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, InstrumentedCache> caches = new ConcurrentHashMap<>();
+
+    public InstrumentedCacheManager(CacheManager delegate, CacheBackend backend, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        InstrumentedCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new InstrumentedCache(target, backend, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
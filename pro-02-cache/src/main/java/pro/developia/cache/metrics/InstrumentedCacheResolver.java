@@ -0,0 +1,19 @@
+package pro.developia.cache.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+/**
+ * @Cacheable/@CachePut/@CacheEvict 가 resolve 한 Cache 를 {@link InstrumentedCache} 로 감싼다
+ * <p>
+ * CacheManager 빈은 프로필별 타입(RedisCacheManager, BudgetedCacheManager ...) 그대로 두므로 타입으로 주입받을 수 있고,
+ * Spring Boot 의 캐시 meter binder 도 그대로 동작한다. CacheManager 를 직접 쓰면서 같은 메트릭이 필요한 코드는
+ * {@link #getCacheManager()} 가 돌려주는 {@link InstrumentedCacheManager} 를 사용한다.
+ */
+public class InstrumentedCacheResolver extends SimpleCacheResolver {
+
+    public InstrumentedCacheResolver(CacheManager cacheManager, CacheBackend backend, MeterRegistry meterRegistry) {
+        super(new InstrumentedCacheManager(cacheManager, backend, meterRegistry));
+    }
+}
@@ -0,0 +1,25 @@
+package pro.developia.cache.metrics;
+
+import org.springframework.cache.Cache;
+import pro.developia.cache.offheap.OffHeapProductStore;
+
+public class OffHeapCacheBackend implements CacheBackend {
+    @Override
+    public String name() {
+        return "offheap";
+    }
+
+    @Override
+    public double size(Cache cache) {
+        return store(cache).size();
+    }
+
+    @Override
+    public double evictions(Cache cache) {
+        return store(cache).evictions();
+    }
+
+    private OffHeapProductStore store(Cache cache) {
+        return (OffHeapProductStore) cache.getNativeCache();
+    }
+}
@@ -0,0 +1,136 @@
+package pro.developia.cache.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import pro.developia.cache.hotkey.HotKeyCache;
+import pro.developia.cache.resilience.ResilientCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 크기는 "{cacheName}::*" 키를 SCAN 하여 세고, eviction 은 서버 전체의 evicted_keys 를 사용한다
+ * <p>
+ * SCAN 은 키 공간 전체를 도는 O(N) 명령이므로 메트릭 수집 때마다 실행하지 않고,
+ * cache.redis.size-refresh-interval 주기로 센 값을 보고한다. (첫 집계 전에는 NaN)
+ * <p>
+ * Redis 의 maxmemory eviction 은 캐시 단위로 구분되지 않으므로 같은 인스턴스를 쓰는 캐시는 같은 값을 보고한다.
+ * 여러 노드로 나눠 저장하면(shard) 응답한 노드의 값을 합친다.
+ */
+@Slf4j
+public class RedisCacheBackend implements CacheBackend {
+    private static final long SCAN_COUNT = 1_000;
+
+    private final List<RedisConnectionFactory> connectionFactories;
+    // 크기를 보고한 적 있는 캐시 이름 -> 마지막으로 센 엔트리 수
+    private final Map<String, Double> sizes = new ConcurrentHashMap<>();
+
+    public RedisCacheBackend(RedisConnectionFactory connectionFactory) {
+        this(List.of(connectionFactory));
+    }
+
+    public RedisCacheBackend(List<RedisConnectionFactory> connectionFactories) {
+        this.connectionFactories = List.copyOf(connectionFactories);
+    }
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    @Override
+    public double size(Cache cache) {
+        return sizes.computeIfAbsent(cache.getName(), name -> Double.NaN);
+    }
+
+    /**
+     * 크기를 보고하는 캐시들의 키 수를 다시 센다
+     */
+    @Scheduled(fixedDelayString = "${cache.redis.size-refresh-interval:PT1M}")
+    public void refreshSizes() {
+        for (String cacheName : sizes.keySet()) {
+            sizes.put(cacheName, count(cacheName));
+        }
+    }
+
+    private double count(String cacheName) {
+        ScanOptions options = ScanOptions.scanOptions().match(cacheName + "::*").count(SCAN_COUNT).build();
+        return sum(connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                long count = 0;
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    count++;
+                }
+                return (double) count;
+            }
+        }, "크기");
+    }
+
+    @Override
+    public double evictions(Cache cache) {
+        return sum(connection -> {
+            Properties stats = connection.serverCommands().info("stats");
+            String evictedKeys = stats != null ? stats.getProperty("evicted_keys") : null;
+            return evictedKeys != null ? Double.parseDouble(evictedKeys) : Double.NaN;
+        }, "eviction 수");
+    }
+
+    /**
+     * 키/값과 무관한 고정 TTL 설정을 가정
+     */
+    @Nullable
+    @Override
+    public Duration timeToLive(Cache cache) {
+        if (!(unwrap(cache) instanceof RedisCache redisCache)) {
+            return null;
+        }
+        Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(cache.getName(), null);
+        return ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    /**
+     * hot key 복제본 / circuit breaker 데코레이터 안의 RedisCache
+     */
+    private static Cache unwrap(Cache cache) {
+        Cache target = cache;
+        while (true) {
+            if (target instanceof HotKeyCache hotKeyCache) {
+                target = hotKeyCache.getDelegate();
+            } else if (target instanceof ResilientCache resilientCache) {
+                target = resilientCache.getDelegate();
+            } else {
+                return target;
+            }
+        }
+    }
+
+    /**
+     * 노드별 값을 더한다, 응답한 노드가 하나도 없으면 NaN
+     */
+    private double sum(Function<RedisConnection, Double> query, String description) {
+        double total = Double.NaN;
+        for (RedisConnectionFactory connectionFactory : connectionFactories) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                double value = query.apply(connection);
+                if (!Double.isNaN(value)) {
+                    total = Double.isNaN(total) ? value : total + value;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Redis 캐시 {} 조회 실패: {}", description, e.getMessage());
+            }
+        }
+        return total;
+    }
+}
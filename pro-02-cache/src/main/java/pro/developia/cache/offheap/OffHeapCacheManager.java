@@ -0,0 +1,28 @@
+package pro.developia.cache.offheap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+
+/**
+ * 설정된 이름마다 별도의 {@link OffHeapProductStore} 를 할당, 등록되지 않은 이름은 null 을 반환
+ */
+public class OffHeapCacheManager extends AbstractCacheManager {
+    private final OffHeapCacheProperties properties;
+
+    public OffHeapCacheManager(OffHeapCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getCacheNames().stream()
+                .map(name -> new OffHeapProductCache(name, new OffHeapProductStore(
+                        properties.getMaxEntries(),
+                        properties.getSlotSize(),
+                        properties.getSegments(),
+                        properties.getTimeToLive())))
+                .toList();
+    }
+}
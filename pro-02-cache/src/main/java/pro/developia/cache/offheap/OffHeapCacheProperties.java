@@ -0,0 +1,32 @@
+package pro.developia.cache.offheap;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.offheap")
+public class OffHeapCacheProperties {
+    private List<String> cacheNames = List.of("products");
+
+    /**
+     * 캐시당 최대 엔트리 수, 초과하면 CLOCK 방식으로 evict
+     */
+    private int maxEntries = 1_000_000;
+
+    /**
+     * 엔트리 하나가 차지하는 고정 슬롯 크기(헤더 20 byte 포함), packing 결과가 더 크면 캐시하지 않는다
+     */
+    private int slotSize = 96;
+
+    /**
+     * 락과 off-heap 버퍼를 나누는 단위
+     */
+    private int segments = 16;
+
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
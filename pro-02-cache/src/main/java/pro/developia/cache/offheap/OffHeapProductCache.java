@@ -0,0 +1,178 @@
+package pro.developia.cache.offheap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.product.Product;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link OffHeapProductStore} 를 Spring Cache 로 노출, 숫자 키와 Product 값만 허용한다
+ * <p>
+ * null 값은 저장하지 않으며, get(key, loader) 는 같은 키에 대한 동시 로드를 하나로 합친다.
+ */
+public class OffHeapProductCache implements Cache {
+    private final String name;
+    private final OffHeapProductStore store;
+    private final ConcurrentMap<Long, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public OffHeapProductCache(String name, OffHeapProductStore store) {
+        this.name = name;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OffHeapProductStore getNativeCache() {
+        return store;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        Product product = store.get(toLong(key));
+        return product != null ? new SimpleValueWrapper(product) : null;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        Product product = store.get(toLong(key));
+        if (product != null && type != null && !type.isInstance(product)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + product);
+        }
+        return (T) product;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long id = toLong(key);
+        Product cached = store.get(id);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(id, future);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        Product product = store.get(toLong(key));
+        return product != null ? CompletableFuture.completedFuture(product) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        long id = toLong(key);
+        Product cached = store.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture((T) cached);
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(id, future);
+        if (inFlight != null) {
+            return (CompletableFuture<T>) inFlight;
+        }
+        valueLoader.get().whenComplete((value, ex) -> {
+            loading.remove(id, future);
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+            put(key, value);
+            future.complete(value);
+        });
+        return (CompletableFuture<T>) future;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        store.put(toLong(key), toProduct(value));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        if (value == null) {
+            return get(key);
+        }
+        Product existing = store.putIfAbsent(toLong(key), toProduct(value));
+        return existing != null ? new SimpleValueWrapper(existing) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(toLong(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return store.remove(toLong(key));
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = store.size() > 0;
+        store.clear();
+        return notEmpty;
+    }
+
+    private static long toLong(Object key) {
+        if (key instanceof Number number) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("off-heap 캐시는 숫자 키만 지원합니다. key=" + key);
+    }
+
+    private static Product toProduct(Object value) {
+        if (value instanceof Product product) {
+            return product;
+        }
+        throw new IllegalArgumentException("off-heap 캐시는 Product 값만 지원합니다. type=" + value.getClass().getName());
+    }
+}
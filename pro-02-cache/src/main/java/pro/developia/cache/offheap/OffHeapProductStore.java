@@ -0,0 +1,129 @@
+package pro.developia.cache.offheap;
+
+import pro.developia.cache.product.Product;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * long 키 -> packing 된 Product 를 off-heap 세그먼트에 저장
+ * <p>
+ * 키를 박싱하지 않고, 힙에는 세그먼트 객체와 DirectByteBuffer 껍데기만 남는다.
+ * 조회할 때마다 Product 를 새로 만들어 반환하므로 호출자가 수정해도 캐시 내용은 바뀌지 않는다.
+ */
+public class OffHeapProductStore {
+    private final OffHeapSegment[] segments;
+    private final int slotSize;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final LongAdder rejected = new LongAdder();
+
+    public OffHeapProductStore(int maxEntries, int slotSize, int segmentCount, Duration timeToLive) {
+        this(maxEntries, slotSize, segmentCount, timeToLive, Clock.systemUTC());
+    }
+
+    OffHeapProductStore(int maxEntries, int slotSize, int segmentCount, Duration timeToLive, Clock clock) {
+        if (slotSize <= OffHeapSegment.HEADER) {
+            throw new IllegalArgumentException("slotSize 는 " + OffHeapSegment.HEADER + " byte 보다 커야 합니다.");
+        }
+        this.segments = new OffHeapSegment[segmentCount];
+        int perSegment = (maxEntries + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new OffHeapSegment(perSegment, slotSize);
+        }
+        this.slotSize = slotSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+    }
+
+    public Product get(long key) {
+        long hash = hash(key);
+        return segment(hash).get(key, hash, clock.millis());
+    }
+
+    /**
+     * @return 슬롯보다 커서 저장하지 못했으면 false
+     */
+    public boolean put(long key, Product product) {
+        long hash = hash(key);
+        long now = clock.millis();
+        boolean stored = segment(hash).put(key, hash, product, expiresAt(now), now);
+        if (!stored) {
+            rejected.increment();
+        }
+        return stored;
+    }
+
+    public Product putIfAbsent(long key, Product product) {
+        long hash = hash(key);
+        long now = clock.millis();
+        return segment(hash).putIfAbsent(key, hash, product, expiresAt(now), now);
+    }
+
+    public boolean remove(long key) {
+        long hash = hash(key);
+        return segment(hash).remove(key, hash);
+    }
+
+    public void clear() {
+        for (OffHeapSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long evictions() {
+        long evictions = 0;
+        for (OffHeapSegment segment : segments) {
+            evictions += segment.evictions();
+        }
+        return evictions;
+    }
+
+    /**
+     * 슬롯 크기를 넘어 저장하지 못한 횟수
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long allocatedBytes() {
+        long bytes = 0;
+        for (OffHeapSegment segment : segments) {
+            bytes += segment.allocatedBytes();
+        }
+        return bytes;
+    }
+
+    public int slotSize() {
+        return slotSize;
+    }
+
+    /**
+     * 상위 32bit 는 세그먼트 선택, 하위 32bit 는 세그먼트 내 슬롯 선택에 사용
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private OffHeapSegment segment(long hash) {
+        return segments[(int) (((hash >>> 32) * segments.length) >>> 32)];
+    }
+
+    private long expiresAt(long now) {
+        return timeToLiveMillis > 0 ? now + timeToLiveMillis : 0;
+    }
+}
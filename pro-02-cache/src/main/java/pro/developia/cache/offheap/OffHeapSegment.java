@@ -0,0 +1,272 @@
+package pro.developia.cache.offheap;
+
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductCodec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * long 키 open addressing(linear probing) 해시 테이블, 슬롯 전체가 하나의 direct ByteBuffer 에 있다
+ * <p>
+ * 슬롯 레이아웃: state(byte) / referenced(byte) / length(short) / key(long) / expiresAt(long) / payload
+ * <p>
+ * 삭제는 tombstone 없이 backward shift 로 처리하고, 가득 차면 CLOCK(second chance)으로 하나를 evict 한다.
+ */
+final class OffHeapSegment {
+    static final int HEADER = 20;
+
+    private static final int STATE = 0;
+    private static final int REFERENCED = 1;
+    private static final int LENGTH = 2;
+    private static final int KEY = 4;
+    private static final int EXPIRES_AT = 12;
+    private static final int PAYLOAD = HEADER;
+
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+
+    private static final double LOAD_FACTOR = 0.8;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int slotSize;
+    private final int maxEntries;
+
+    private int size;
+    private int clockHand;
+    private long evictions;
+
+    OffHeapSegment(int maxEntries, int slotSize) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.capacity = (int) Math.ceil(this.maxEntries / LOAD_FACTOR) + 1;
+        this.slotSize = slotSize;
+        this.buffer = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, slotSize));
+    }
+
+    Product get(long key, long hash, long now) {
+        lock.lock();
+        try {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return null;
+            }
+            int base = slot * slotSize;
+            if (isExpired(base, now)) {
+                delete(slot);
+                return null;
+            }
+            buffer.put(base + REFERENCED, (byte) 1);
+            return ProductCodec.decode(buffer, base + PAYLOAD);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 슬롯에 담을 수 없을 만큼 크면 false (기존 값도 제거)
+     */
+    boolean put(long key, long hash, Product product, long expiresAt, long now) {
+        lock.lock();
+        try {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                if (size >= maxEntries) {
+                    evictOne(now);
+                }
+                slot = emptySlot(hash);
+            }
+            return write(slot, key, product, expiresAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 이미 유효한 값이 있으면 그 값, 없어서 저장했으면 null
+     */
+    Product putIfAbsent(long key, long hash, Product product, long expiresAt, long now) {
+        lock.lock();
+        try {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                int base = slot * slotSize;
+                if (!isExpired(base, now)) {
+                    return ProductCodec.decode(buffer, base + PAYLOAD);
+                }
+            } else {
+                if (size >= maxEntries) {
+                    evictOne(now);
+                }
+                slot = emptySlot(hash);
+            }
+            write(slot, key, product, expiresAt);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean remove(long key, long hash) {
+        lock.lock();
+        try {
+            int slot = find(key, hash);
+            if (slot < 0) {
+                return false;
+            }
+            delete(slot);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            for (int slot = 0; slot < capacity; slot++) {
+                buffer.put(slot * slotSize + STATE, EMPTY);
+            }
+            size = 0;
+            clockHand = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long evictions() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long allocatedBytes() {
+        return buffer.capacity();
+    }
+
+    private boolean write(int slot, long key, Product product, long expiresAt) {
+        int base = slot * slotSize;
+        boolean occupied = buffer.get(base + STATE) == OCCUPIED;
+        int length = ProductCodec.encode(product, buffer, base + PAYLOAD, slotSize - HEADER);
+        if (length < 0) {
+            // 오래된 값을 계속 돌려주지 않도록 제거
+            if (occupied) {
+                delete(slot);
+            }
+            return false;
+        }
+        buffer.put(base + REFERENCED, (byte) 1);
+        buffer.putShort(base + LENGTH, (short) length);
+        buffer.putLong(base + KEY, key);
+        buffer.putLong(base + EXPIRES_AT, expiresAt);
+        buffer.put(base + STATE, OCCUPIED);
+        if (!occupied) {
+            size++;
+        }
+        return true;
+    }
+
+    private int find(long key, long hash) {
+        int slot = home(hash);
+        while (true) {
+            int base = slot * slotSize;
+            if (buffer.get(base + STATE) == EMPTY) {
+                return -1;
+            }
+            if (buffer.getLong(base + KEY) == key) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+    }
+
+    private int emptySlot(long hash) {
+        int slot = home(hash);
+        while (buffer.get(slot * slotSize + STATE) != EMPTY) {
+            slot = next(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * 참조 비트가 꺼진 엔트리(또는 만료된 엔트리)를 만날 때까지 시계 바늘을 돌리며 참조 비트를 끈다
+     */
+    private void evictOne(long now) {
+        while (true) {
+            int slot = clockHand;
+            clockHand = next(clockHand);
+            int base = slot * slotSize;
+            if (buffer.get(base + STATE) != OCCUPIED) {
+                continue;
+            }
+            if (buffer.get(base + REFERENCED) == 0 || isExpired(base, now)) {
+                delete(slot);
+                evictions++;
+                // backward shift 로 이 자리에 당겨진 엔트리를 다음에 다시 검사
+                clockHand = slot;
+                return;
+            }
+            buffer.put(base + REFERENCED, (byte) 0);
+        }
+    }
+
+    /**
+     * 빈 자리 뒤에 이어진 엔트리 중 자기 홈 위치를 지나친 것들을 앞으로 당겨 probe 체인을 유지
+     */
+    private void delete(int slot) {
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = next(current);
+            int currentBase = current * slotSize;
+            if (buffer.get(currentBase + STATE) == EMPTY) {
+                break;
+            }
+            int home = home(OffHeapProductStore.hash(buffer.getLong(currentBase + KEY)));
+            boolean stays = hole <= current
+                    ? (hole < home && home <= current)
+                    : (hole < home || home <= current);
+            if (stays) {
+                continue;
+            }
+            copySlot(current, hole);
+            hole = current;
+        }
+        buffer.put(hole * slotSize + STATE, EMPTY);
+        size--;
+    }
+
+    private void copySlot(int from, int to) {
+        int fromBase = from * slotSize;
+        int toBase = to * slotSize;
+        int length = HEADER + Short.toUnsignedInt(buffer.getShort(fromBase + LENGTH));
+        buffer.put(toBase, buffer, fromBase, length);
+    }
+
+    private boolean isExpired(int base, long now) {
+        long expiresAt = buffer.getLong(base + EXPIRES_AT);
+        return expiresAt != 0 && expiresAt <= now;
+    }
+
+    private int home(long hash) {
+        // modulo 대신 곱셈/시프트로 [0, capacity) 범위에 매핑
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+}
@@ -0,0 +1,146 @@
+package pro.developia.cache.penetration;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키 Bloom filter, 락 없이 여러 스레드가 동시에 추가/조회할 수 있다
+ * <p>
+ * 비트 i 는 i/64 번째 word 의 상위 비트부터 채운다. big-endian 으로 바이트를 뽑으면 Redis 비트맵(SETBIT/GET)과 같은 순서가 된다.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int numHashes;
+
+    private BloomFilter(AtomicLongArray words, int numHashes) {
+        this.words = words;
+        this.bitSize = (long) words.length() * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * 예상 원소 수와 목표 오탐률로 비트 수와 해시 함수 수를 정한다
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = Math.toIntExact(Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        int numHashes = Math.max(1, (int) Math.round((double) wordCount * Long.SIZE / expectedInsertions * Math.log(2)));
+        return new BloomFilter(new AtomicLongArray(wordCount), numHashes);
+    }
+
+    /**
+     * {@link #toByteArray()} 로 만든 스냅샷에서 복원
+     */
+    public static BloomFilter fromByteArray(byte[] bytes, int numHashes) {
+        BloomFilter filter = new BloomFilter(new AtomicLongArray((bytes.length + Long.BYTES - 1) / Long.BYTES), numHashes);
+        filter.merge(bytes);
+        return filter;
+    }
+
+    public boolean put(long key) {
+        boolean changed = false;
+        for (long index : bitIndexes(key)) {
+            changed |= setBit(index);
+        }
+        return changed;
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            if (!getBit(index(h1, h2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * key 에 해당하는 비트 위치 (Redis SETBIT offset 과 동일)
+     */
+    public long[] bitIndexes(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long[] indexes = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            indexes[i] = index(h1, h2, i);
+        }
+        return indexes;
+    }
+
+    /**
+     * 다른 노드의 스냅샷 비트를 OR 로 합친다, 길이가 다르면 겹치는 부분만 합친다
+     */
+    public void merge(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int word = 0; word < words.length() && buffer.hasRemaining(); word++) {
+            long bits = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                bits = (bits << 8) | (buffer.hasRemaining() ? buffer.get() & 0xFF : 0);
+            }
+            long incoming = bits;
+            words.getAndAccumulate(word, incoming, (current, update) -> current | update);
+        }
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+        for (int word = 0; word < words.length(); word++) {
+            buffer.putLong(words.get(word));
+        }
+        return buffer.array();
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    public long bitCount() {
+        long count = 0;
+        for (int word = 0; word < words.length(); word++) {
+            count += Long.bitCount(words.get(word));
+        }
+        return count;
+    }
+
+    /**
+     * 현재 채워진 비트 비율로 추정한 오탐률 (채워진 비율 ^ 해시 함수 수)
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount() / bitSize, numHashes);
+    }
+
+    private long index(int h1, int h2, int i) {
+        // double hashing (Kirsch-Mitzenmacher)
+        long combined = h1 + (long) i * h2;
+        return Math.floorMod(combined, bitSize);
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = Long.MIN_VALUE >>> (index & 63);
+        long previous = words.getAndAccumulate(word, mask, (current, update) -> current | update);
+        return (previous & mask) == 0;
+    }
+
+    private boolean getBit(long index) {
+        return (words.get((int) (index >>> 6)) & (Long.MIN_VALUE >>> (index & 63))) != 0;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,32 @@
+package pro.developia.cache.penetration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * 상품 id 필터의 비트를 저장/공유하는 곳
+ */
+public interface BloomFilterStore {
+
+    /**
+     * filter 와 같은 크기(비트 수, 해시 함수 수)로 저장된 비트, 없으면 null
+     */
+    @Nullable
+    byte[] load(BloomFilter filter);
+
+    void save(BloomFilter filter);
+
+    /**
+     * 새 id 가 추가되어 켜진 비트 위치
+     */
+    void added(BloomFilter filter, long[] bitIndexes);
+
+    /**
+     * 로컬 필터에 없는 id 의 비트가 저장소에는 모두 켜져 있는지, 다른 인스턴스가 추가하고 아직 sync 되지 않은 id 를 찾는다
+     */
+    boolean containsAll(BloomFilter filter, long[] bitIndexes);
+
+    /**
+     * 주기적으로 호출, 저장소와 로컬 필터를 맞춘다
+     */
+    void sync(BloomFilter filter);
+}
@@ -0,0 +1,82 @@
+package pro.developia.cache.penetration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 단일 인스턴스용, 필터 비트를 로컬 파일에 주기적으로 저장한다
+ * <p>
+ * 파일 앞에 비트 수(long)와 해시 함수 수(int)를 기록하고, 설정이 바뀌어 크기가 다르면 읽지 않는다.
+ */
+@Slf4j
+public class FileBloomFilterStore implements BloomFilterStore {
+    private static final int HEADER = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+
+    public FileBloomFilterStore(String path) {
+        this.path = Paths.get(path);
+    }
+
+    @Nullable
+    @Override
+    public byte[] load(BloomFilter filter) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.remaining() < HEADER || buffer.getLong() != filter.bitSize() || buffer.getInt() != filter.numHashes()) {
+                log.info("상품 id 필터 스냅샷의 크기가 현재 설정과 달라 사용하지 않습니다. path={}", path);
+                return null;
+            }
+            byte[] bits = new byte[buffer.remaining()];
+            buffer.get(bits);
+            return bits;
+        } catch (IOException e) {
+            log.warn("상품 id 필터 스냅샷을 읽지 못했습니다. path={}", path, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void save(BloomFilter filter) {
+        byte[] bits = filter.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + bits.length)
+                .putLong(filter.bitSize())
+                .putInt(filter.numHashes())
+                .put(bits);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "product-ids", ".tmp");
+            Files.write(temp, buffer.array());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void added(BloomFilter filter, long[] bitIndexes) {
+        // 다음 sync 에서 한꺼번에 저장
+    }
+
+    @Override
+    public boolean containsAll(BloomFilter filter, long[] bitIndexes) {
+        // 파일을 쓰는 인스턴스는 하나뿐이므로 로컬 필터가 전부다
+        return false;
+    }
+
+    @Override
+    public void sync(BloomFilter filter) {
+        save(filter);
+    }
+}
@@ -0,0 +1,99 @@
+package pro.developia.cache.penetration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 없는 상품 id 로 캐시를 계속 MISS 시키는 요청(cache penetration)을 로더 앞에서 걸러낸다
+ * <p>
+ * 1. 상품 id 필터가 없다고 하면 바로 거절
+ * 2. 필터를 통과했지만 최근 로더가 없다고 확인한 id 는 짧은 TTL 의 부재 결과 캐시로 거절
+ * <p>
+ * 필터를 통과한 없는 id 는 모두 오탐이므로, 오탐률 = 오탐 / (오탐 + 필터 거절) 로 실제 값을 보고한다.
+ */
+@Component
+public class PenetrationGuard {
+    private final ProductIdFilter productIdFilter;
+    private final Cache<Long, Boolean> missingIds;
+
+    private final Counter filterRejected;
+    private final Counter negativeCacheHits;
+    private final Counter falsePositives;
+
+    @Autowired
+    public PenetrationGuard(ProductIdFilter productIdFilter, PenetrationProperties properties, MeterRegistry meterRegistry) {
+        this(productIdFilter, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    PenetrationGuard(ProductIdFilter productIdFilter, PenetrationProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.productIdFilter = productIdFilter;
+        this.missingIds = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaxEntries())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .ticker(ticker)
+                .build();
+
+        this.filterRejected = Counter.builder("product.loads.avoided")
+                .tag("reason", "filter")
+                .register(meterRegistry);
+        this.negativeCacheHits = Counter.builder("product.loads.avoided")
+                .tag("reason", "negative-cache")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("product.filter.false.positives")
+                .description("필터를 통과했지만 존재하지 않는 id")
+                .register(meterRegistry);
+        Gauge.builder("product.filter.false.positive.rate", this, PenetrationGuard::observedFalsePositiveRate)
+                .description("존재하지 않는 id 중 필터를 통과한 비율")
+                .register(meterRegistry);
+        Gauge.builder("product.negative.cache.size", missingIds, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * true 면 없는 것이 확실하므로 로더를 호출하지 않는다
+     */
+    public boolean isKnownMissing(Long id) {
+        if (!productIdFilter.mightContain(id)) {
+            filterRejected.increment();
+            return true;
+        }
+        if (missingIds.getIfPresent(id) != null) {
+            negativeCacheHits.increment();
+            if (productIdFilter.isEnabled()) {
+                falsePositives.increment();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 로더가 없다고 확인한 id
+     */
+    public void recordMissing(Long id) {
+        missingIds.put(id, Boolean.TRUE);
+        if (productIdFilter.isEnabled()) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * 새로 생긴 상품, 부재 결과 TTL 을 기다리지 않고 바로 조회되도록 한다
+     */
+    public void recordCreated(Long id) {
+        missingIds.invalidate(id);
+        productIdFilter.add(id);
+    }
+
+    double observedFalsePositiveRate() {
+        double positives = falsePositives.count();
+        double total = positives + filterRejected.count();
+        return total == 0 ? 0 : positives / total;
+    }
+}
@@ -0,0 +1,55 @@
+package pro.developia.cache.penetration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.penetration")
+public class PenetrationProperties {
+    /**
+     * "없는 상품" 결과를 기억하는 시간, 새로 등록된 상품이 이 시간 동안 404 로 보일 수 있으므로 짧게 둔다
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /**
+     * 부재 결과 캐시의 최대 id 수
+     */
+    private long negativeMaxEntries = 100_000;
+
+    private final Filter filter = new Filter();
+
+    @Getter
+    @Setter
+    public static class Filter {
+        private boolean enabled = true;
+
+        /**
+         * 필터 크기를 정하는 예상 상품 수, 실제 상품 수가 이를 넘으면 오탐률이 올라간다
+         */
+        private long expectedInsertions = 1_000_000;
+
+        /**
+         * 목표 오탐률
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * redis 프로필이 아닐 때 필터 비트를 저장하는 파일
+         */
+        private String snapshotPath = System.getProperty("java.io.tmpdir") + "/pro-02-cache/product-ids.bloom";
+
+        /**
+         * redis 프로필에서 필터 비트를 공유하는 키 prefix, 뒤에 비트 수와 해시 함수 수가 붙는다
+         */
+        private String redisKey = "products:bloom";
+
+        /**
+         * 스냅샷 저장/공유 주기 (@Scheduled 에서 직접 참조)
+         */
+        private Duration syncInterval = Duration.ofSeconds(30);
+    }
+}
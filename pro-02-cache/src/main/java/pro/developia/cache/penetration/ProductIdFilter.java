@@ -0,0 +1,144 @@
+package pro.developia.cache.penetration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pro.developia.cache.product.ProductService;
+
+/**
+ * 존재하는 상품 id 의 Bloom filter
+ * <p>
+ * false 면 확실히 없는 id, true 면 있을 수도 있는 id. 기동 시에는 항상 DB 의 전체 id(반영 대기 중인 생성 포함)로 만들고,
+ * 저장소의 스냅샷은 그 위에 OR 로 합친다. 스냅샷은 주기적으로만 저장되므로 스냅샷만으로 복원하면
+ * 마지막 저장 이후 생긴 상품이 빠져 실제 상품이 없는 상품으로 판정된다. (false negative)
+ * 새 상품은 {@link #add(long)} 로 바로 반영한다. 로컬 필터가 없다고 한 id 는 저장소에 한 번 더 확인하므로
+ * 다른 인스턴스가 추가하고 아직 sync 되지 않은 id 도 없는 상품으로 판정하지 않는다.
+ * 비트는 켜지기만 하므로 삭제된 id 는 필터에 남고, 오탐으로 부재 결과 캐시가 걸러낸다.
+ */
+@Slf4j
+@Component
+public class ProductIdFilter {
+    private final PenetrationProperties.Filter properties;
+    private final BloomFilterStore store;
+    private final ProductService productService;
+
+    private volatile BloomFilter filter;
+
+    public ProductIdFilter(PenetrationProperties properties, BloomFilterStore store, ProductService productService, MeterRegistry meterRegistry) {
+        this.properties = properties.getFilter();
+        this.store = store;
+        this.productService = productService;
+
+        Gauge.builder("product.filter.false.positive.rate.expected", this, f -> f.filter != null ? f.filter.expectedFalsePositiveRate() : Double.NaN)
+                .description("채워진 비트 비율로 추정한 오탐률")
+                .register(meterRegistry);
+        Gauge.builder("product.filter.bits.set", this, f -> f.filter != null ? f.filter.bitCount() : Double.NaN)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 웹 서버가 요청을 받기 전에 준비되어야 하므로 ApplicationRunner 가 아닌 초기화 콜백에서 만든다
+     */
+    @PostConstruct
+    public void initialize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        byte[] snapshot = null;
+        try {
+            snapshot = store.load(newFilter());
+        } catch (RuntimeException e) {
+            log.warn("상품 id 필터 스냅샷을 불러오지 못했습니다. DB 만으로 만듭니다.", e);
+        }
+        // 다른 인스턴스가 추가했지만 아직 DB 에 없는 id 를 잃지 않도록 공유 스냅샷을 합친다
+        build(snapshot);
+    }
+
+    /**
+     * 종료 시 마지막 sync 이후 추가된 id 를 저장소에 남긴다
+     */
+    @PreDestroy
+    public void close() {
+        sync();
+    }
+
+    private void build(@Nullable byte[] snapshot) {
+        BloomFilter built = newFilter();
+        if (snapshot != null) {
+            built.merge(snapshot);
+        }
+        productService.findAllIds().forEach(built::put);
+        filter = built;
+        log.info("상품 id 필터를 DB 에서 만들었습니다. bits={}, hashes={}, 예상 오탐률={}",
+                built.bitSize(), built.numHashes(), built.expectedFalsePositiveRate());
+        try {
+            store.save(built);
+        } catch (RuntimeException e) {
+            log.warn("상품 id 필터 스냅샷을 저장하지 못했습니다.", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean mightContain(long id) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(id)) {
+            return true;
+        }
+        try {
+            if (!store.containsAll(current, current.bitIndexes(id))) {
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // 확인하지 못하면 거절하지 않는다, 없는 id 면 로더와 부재 결과 캐시가 처리한다
+            log.debug("상품 id 필터를 저장소에서 확인하지 못했습니다. id={}", id, e);
+            return true;
+        }
+        // 다음 sync 전까지 같은 id 로 저장소를 다시 확인하지 않도록 로컬에도 켠다
+        current.put(id);
+        return true;
+    }
+
+    /**
+     * 새로 생긴 상품 id 를 반영
+     */
+    public void add(long id) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        if (current.put(id)) {
+            try {
+                store.added(current, current.bitIndexes(id));
+            } catch (RuntimeException e) {
+                // 로컬에는 반영되었고, 다음 sync 때 저장소에도 반영된다
+                log.warn("상품 id 필터 변경을 저장소에 반영하지 못했습니다. id={}", id, e);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${cache.penetration.filter.sync-interval:PT30S}",
+            fixedDelayString = "${cache.penetration.filter.sync-interval:PT30S}")
+    public void sync() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        try {
+            store.sync(current);
+        } catch (RuntimeException e) {
+            log.warn("상품 id 필터를 저장소와 동기화하지 못했습니다.", e);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return BloomFilter.create(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+    }
+}
@@ -0,0 +1,80 @@
+package pro.developia.cache.penetration;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 여러 인스턴스가 Redis 비트맵 하나를 공유한다
+ * <p>
+ * 추가된 id 의 비트는 바로 SETBIT 으로 반영하고, sync 때 Redis 비트를 로컬에 OR 로 합친 뒤 합친 결과를 다시 SET 한다.
+ * 비트는 켜지기만 하므로 그 사이 다른 인스턴스의 SETBIT 을 덮어써도 해당 인스턴스의 다음 sync 에서 다시 반영된다.
+ * 조회는 로컬 필터로 하고, 로컬 필터가 없다고 한 id 만 GETBIT 으로 공유 비트를 확인한다.
+ * 다른 인스턴스가 방금 추가한 id 를 sync 전까지 없는 상품으로 판정하지 않기 위해서다. (false negative)
+ */
+public class RedisBloomFilterStore implements BloomFilterStore {
+    private final RedisConnectionFactory connectionFactory;
+    private final String keyPrefix;
+
+    public RedisBloomFilterStore(RedisConnectionFactory connectionFactory, String keyPrefix) {
+        this.connectionFactory = connectionFactory;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Nullable
+    @Override
+    public byte[] load(BloomFilter filter) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return connection.stringCommands().get(key(filter));
+        }
+    }
+
+    @Override
+    public void save(BloomFilter filter) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.stringCommands().set(key(filter), filter.toByteArray());
+        }
+    }
+
+    @Override
+    public void added(BloomFilter filter, long[] bitIndexes) {
+        byte[] key = key(filter);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (long index : bitIndexes) {
+                connection.stringCommands().setBit(key, index, true);
+            }
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public boolean containsAll(BloomFilter filter, long[] bitIndexes) {
+        byte[] key = key(filter);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (long index : bitIndexes) {
+                connection.stringCommands().getBit(key, index);
+            }
+            return connection.closePipeline().stream().allMatch(Boolean.TRUE::equals);
+        }
+    }
+
+    @Override
+    public void sync(BloomFilter filter) {
+        byte[] remote = load(filter);
+        if (remote != null) {
+            filter.merge(remote);
+        }
+        save(filter);
+    }
+
+    /**
+     * 설정이 다른 인스턴스와 비트를 섞지 않도록 크기를 키에 포함
+     */
+    private byte[] key(BloomFilter filter) {
+        return (keyPrefix + ":" + filter.bitSize() + ":" + filter.numHashes()).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,18 +1,41 @@
 package pro.developia.cache.product;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.With;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * 캐시에 저장되고 그대로 공유되는 불변 상품 스냅샷
+ * <p>
+ * 모든 provider 가 같은 인스턴스를 참조로 돌려주므로 (store-by-value 복사 없음) 값을 바꾸려면 with* 로 새 스냅샷을 만들어 다시 put 한다.
+ * 필드가 모두 final 이라 하위 클래스도 값을 바꿀 수 없다. 클래스를 final 로 두지 않는 것은
+ * Redis JSON 직렬화의 NON_FINAL default typing 이 @class 타입 정보를 계속 기록하도록 하기 위해서다.
+ */
+@Getter
+@With
+@ToString
+@EqualsAndHashCode
 public class Product {
-    private Long id;
-    private String name;
-    private BigDecimal price;
-    private LocalDateTime createdAt;
+    private final Long id;
+    private final String name;
+    private final BigDecimal price;
+    private final LocalDateTime createdAt;
+
+    // Redis 직렬화용 ObjectMapper 에는 parameter names 모듈이 없으므로 프로퍼티 이름을 직접 지정한다
+    @JsonCreator
+    public Product(@JsonProperty("id") Long id,
+                   @JsonProperty("name") String name,
+                   @JsonProperty("price") BigDecimal price,
+                   @JsonProperty("createdAt") LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.createdAt = createdAt;
+    }
 }
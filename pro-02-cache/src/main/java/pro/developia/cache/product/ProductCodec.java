@@ -0,0 +1,136 @@
+package pro.developia.cache.product;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Product 를 클래스 메타데이터 없이 고정 순서의 바이트로 packing
+ * <p>
+ * 필드 순서: null 플래그(byte) / id(long) / price(scale int + unscaled 길이 byte + bytes) /
+ * createdAt(epoch second long + nano int) / name(UTF-8 길이 unsigned short + bytes)
+ * <p>
+ * ByteBuffer 의 position 을 바꾸지 않는 절대 위치 연산만 사용하므로 off-heap 버퍼를 그대로 넘겨도 된다.
+ */
+public final class ProductCodec {
+    private static final int ID = 1;
+    private static final int NAME = 1 << 1;
+    private static final int PRICE = 1 << 2;
+    private static final int CREATED_AT = 1 << 3;
+
+    private static final int MAX_UNSCALED_LENGTH = 0xFF;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private ProductCodec() {
+    }
+
+    /**
+     * 인코딩 결과 크기, 표현할 수 없는 값이면 -1
+     */
+    public static int encodedSize(Product product) {
+        byte[] name = product.getName() != null ? product.getName().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] unscaled = product.getPrice() != null ? product.getPrice().unscaledValue().toByteArray() : null;
+        return encodedSize(product, name, unscaled);
+    }
+
+    /**
+     * offset 부터 최대 maxLength 바이트에 기록하고 기록한 바이트 수를 반환, 공간이 부족하면 아무것도 쓰지 않고 -1
+     */
+    public static int encode(Product product, ByteBuffer buffer, int offset, int maxLength) {
+        byte[] name = product.getName() != null ? product.getName().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] unscaled = product.getPrice() != null ? product.getPrice().unscaledValue().toByteArray() : null;
+        int size = encodedSize(product, name, unscaled);
+        if (size < 0 || size > maxLength) {
+            return -1;
+        }
+
+        int flags = (product.getId() != null ? ID : 0)
+                | (name != null ? NAME : 0)
+                | (unscaled != null ? PRICE : 0)
+                | (product.getCreatedAt() != null ? CREATED_AT : 0);
+        int position = offset;
+        buffer.put(position++, (byte) flags);
+        if (product.getId() != null) {
+            buffer.putLong(position, product.getId());
+            position += Long.BYTES;
+        }
+        if (unscaled != null) {
+            buffer.putInt(position, product.getPrice().scale());
+            position += Integer.BYTES;
+            buffer.put(position++, (byte) unscaled.length);
+            buffer.put(position, unscaled);
+            position += unscaled.length;
+        }
+        if (product.getCreatedAt() != null) {
+            buffer.putLong(position, product.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            position += Long.BYTES;
+            buffer.putInt(position, product.getCreatedAt().getNano());
+            position += Integer.BYTES;
+        }
+        if (name != null) {
+            buffer.putShort(position, (short) name.length);
+            position += Short.BYTES;
+            buffer.put(position, name);
+            position += name.length;
+        }
+        return position - offset;
+    }
+
+    public static Product decode(ByteBuffer buffer, int offset) {
+        int position = offset;
+        int flags = buffer.get(position++);
+        Long id = null;
+        BigDecimal price = null;
+        LocalDateTime createdAt = null;
+        String name = null;
+        if ((flags & ID) != 0) {
+            id = buffer.getLong(position);
+            position += Long.BYTES;
+        }
+        if ((flags & PRICE) != 0) {
+            int scale = buffer.getInt(position);
+            position += Integer.BYTES;
+            byte[] unscaled = new byte[Byte.toUnsignedInt(buffer.get(position++))];
+            buffer.get(position, unscaled);
+            position += unscaled.length;
+            price = new BigDecimal(new BigInteger(unscaled), scale);
+        }
+        if ((flags & CREATED_AT) != 0) {
+            long epochSecond = buffer.getLong(position);
+            position += Long.BYTES;
+            int nano = buffer.getInt(position);
+            position += Integer.BYTES;
+            createdAt = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+        if ((flags & NAME) != 0) {
+            byte[] nameBytes = new byte[Short.toUnsignedInt(buffer.getShort(position))];
+            position += Short.BYTES;
+            buffer.get(position, nameBytes);
+            name = new String(nameBytes, StandardCharsets.UTF_8);
+        }
+        return new Product(id, name, price, createdAt);
+    }
+
+    private static int encodedSize(Product product, byte[] name, byte[] unscaled) {
+        if ((name != null && name.length > MAX_NAME_LENGTH) || (unscaled != null && unscaled.length > MAX_UNSCALED_LENGTH)) {
+            return -1;
+        }
+        int size = 1;
+        if (product.getId() != null) {
+            size += Long.BYTES;
+        }
+        if (unscaled != null) {
+            size += Integer.BYTES + 1 + unscaled.length;
+        }
+        if (product.getCreatedAt() != null) {
+            size += Long.BYTES + Integer.BYTES;
+        }
+        if (name != null) {
+            size += Short.BYTES + name.length;
+        }
+        return size;
+    }
+}
@@ -1,17 +1,72 @@
 package pro.developia.cache.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import pro.developia.cache.penetration.PenetrationGuard;
+import pro.developia.cache.response.ProductResponseCache;
+import pro.developia.cache.trace.AccessTraceRecorder;
+import pro.developia.cache.warmup.HotKeyTracker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final HotKeyTracker hotKeyTracker;
+    private final PenetrationGuard penetrationGuard;
+    private final AccessTraceRecorder accessTraceRecorder;
+    private final ProductResponseCache productResponseCache;
 
     @GetMapping("/products/{id}")
-    public Product getProductById(@PathVariable("id") Long id) {
-        return productService.findProductById(id);
+    public CompletableFuture<Product> getProductById(@PathVariable("id") Long id) {
+        // 없는 것이 확실한 id 는 캐시와 로더를 거치지 않는다
+        if (penetrationGuard.isKnownMissing(id)) {
+            throw new ProductNotFoundException(id);
+        }
+        hotKeyTracker.record(id);
+        // MISS 여도 요청 스레드는 바로 반환되고, 로드가 끝나면 async dispatch 로 응답한다
+        return productService.findProductByIdAsync(id).whenComplete((product, ex) -> {
+            // @Cacheable 프록시가 HIT 이면 ProductService 본문을 건너뛰므로 조회 로그는 호출하는 쪽에서 남긴다
+            // 엔트리 크기를 함께 남기도록 상품이 정해진 뒤에 기록한다 (MISS 면 로드가 끝난 시각)
+            accessTraceRecorder.record(id, product);
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof ProductNotFoundException) {
+                penetrationGuard.recordMissing(id);
+            }
+        });
+    }
+
+    @PostMapping("/products")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Product createProduct(@RequestBody Product product) {
+        Product created = productService.createProduct(product);
+        penetrationGuard.recordCreated(created.getId());
+        return created;
+    }
+
+    @PutMapping("/products/{id}")
+    public Product updateProduct(@PathVariable("id") Long id, @RequestBody Product product) {
+        Product updated = productService.updateProduct(id, product);
+        penetrationGuard.recordCreated(id);
+        // @CachePut 이 products 캐시에 반영된 뒤에 지워야, 그 사이 MISS 가 이전 상품으로 응답 캐시를 다시 채우지 않는다
+        productResponseCache.evict(id);
+        return updated;
+    }
+
+    @DeleteMapping("/products/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteProduct(@PathVariable("id") Long id) {
+        productService.deleteProduct(id);
+        productResponseCache.evict(id);
     }
 }
@@ -0,0 +1,11 @@
+package pro.developia.cache.product;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(Long id) {
+        super(id + "번 상품이 존재하지 않습니다.");
+    }
+}
@@ -0,0 +1,153 @@
+package pro.developia.cache.product;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * DB 를 흉내 내는 저장소
+ * <p>
+ * 1 ~ catalogSize 번 상품은 처음부터 있다고 가정하고, 이후 저장/삭제된 상품만 메모리에 기록한다.
+ * 조회와 쓰기는 호출 한 번마다 DB 왕복 시간만큼 지연되며, findAllById/saveAll/deleteAll 은 건수와 관계없이 한 번의 왕복으로 본다.
+ */
+@Slf4j
+@Repository
+public class ProductRepository {
+    private final long catalogSize;
+    private final Duration readLatency;
+    private final Duration writeLatency;
+
+    private final Map<Long, Product> saved = new ConcurrentHashMap<>();
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence;
+    private final AtomicLong readCalls = new AtomicLong();
+    private final AtomicLong writeCalls = new AtomicLong();
+
+    public ProductRepository(@Value("${product.catalog-size:100000}") long catalogSize,
+                             @Value("${product.repository.read-latency:PT2S}") Duration readLatency,
+                             @Value("${product.repository.write-latency:PT0.02S}") Duration writeLatency) {
+        this.catalogSize = catalogSize;
+        this.readLatency = readLatency;
+        this.writeLatency = writeLatency;
+        this.sequence = new AtomicLong(catalogSize);
+    }
+
+    public Optional<Product> findById(Long id) {
+        sleep(readLatency);
+        readCalls.incrementAndGet();
+        return find(id);
+    }
+
+    /**
+     * 여러 id 를 한 번의 왕복으로 조회한다 (WHERE id IN (...)), 없는 id 는 결과에서 빠진다
+     */
+    public List<Product> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        sleep(readLatency);
+        readCalls.incrementAndGet();
+        return ids.stream()
+                .map(this::find)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private Optional<Product> find(Long id) {
+        if (id == null || deleted.contains(id)) {
+            return Optional.empty();
+        }
+        Product product = saved.get(id);
+        if (product != null) {
+            return Optional.of(product);
+        }
+        if (id < 1 || id > catalogSize) {
+            return Optional.empty();
+        }
+        return Optional.of(new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.now()));
+    }
+
+    /**
+     * 존재하는 모든 상품 id
+     */
+    public LongStream findAllIds() {
+        return LongStream.concat(
+                LongStream.rangeClosed(1, catalogSize).filter(id -> !deleted.contains(id) && !saved.containsKey(id)),
+                saved.keySet().stream().mapToLong(Long::longValue));
+    }
+
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    public void save(Product product) {
+        saveAll(List.of(product));
+    }
+
+    public void saveAll(Collection<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        sleep(writeLatency);
+        writeCalls.incrementAndGet();
+        for (Product product : products) {
+            saved.put(product.getId(), product);
+            deleted.remove(product.getId());
+            // 저널 복구로 저장된 id 와 겹치지 않도록
+            sequence.accumulateAndGet(product.getId(), Math::max);
+        }
+    }
+
+    public void deleteById(Long id) {
+        deleteAllById(List.of(id));
+    }
+
+    public void deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        sleep(writeLatency);
+        writeCalls.incrementAndGet();
+        for (Long id : ids) {
+            saved.remove(id);
+            deleted.add(id);
+        }
+    }
+
+    /**
+     * 지금까지의 조회 왕복 횟수
+     */
+    public long readCalls() {
+        return readCalls.get();
+    }
+
+    /**
+     * 지금까지의 쓰기 왕복 횟수
+     */
+    public long writeCalls() {
+        return writeCalls.get();
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,23 +1,103 @@
 package pro.developia.cache.product;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import pro.developia.cache.batch.MissBatcher;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
 
 @Slf4j
 @Service
 public class ProductService {
-    @Cacheable(value = "products", key = "#id")
+    private final ProductRepository productRepository;
+    private final ProductWriter productWriter;
+    private final MissBatcher<Long, Product> productMissBatcher;
+
+    /**
+     * @param productMissBatcher 서로 다른 id 의 동시 MISS 를 모아 한 번에 DB 에서 로드하는 로더, 로드는 applicationTaskExecutor 에서 실행된다
+     */
+    public ProductService(ProductRepository productRepository,
+                          ProductWriter productWriter,
+                          MissBatcher<Long, Product> productMissBatcher) {
+        this.productRepository = productRepository;
+        this.productWriter = productWriter;
+        this.productMissBatcher = productMissBatcher;
+    }
+
+    // sync: 동시 MISS 시 한 번만 로드하고, Cache.get(key, loader) 경로를 타므로 캐시 계층에서 로드 시간을 측정할 수 있다
+    // 없는 상품은 예외로 끝나므로 캐시되지 않는다 (sync 모드는 unless 를 지원하지 않음), 부재 결과는 PenetrationGuard 가 따로 캐시한다
+    @Cacheable(value = "products", key = "#id", sync = true)
     public Product findProductById(Long id) {
         try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return load(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 같은 products 캐시를 Cache.retrieve(key, loader) 로 조회한다, 이 메서드는 MISS 일 때만 실행된다
+    // DB 조회는 productMissBatcher 의 executor 에서 기다리므로 cold key 가 몰려도 요청 스레드를 잡고 있지 않는다
+    @Cacheable(value = "products", key = "#id", sync = true)
+    public CompletableFuture<Product> findProductByIdAsync(Long id) {
+        return load(id);
+    }
+
+    // 캐시에는 바로 반영하고, 저장소 반영은 ProductWriter 에 맡긴다
+    // Product 는 캐시가 참조로 공유하는 불변 스냅샷이므로 변경은 with* 로 만든 새 스냅샷을 CachePut 한다
+    @CachePut(value = "products", key = "#result.id")
+    public Product createProduct(Product product) {
+        Product created = product.withId(productRepository.nextId()).withCreatedAt(LocalDateTime.now());
+        productWriter.write(ProductWrite.upsert(created));
+        return created;
+    }
+
+    @CachePut(value = "products", key = "#id")
+    public Product updateProduct(Long id, Product product) {
+        LocalDateTime createdAt = product.getCreatedAt() != null ? product.getCreatedAt() : LocalDateTime.now();
+        Product updated = product.withId(id).withCreatedAt(createdAt);
+        productWriter.write(ProductWrite.upsert(updated));
+        return updated;
+    }
+
+    @CacheEvict(value = "products", key = "#id")
+    public void deleteProduct(Long id) {
+        productWriter.write(ProductWrite.delete(id));
+    }
+
+    /**
+     * 존재하는 모든 상품 id, 상품 id 필터를 다시 만들 때 사용
+     * 아직 저장소에 반영되지 않은 생성도 포함한다. (write-behind 저널에서 복구된 변경 포함)
+     */
+    public LongStream findAllIds() {
+        return LongStream.concat(productRepository.findAllIds(), productWriter.pendingUpsertIds());
+    }
+
+    private CompletableFuture<Product> load(Long id) {
+        // 아직 저장소에 반영되지 않은 변경이 있으면 저장소의 이전 값 대신 사용
+        ProductWrite pending = productWriter.pending(id);
+        if (pending != null) {
+            if (pending.isDelete()) {
+                return CompletableFuture.failedFuture(new ProductNotFoundException(id));
+            }
+            return CompletableFuture.completedFuture(pending.product());
         }
-        log.info("{}번 상품을 DB에서 조회합니다.", id);
-        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.now());
+        // window 안에 들어온 다른 id 의 MISS 와 함께 findAllById 한 번으로 조회된다
+        return productMissBatcher.load(id).thenApply(product -> {
+            if (product == null) {
+                log.info("{}번 상품은 DB에 없습니다.", id);
+                throw new ProductNotFoundException(id);
+            }
+            log.info("{}번 상품을 DB에서 조회합니다.", id);
+            return product;
+        });
     }
 }
@@ -0,0 +1,21 @@
+package pro.developia.cache.product;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * 저장소에 반영할 상품 변경, product 가 null 이면 삭제
+ */
+public record ProductWrite(Long id, @Nullable Product product) {
+
+    public static ProductWrite upsert(Product product) {
+        return new ProductWrite(product.getId(), product);
+    }
+
+    public static ProductWrite delete(Long id) {
+        return new ProductWrite(id, null);
+    }
+
+    public boolean isDelete() {
+        return product == null;
+    }
+}
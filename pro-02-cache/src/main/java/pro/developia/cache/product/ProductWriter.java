@@ -0,0 +1,26 @@
+package pro.developia.cache.product;
+
+import org.springframework.lang.Nullable;
+
+import java.util.stream.LongStream;
+
+/**
+ * 상품 변경을 저장소에 반영하는 방식 (write-through / write-behind)
+ */
+public interface ProductWriter {
+
+    void write(ProductWrite write);
+
+    /**
+     * 아직 저장소에 반영되지 않은 변경, 로더가 저장소보다 먼저 확인한다
+     */
+    @Nullable
+    ProductWrite pending(Long id);
+
+    /**
+     * 아직 저장소에 반영되지 않은 생성/수정의 id
+     */
+    default LongStream pendingUpsertIds() {
+        return LongStream.empty();
+    }
+}
@@ -0,0 +1,35 @@
+package pro.developia.cache.product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.Nullable;
+
+/**
+ * 요청 스레드에서 바로 저장소에 쓴다
+ */
+public class WriteThroughProductWriter implements ProductWriter {
+    private final ProductRepository productRepository;
+    private final Timer writeTimer;
+
+    public WriteThroughProductWriter(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.writeTimer = Timer.builder("product.write").tag("mode", "write-through").register(meterRegistry);
+    }
+
+    @Override
+    public void write(ProductWrite write) {
+        writeTimer.record(() -> {
+            if (write.isDelete()) {
+                productRepository.deleteById(write.id());
+            } else {
+                productRepository.save(write.product());
+            }
+        });
+    }
+
+    @Nullable
+    @Override
+    public ProductWrite pending(Long id) {
+        return null;
+    }
+}
@@ -0,0 +1,391 @@
+package pro.developia.cache.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 캐시 MISS 후의 SET 을 요청 스레드에서 떼어내 큐에 쌓고, 별도 스레드가 모아서 파이프라인으로 전송하는 RedisCacheWriter
+ * <p>
+ * 조회/삭제는 delegate 로 위임하고, 아직 전송되지 않은 쓰기는 pending 맵에서 먼저 찾아 read-your-writes 를 보장한다.
+ * 같은 키에 대한 중복 쓰기는 마지막 값만 전송된다.
+ * 전송 여부 확인부터 파이프라인 전송까지와 삭제는 키별 stripe lock 으로 배타적으로 실행되어, 늦게 도착한 SET 이 삭제를 되돌리지 않는다.
+ */
+@Slf4j
+public class AsyncRedisCacheWriter implements RedisCacheWriter, AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+    private static final int LOCK_STRIPES = 64;
+
+    private volatile RedisCacheWriter delegate;
+    private final RedisConnectionFactory connectionFactory;
+    private final AsyncRedisWriteProperties properties;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final ConcurrentMap<PendingKey, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Timer asyncPutTimer;
+    private final Timer syncPutTimer;
+    private final Timer flushTimer;
+    private final Counter droppedCounter;
+    private final Counter retriedCounter;
+
+    public AsyncRedisCacheWriter(RedisCacheWriter delegate,
+                                 RedisConnectionFactory connectionFactory,
+                                 AsyncRedisWriteProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this(delegate, connectionFactory, properties, meterRegistry, Tags.empty());
+    }
+
+    /**
+     * @param tags 노드마다 writer 를 따로 둘 때(shard) 메트릭을 구분할 태그
+     */
+    public AsyncRedisCacheWriter(RedisCacheWriter delegate,
+                                 RedisConnectionFactory connectionFactory,
+                                 AsyncRedisWriteProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 Tags tags) {
+        this.delegate = delegate;
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        // 요청 스레드에서 쓰기에 소요된 시간을 mode 별로 기록하여 동기/비동기 차이를 비교
+        this.asyncPutTimer = Timer.builder("cache.redis.write").tags(tags).tag("mode", "async").register(meterRegistry);
+        this.syncPutTimer = Timer.builder("cache.redis.write").tags(tags).tag("mode", "sync").register(meterRegistry);
+        this.flushTimer = Timer.builder("cache.redis.flush").tags(tags).register(meterRegistry);
+        this.droppedCounter = Counter.builder("cache.redis.write.dropped").tags(tags).register(meterRegistry);
+        this.retriedCounter = Counter.builder("cache.redis.write.retried").tags(tags).register(meterRegistry);
+        Gauge.builder("cache.redis.write.queue", queue, BlockingQueue::size).tags(tags).register(meterRegistry);
+
+        this.flusher = Thread.ofPlatform()
+                .name("redis-cache-flusher")
+                .daemon(true)
+                .start(this::flushLoop);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        PendingWrite write = pending.get(new PendingKey(name, key));
+        return write != null ? write.value : delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, @Nullable Duration ttl) {
+        PendingWrite write = pending.get(new PendingKey(name, key));
+        return write != null ? write.value : delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, @Nullable Duration ttl) {
+        PendingWrite write = pending.get(new PendingKey(name, key));
+        return write != null ? CompletableFuture.completedFuture(write.value) : delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        enqueue(name, key, value, ttl);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return enqueue(name, key, value, ttl).future;
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        // 원자성이 필요하므로 동기로 처리
+        PendingWrite write = pending.get(new PendingKey(name, key));
+        if (write != null) {
+            return write.value;
+        }
+        return delegate.putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        // 전송 중인 SET 이 있으면 끝날 때까지 기다린 뒤 DEL 하고, 아직 보내지 않은 SET 은 flusher 가 건너뛰게 한다
+        PendingKey pendingKey = new PendingKey(name, key);
+        ReentrantLock lock = stripe(pendingKey);
+        lock.lock();
+        try {
+            pending.remove(pendingKey);
+        } finally {
+            lock.unlock();
+        }
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+        try {
+            pending.keySet().removeIf(pendingKey -> pendingKey.cacheName().equals(name));
+        } finally {
+            for (ReentrantLock lock : stripes) {
+                lock.unlock();
+            }
+        }
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        // flusher 스레드와 큐를 공유해야 하므로 새 인스턴스를 만들지 않고 delegate 만 교체
+        this.delegate = delegate.withStatisticsCollector(cacheStatisticsCollector);
+        return this;
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    /**
+     * 전송 대기 중인 쓰기 수
+     */
+    public int pendingWrites() {
+        return queue.size();
+    }
+
+    private PendingWrite enqueue(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        long start = System.nanoTime();
+        PendingWrite write = new PendingWrite(name, key, value, ttl);
+        pending.put(write.pendingKey, write);
+        try {
+            if (running && queue.offer(write, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                asyncPutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return write;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 큐가 가득 찼으면 호출 스레드에서 직접 기록하여 생산 속도를 늦춘다
+        writeSync(write);
+        syncPutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return write;
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getBatchSize() - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // close() 에서 깨운 경우, 남은 쓰기는 running=false 상태로 마저 비운다
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Redis 캐시 쓰기 배치 처리 중 예외가 발생했습니다.", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // 배치에 포함된 키의 stripe 를 번호 순서로 잡아 remove/clean 과의 교착 없이 전송이 끝날 때까지 삭제를 막는다
+        boolean[] locked = new boolean[LOCK_STRIPES];
+        for (PendingWrite write : batch) {
+            locked[stripeIndex(write.pendingKey)] = true;
+        }
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            if (locked[i]) {
+                stripes[i].lock();
+            }
+        }
+
+        List<PendingWrite> current = new ArrayList<>(batch.size());
+        RuntimeException failure = null;
+        try {
+            // 전송 전에 더 최신 쓰기로 덮였거나 삭제된 항목은 제외
+            for (PendingWrite write : batch) {
+                if (pending.get(write.pendingKey) == write) {
+                    current.add(write);
+                } else {
+                    write.future.complete(null);
+                }
+            }
+            if (current.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                for (PendingWrite write : current) {
+                    connection.stringCommands().set(write.key, write.value, expiration(write.ttl), SetOption.upsert());
+                }
+                connection.closePipeline();
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                current.forEach(this::complete);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        } finally {
+            for (int i = LOCK_STRIPES - 1; i >= 0; i--) {
+                if (locked[i]) {
+                    stripes[i].unlock();
+                }
+            }
+        }
+
+        if (failure != null) {
+            log.warn("Redis 캐시 쓰기 {}건 전송에 실패했습니다. policy={}", current.size(), properties.getFailurePolicy(), failure);
+            handleFailure(current, failure);
+        }
+    }
+
+    private void handleFailure(List<PendingWrite> failed, RuntimeException cause) {
+        for (PendingWrite write : failed) {
+            switch (properties.getFailurePolicy()) {
+                case DROP -> drop(write, cause);
+                case RETRY -> {
+                    if (++write.attempts <= properties.getMaxRetries() && queue.offer(write)) {
+                        retriedCounter.increment();
+                    } else {
+                        drop(write, cause);
+                    }
+                }
+                case SYNC_FALLBACK -> {
+                    try {
+                        writeSync(write);
+                    } catch (RuntimeException e) {
+                        log.warn("Redis 캐시 동기 재기록에 실패했습니다. cache={}", write.cacheName, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeSync(PendingWrite write) {
+        ReentrantLock lock = stripe(write.pendingKey);
+        lock.lock();
+        try {
+            // flush 와 같은 규칙: 그사이 삭제되었거나 더 최신 쓰기가 있으면 기록하지 않는다
+            if (pending.get(write.pendingKey) != write) {
+                write.future.complete(null);
+                return;
+            }
+            delegate.put(write.cacheName, write.key, write.value, write.ttl);
+            complete(write);
+        } catch (RuntimeException e) {
+            drop(write, e);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripe(PendingKey pendingKey) {
+        return stripes[stripeIndex(pendingKey)];
+    }
+
+    private static int stripeIndex(PendingKey pendingKey) {
+        return Math.floorMod(pendingKey.hashCode(), LOCK_STRIPES);
+    }
+
+    private void complete(PendingWrite write) {
+        pending.remove(write.pendingKey, write);
+        write.future.complete(null);
+    }
+
+    private void drop(PendingWrite write, Throwable cause) {
+        pending.remove(write.pendingKey, write);
+        droppedCounter.increment();
+        write.future.completeExceptionally(cause);
+    }
+
+    private static Expiration expiration(@Nullable Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return Expiration.persistent();
+        }
+        return Expiration.from(ttl);
+    }
+
+    /**
+     * 종료 시 큐에 남은 쓰기를 모두 전송한 뒤 flusher 스레드를 정리
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("종료 시점에 전송하지 못한 Redis 캐시 쓰기가 {}건 남아 있습니다.", queue.size());
+        }
+    }
+
+    private record PendingKey(String cacheName, ByteBuffer key) {
+        PendingKey(String cacheName, byte[] key) {
+            this(cacheName, ByteBuffer.wrap(key));
+        }
+    }
+
+    private static final class PendingWrite {
+        private final String cacheName;
+        private final byte[] key;
+        private final byte[] value;
+        private final Duration ttl;
+        private final PendingKey pendingKey;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int attempts;
+
+        private PendingWrite(String cacheName, byte[] key, byte[] value, @Nullable Duration ttl) {
+            this.cacheName = cacheName;
+            this.key = key;
+            this.value = value;
+            this.ttl = ttl;
+            this.pendingKey = new PendingKey(cacheName, key);
+        }
+    }
+}
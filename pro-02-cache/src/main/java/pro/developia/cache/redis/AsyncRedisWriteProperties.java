@@ -0,0 +1,57 @@
+package pro.developia.cache.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.redis.async-write")
+public class AsyncRedisWriteProperties {
+    /**
+     * false 면 기존처럼 요청 스레드에서 동기 SET 을 수행
+     */
+    private boolean enabled = true;
+
+    /**
+     * 아직 Redis 에 반영되지 않은 쓰기를 담아두는 큐의 최대 크기
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * 한 번의 파이프라인으로 전송할 최대 쓰기 수
+     */
+    private int batchSize = 256;
+
+    /**
+     * 큐가 가득 찼을 때 요청 스레드가 기다리는 최대 시간, 초과하면 동기 쓰기로 전환 (backpressure)
+     */
+    private Duration offerTimeout = Duration.ofMillis(50);
+
+    /**
+     * 파이프라인 전송 실패 시 처리 방식
+     */
+    private WriteFailurePolicy failurePolicy = WriteFailurePolicy.RETRY;
+
+    /**
+     * RETRY 정책에서 하나의 쓰기를 다시 큐에 넣는 최대 횟수
+     */
+    private int maxRetries = 3;
+
+    public enum WriteFailurePolicy {
+        /**
+         * 로그만 남기고 버림, 다음 조회에서 캐시 MISS 로 다시 채워짐
+         */
+        DROP,
+        /**
+         * maxRetries 까지 큐에 다시 넣고 그래도 실패하면 버림
+         */
+        RETRY,
+        /**
+         * 실패한 배치를 한 건씩 동기로 다시 기록
+         */
+        SYNC_FALLBACK
+    }
+}
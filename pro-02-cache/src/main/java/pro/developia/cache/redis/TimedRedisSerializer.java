@@ -0,0 +1,66 @@
+package pro.developia.cache.redis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.jfr.CacheSerializationEvent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 캐시 값의 직렬화/역직렬화 시간을 cache.serialization 메트릭으로 기록
+ * <p>
+ * JFR 녹화 중이면 직렬화된 크기와 함께 {@link CacheSerializationEvent} 로도 남긴다.
+ */
+public class TimedRedisSerializer<T> implements RedisSerializer<T> {
+    private final RedisSerializer<T> delegate;
+    private final Timer serializeTimer;
+    private final Timer deserializeTimer;
+
+    public TimedRedisSerializer(RedisSerializer<T> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.serializeTimer = Timer.builder("cache.serialization")
+                .tags("backend", "redis", "operation", "serialize")
+                .register(meterRegistry);
+        this.deserializeTimer = Timer.builder("cache.serialization")
+                .tags("backend", "redis", "operation", "deserialize")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Nullable
+    public byte[] serialize(@Nullable T value) throws SerializationException {
+        CacheSerializationEvent event = new CacheSerializationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] bytes = null;
+        try {
+            bytes = delegate.serialize(value);
+            return bytes;
+        } finally {
+            serializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.commit("redis", "serialize", bytes);
+        }
+    }
+
+    @Override
+    @Nullable
+    public T deserialize(@Nullable byte[] bytes) throws SerializationException {
+        CacheSerializationEvent event = new CacheSerializationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return delegate.deserialize(bytes);
+        } finally {
+            deserializeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.commit("redis", "deserialize", bytes);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
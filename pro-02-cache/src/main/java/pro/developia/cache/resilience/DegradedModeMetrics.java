@@ -0,0 +1,51 @@
+package pro.developia.cache.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * breaker 가 CLOSED 를 벗어나 Redis 대신 로컬 사본/로더로 응답한 시간
+ * <p>
+ * cache.degraded.time 은 CLOSED 로 돌아올 때 끝난 구간을, cache.degraded.current 는 진행 중인 구간의 길이를 보고한다.
+ */
+final class DegradedModeMetrics {
+    private static final long NOT_DEGRADED = Long.MIN_VALUE;
+
+    private final Timer degradedTime;
+    private long degradedSince = NOT_DEGRADED;
+
+    private DegradedModeMetrics(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        Tags tags = Tags.of("name", circuitBreaker.getName());
+        this.degradedTime = Timer.builder("cache.degraded.time").tags(tags).register(meterRegistry);
+        TimeGauge.builder("cache.degraded.current", this, TimeUnit.NANOSECONDS, DegradedModeMetrics::currentNanos)
+                .tags(tags)
+                .register(meterRegistry);
+        transitioned(circuitBreaker.getState());
+    }
+
+    static void bind(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        DegradedModeMetrics metrics = new DegradedModeMetrics(circuitBreaker, meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> metrics.transitioned(event.getStateTransition().getToState()));
+    }
+
+    private synchronized void transitioned(CircuitBreaker.State state) {
+        boolean degraded = state == CircuitBreaker.State.OPEN
+                || state == CircuitBreaker.State.HALF_OPEN
+                || state == CircuitBreaker.State.FORCED_OPEN;
+        if (degraded && degradedSince == NOT_DEGRADED) {
+            degradedSince = System.nanoTime();
+        } else if (!degraded && degradedSince != NOT_DEGRADED) {
+            degradedTime.record(System.nanoTime() - degradedSince, TimeUnit.NANOSECONDS);
+            degradedSince = NOT_DEGRADED;
+        }
+    }
+
+    private synchronized double currentNanos() {
+        return degradedSince == NOT_DEGRADED ? 0 : System.nanoTime() - degradedSince;
+    }
+}
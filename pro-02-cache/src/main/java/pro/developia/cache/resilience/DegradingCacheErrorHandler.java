@@ -0,0 +1,69 @@
+package pro.developia.cache.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * 캐시 장애가 요청 실패로 번지지 않도록 하는 CacheErrorHandler
+ * <p>
+ * 조회 오류는 캐시 저장소 오류(연결/timeout/역직렬화)일 때만 삼키고 로더로 진행한다. 비동기 조회에서는 로더 예외도 이곳을 거치므로
+ * 그 밖의 예외는 그대로 던진다. put/evict/clear 오류는 저장소 반영이 이미 끝난 뒤이므로 항상 삼킨다.
+ */
+@Slf4j
+public class DegradingCacheErrorHandler implements CacheErrorHandler {
+    private final MeterRegistry meterRegistry;
+
+    public DegradingCacheErrorHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        if (!isCacheFailure(exception)) {
+            throw exception;
+        }
+        handled("get", exception, cache, key);
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, @Nullable Object value) {
+        handled("put", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        handled("evict", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        handled("clear", exception, cache, null);
+    }
+
+    private void handled(String operation, RuntimeException exception, Cache cache, @Nullable Object key) {
+        Counter.builder("cache.errors")
+                .tag("cache", cache.getName())
+                .tag("operation", operation)
+                .tag("exception", cause(exception).getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.warn("캐시 {} 실패, 캐시 없이 진행합니다. cache={}, key={}, cause={}", operation, cache.getName(), key, cause(exception).toString());
+    }
+
+    private static boolean isCacheFailure(RuntimeException exception) {
+        Throwable cause = cause(exception);
+        return cause instanceof DataAccessException || cause instanceof SerializationException;
+    }
+
+    private static Throwable cause(RuntimeException exception) {
+        return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+    }
+}
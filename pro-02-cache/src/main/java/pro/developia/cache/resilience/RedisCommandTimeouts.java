@@ -0,0 +1,46 @@
+package pro.developia.cache.resilience;
+
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 명령 종류별 Lettuce timeout
+ * <p>
+ * 캐시 조회/저장은 수 ms 안에 끝나야 의미가 있으므로 짧게 끊고, SCAN/INFO/FLUSHDB 처럼 오래 걸릴 수 있는 명령만 기본 timeout 을 쓴다.
+ */
+public class RedisCommandTimeouts extends TimeoutOptions.TimeoutSource {
+    private static final Set<CommandType> READS = EnumSet.of(
+            CommandType.GET, CommandType.MGET, CommandType.GETEX, CommandType.EXISTS,
+            CommandType.TTL, CommandType.PTTL, CommandType.GETBIT);
+    private static final Set<CommandType> WRITES = EnumSet.of(
+            CommandType.SET, CommandType.SETEX, CommandType.PSETEX, CommandType.SETNX,
+            CommandType.DEL, CommandType.UNLINK, CommandType.EXPIRE, CommandType.PEXPIRE, CommandType.SETBIT);
+
+    private final long readMillis;
+    private final long writeMillis;
+    private final long defaultMillis;
+
+    public RedisCommandTimeouts(Duration readTimeout, Duration writeTimeout, Duration defaultTimeout) {
+        this.readMillis = readTimeout.toMillis();
+        this.writeMillis = writeTimeout.toMillis();
+        this.defaultMillis = defaultTimeout.toMillis();
+    }
+
+    @Override
+    public long getTimeout(RedisCommand<?, ?, ?> command) {
+        if (command.getType() instanceof CommandType type) {
+            if (READS.contains(type)) {
+                return readMillis;
+            }
+            if (WRITES.contains(type)) {
+                return writeMillis;
+            }
+        }
+        return defaultMillis;
+    }
+}
@@ -0,0 +1,39 @@
+package pro.developia.cache.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.redis.resilience")
+public class RedisResilienceProperties {
+    private boolean enabled = true;
+
+    /**
+     * resilience4j.circuitbreaker.instances 에 설정한 breaker 이름, 모든 Redis 캐시가 하나를 공유한다
+     */
+    private String circuitBreaker = "redisCache";
+
+    /**
+     * GET/MGET 등 조회 명령 timeout, 나머지 명령은 spring.data.redis.timeout
+     */
+    private Duration readTimeout = Duration.ofMillis(100);
+
+    /**
+     * SET/DEL 등 쓰기 명령 timeout
+     */
+    private Duration writeTimeout = Duration.ofMillis(200);
+
+    /**
+     * breaker 가 열린 동안 응답할 캐시별 로컬 사본 최대 엔트리 수, Redis 에 반영하지 못한 변경 키도 이만큼만 기억한다
+     */
+    private int fallbackMaxEntries = 10_000;
+
+    /**
+     * 로컬 사본 TTL = breaker 가 열린 동안 다른 인스턴스의 변경이 늦게 보일 수 있는 최대 시간
+     */
+    private Duration fallbackTtl = Duration.ofSeconds(30);
+}
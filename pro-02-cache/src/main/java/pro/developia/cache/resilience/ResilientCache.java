@@ -0,0 +1,563 @@
+package pro.developia.cache.resilience;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.jfr.CacheFallbackEvent;
+import pro.developia.cache.jfr.CircuitBreakerPermissionEvent;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Redis 캐시 호출을 circuit breaker 로 감싸고, breaker 가 열린 동안은 Redis 를 건너뛰고 로컬 사본이나 로더로 응답하는 Cache 데코레이터
+ * <p>
+ * 조회 실패는 호출자에게 던지지 않고 바로 degraded 경로로 넘긴다. 쓰기(put/evict/clear) 실패는 breaker 에 기록한 뒤 던지며,
+ * 어노테이션 경로에서는 {@link DegradingCacheErrorHandler} 가 삼킨다.
+ * breaker 가 열린 동안의 변경은 로컬 사본에만 반영되므로 그 키를 기억해 두고, breaker 가 닫히면 Redis 에 남은 이전 값을 지운다.
+ * 그때까지 해당 키는 Redis 를 조회하지 않는다.
+ * JFR 녹화 중이면 허용 확인과 degraded 응답을 {@link CircuitBreakerPermissionEvent}, {@link CacheFallbackEvent} 로 남긴다.
+ */
+@Slf4j
+public class ResilientCache implements Cache {
+    private final Cache delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> fallback;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    // Redis 에 반영하지 못한 변경 키, Redis 에는 이전 값이 남아 있을 수 있다
+    private final Set<Object> staleKeys = ConcurrentHashMap.newKeySet();
+    private final int maxStaleKeys;
+    // 키를 다 기억하지 못했거나 clear 를 반영하지 못한 경우, 복구 시 캐시 전체를 비운다
+    private volatile boolean staleAll;
+    private final AtomicBoolean repairing = new AtomicBoolean();
+
+    private final Counter localHits;
+    private final Counter loads;
+
+    public ResilientCache(Cache delegate, CircuitBreaker circuitBreaker, RedisResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.fallback = Caffeine.newBuilder()
+                .maximumSize(properties.getFallbackMaxEntries())
+                .expireAfterWrite(properties.getFallbackTtl())
+                .build();
+        this.maxStaleKeys = properties.getFallbackMaxEntries();
+
+        Tags tags = Tags.of("cache", delegate.getName());
+        this.localHits = Counter.builder("cache.degraded.requests").tags(tags).tag("source", "local").register(meterRegistry);
+        this.loads = Counter.builder("cache.degraded.requests").tags(tags).tag("source", "loader").register(meterRegistry);
+        Gauge.builder("cache.degraded.stale.keys", staleKeys, Set::size).tags(tags).register(meterRegistry);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                repairStaleEntries();
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        if (bypassRedis(key)) {
+            return degradedGet(key);
+        }
+        long start = System.nanoTime();
+        try {
+            ValueWrapper value = delegate.get(key);
+            succeeded(start, 0);
+            if (value != null) {
+                keep(key, value.get());
+            }
+            return value;
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            return degradedGet(key);
+        }
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        if (!bypassRedis(key)) {
+            long start = System.nanoTime();
+            try {
+                T value = delegate.get(key, type);
+                succeeded(start, 0);
+                keep(key, value);
+                return value;
+            } catch (RuntimeException e) {
+                failed(start, 0, e);
+            }
+        }
+        Object local = local(key);
+        return type == null || type.isInstance(local) ? (T) local : null;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (bypassRedis(key)) {
+            return degradedLoad(key, valueLoader);
+        }
+        long start = System.nanoTime();
+        Load<T> load = new Load<>();
+        try {
+            T value = delegate.get(key, () -> load.call(valueLoader));
+            succeeded(start, load.nanos);
+            keep(key, value);
+            return value;
+        } catch (RuntimeException e) {
+            // 로더 실패는 Redis 장애가 아니므로 그대로 던진다
+            if (load.failure != null) {
+                succeeded(start, load.nanos);
+                throw e;
+            }
+            failed(start, load.nanos, e);
+            if (load.done) {
+                // 로드 후 저장만 실패했으면 다시 로드하지 않는다
+                keep(key, load.value);
+                return load.value;
+            }
+            return degradedLoad(key, valueLoader);
+        }
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        if (bypassRedis(key)) {
+            return degradedRetrieve(key);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<?> future;
+        try {
+            future = delegate.retrieve(key);
+        } catch (UnsupportedOperationException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            return degradedRetrieve(key);
+        }
+        if (future == null) {
+            succeeded(start, 0);
+            return null;
+        }
+        return future.handle((value, ex) -> {
+            if (ex == null) {
+                succeeded(start, 0);
+                keep(key, value instanceof ValueWrapper wrapper ? wrapper.get() : value);
+                return value;
+            }
+            failed(start, 0, ex);
+            return degradedGet(key);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        if (bypassRedis(key)) {
+            return degradedRetrieve(key, valueLoader);
+        }
+        long start = System.nanoTime();
+        Load<T> load = new Load<>();
+        CompletableFuture<T> future;
+        try {
+            future = delegate.retrieve(key, () -> load.start(valueLoader));
+        } catch (UnsupportedOperationException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        } catch (RuntimeException e) {
+            if (load.failure != null) {
+                succeeded(start, load.nanos);
+                throw e;
+            }
+            failed(start, load.nanos, e);
+            return degradedRetrieve(key, valueLoader);
+        }
+        return future.handle((value, ex) -> {
+            if (ex == null) {
+                succeeded(start, load.nanos);
+                keep(key, value);
+                return CompletableFuture.completedFuture(value);
+            }
+            if (load.failure != null) {
+                succeeded(start, load.nanos);
+                return CompletableFuture.<T>failedFuture(ex);
+            }
+            failed(start, load.nanos, ex);
+            if (load.done) {
+                keep(key, load.value);
+                return CompletableFuture.completedFuture(load.value);
+            }
+            return degradedRetrieve(key, valueLoader);
+        }).thenCompose(Function.identity());
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        keepOrForget(key, value);
+        if (!acquirePermission()) {
+            markStale(key);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.put(key, value);
+            succeeded(start, 0);
+            staleKeys.remove(key);
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            markStale(key);
+            throw e;
+        }
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        if (!acquirePermission()) {
+            Object local = fallback.getIfPresent(key);
+            if (local != null) {
+                return new SimpleValueWrapper(local);
+            }
+            keepOrForget(key, value);
+            markStale(key);
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            succeeded(start, 0);
+            if (existing == null) {
+                keepOrForget(key, value);
+                staleKeys.remove(key);
+            } else {
+                keepOrForget(key, existing.get());
+            }
+            return existing;
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            keepOrForget(key, value);
+            markStale(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean local = fallback.asMap().remove(key) != null;
+        if (!acquirePermission()) {
+            markStale(key);
+            return local;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean evicted = delegate.evictIfPresent(key);
+            succeeded(start, 0);
+            staleKeys.remove(key);
+            return evicted;
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            markStale(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        fallback.invalidateAll();
+        if (!acquirePermission()) {
+            staleKeys.clear();
+            staleAll = true;
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean invalidated = delegate.invalidate();
+            succeeded(start, 0);
+            staleKeys.clear();
+            staleAll = false;
+            return invalidated;
+        } catch (RuntimeException e) {
+            failed(start, 0, e);
+            staleAll = true;
+            throw e;
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Redis 에 이전 값이 남아 있을 수 있는 키이거나 breaker 가 호출을 허용하지 않으면 Redis 를 건너뛴다
+     */
+    private boolean bypassRedis(Object key) {
+        if (staleAll || (!staleKeys.isEmpty() && staleKeys.contains(key))) {
+            if (circuitBreaker.getState() == CircuitBreaker.State.CLOSED) {
+                repairStaleEntries();
+            }
+            return true;
+        }
+        return !acquirePermission();
+    }
+
+    private boolean acquirePermission() {
+        CircuitBreakerPermissionEvent event = new CircuitBreakerPermissionEvent();
+        event.begin();
+        boolean permitted = circuitBreaker.tryAcquirePermission();
+        event.commit(circuitBreaker, permitted);
+        return permitted;
+    }
+
+    @Nullable
+    private ValueWrapper degradedGet(Object key) {
+        Object local = local(key);
+        return local != null ? new SimpleValueWrapper(local) : null;
+    }
+
+    @Nullable
+    private CompletableFuture<?> degradedRetrieve(Object key) {
+        ValueWrapper local = degradedGet(key);
+        return local != null ? CompletableFuture.completedFuture(local) : null;
+    }
+
+    /**
+     * 로컬 사본에 없으면 로더로 가져온다, 같은 키의 동시 로드는 하나로 합친다
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> T degradedLoad(Object key, Callable<T> valueLoader) {
+        CacheFallbackEvent event = new CacheFallbackEvent();
+        event.begin();
+        Object local = fallback.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            event.commit(getName(), key, "local");
+            return (T) local;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        loads.increment();
+        try {
+            T value = valueLoader.call();
+            keep(key, value);
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            ValueRetrievalException failure = new ValueRetrievalException(key, valueLoader, e);
+            future.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            loading.remove(key, future);
+            event.commit(getName(), key, "loader");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> degradedRetrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CacheFallbackEvent event = new CacheFallbackEvent();
+        event.begin();
+        Object local = fallback.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            event.commit(getName(), key, "local");
+            return CompletableFuture.completedFuture((T) local);
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return (CompletableFuture<T>) inFlight;
+        }
+        loads.increment();
+        CompletableFuture<T> loaded;
+        try {
+            loaded = valueLoader.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        loaded.whenComplete((value, ex) -> {
+            loading.remove(key, future);
+            event.commit(getName(), key, "loader");
+            if (ex != null) {
+                future.completeExceptionally(ex);
+                return;
+            }
+            keep(key, value);
+            future.complete(value);
+        });
+        return (CompletableFuture<T>) future;
+    }
+
+    @Nullable
+    private Object local(Object key) {
+        CacheFallbackEvent event = new CacheFallbackEvent();
+        event.begin();
+        Object local = fallback.getIfPresent(key);
+        (local != null ? localHits : loads).increment();
+        event.commit(getName(), key, local != null ? "local" : "loader");
+        return local;
+    }
+
+    private void keep(Object key, @Nullable Object value) {
+        if (value != null) {
+            fallback.put(key, value);
+        }
+    }
+
+    private void keepOrForget(Object key, @Nullable Object value) {
+        if (value != null) {
+            fallback.put(key, value);
+        } else {
+            fallback.invalidate(key);
+        }
+    }
+
+    private void markStale(Object key) {
+        if (staleKeys.size() >= maxStaleKeys) {
+            staleAll = true;
+            return;
+        }
+        staleKeys.add(key);
+    }
+
+    /**
+     * Redis 에 남은 이전 값을 지워, 다시 Redis 를 조회해도 오래된 값을 보지 않게 한다 (요청 스레드를 잡지 않도록 가상 스레드에서)
+     */
+    private void repairStaleEntries() {
+        if ((!staleAll && staleKeys.isEmpty()) || !repairing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("redis-cache-repair-" + getName()).start(() -> {
+            try {
+                if (staleAll) {
+                    staleKeys.clear();
+                    delegate.clear();
+                    staleAll = false;
+                } else {
+                    for (Object key : staleKeys) {
+                        delegate.evict(key);
+                        staleKeys.remove(key);
+                    }
+                }
+                log.info("breaker 가 열린 동안 바뀐 키를 Redis 에서 지웠습니다. cache={}", getName());
+            } catch (RuntimeException e) {
+                log.warn("Redis 에 남은 이전 값을 지우지 못했습니다. 다음 복구 때 다시 시도합니다. cache={}, cause={}", getName(), e.toString());
+            } finally {
+                repairing.set(false);
+            }
+        });
+    }
+
+    /**
+     * 로더 시간은 Redis 호출 시간이 아니므로 slow call 판정에서 뺀다
+     */
+    private void succeeded(long start, long excludedNanos) {
+        circuitBreaker.onSuccess(System.nanoTime() - start - excludedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void failed(long start, long excludedNanos, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        circuitBreaker.onError(System.nanoTime() - start - excludedNanos, TimeUnit.NANOSECONDS, cause);
+        log.debug("Redis 캐시 호출 실패, 로컬 사본/로더로 응답합니다. cache={}, cause={}", getName(), cause.toString());
+    }
+
+    /**
+     * delegate 안에서 실행된 로드의 결과와 소요 시간
+     */
+    private static final class Load<T> {
+        private volatile boolean done;
+        @Nullable
+        private volatile T value;
+        @Nullable
+        private volatile Throwable failure;
+        private volatile long nanos;
+
+        T call(Callable<T> valueLoader) throws Exception {
+            long start = System.nanoTime();
+            try {
+                T loaded = valueLoader.call();
+                value = loaded;
+                done = true;
+                return loaded;
+            } catch (Exception e) {
+                failure = e;
+                throw e;
+            } finally {
+                nanos = System.nanoTime() - start;
+            }
+        }
+
+        CompletableFuture<T> start(Supplier<CompletableFuture<T>> valueLoader) {
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = valueLoader.get();
+            } catch (RuntimeException e) {
+                failure = e;
+                nanos = System.nanoTime() - start;
+                throw e;
+            }
+            return future.whenComplete((loaded, ex) -> {
+                nanos = System.nanoTime() - start;
+                if (ex != null) {
+                    failure = ex;
+                } else {
+                    value = loaded;
+                    done = true;
+                }
+            });
+        }
+    }
+}
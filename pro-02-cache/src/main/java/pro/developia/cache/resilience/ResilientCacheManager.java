@@ -0,0 +1,60 @@
+package pro.developia.cache.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 모든 Cache 를 같은 circuit breaker 를 공유하는 {@link ResilientCache} 로 감싼다
+ */
+public class ResilientCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final RedisResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager delegate,
+                                 CircuitBreaker circuitBreaker,
+                                 RedisResilienceProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        DegradedModeMetrics.bind(circuitBreaker, meterRegistry);
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        ResilientCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new ResilientCache(target, circuitBreaker, properties, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
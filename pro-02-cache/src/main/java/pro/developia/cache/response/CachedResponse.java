@@ -0,0 +1,71 @@
+package pro.developia.cache.response;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 렌더링된 응답 본문과 ETag 를 배열 하나에 담은 캐시 값
+ * <p>
+ * 레이아웃: ETag 길이(byte) / ETag(ASCII) / 저장 시각 epoch millis(long) / 본문.
+ * 어느 캐시 구현체든 byte[] 하나로 저장되고, 응답 시 본문 구간을 복사 없이 그대로 출력한다.
+ */
+public final class CachedResponse {
+    private static final int MAX_ETAG_LENGTH = 0xFF;
+
+    private final byte[] packed;
+    private final String etag;
+    private final long storedAtMillis;
+    private final int bodyOffset;
+
+    private CachedResponse(byte[] packed, String etag, long storedAtMillis, int bodyOffset) {
+        this.packed = packed;
+        this.etag = etag;
+        this.storedAtMillis = storedAtMillis;
+        this.bodyOffset = bodyOffset;
+    }
+
+    public static CachedResponse of(String etag, long storedAtMillis, byte[] body) {
+        byte[] etagBytes = etag.getBytes(StandardCharsets.US_ASCII);
+        if (etagBytes.length > MAX_ETAG_LENGTH) {
+            throw new IllegalArgumentException("ETag 가 너무 깁니다. length=" + etagBytes.length);
+        }
+        int bodyOffset = 1 + etagBytes.length + Long.BYTES;
+        byte[] packed = ByteBuffer.allocate(bodyOffset + body.length)
+                .put((byte) etagBytes.length)
+                .put(etagBytes)
+                .putLong(storedAtMillis)
+                .put(body)
+                .array();
+        return new CachedResponse(packed, etag, storedAtMillis, bodyOffset);
+    }
+
+    public static CachedResponse unpack(byte[] packed) {
+        int etagLength = packed[0] & 0xFF;
+        String etag = new String(packed, 1, etagLength, StandardCharsets.US_ASCII);
+        long storedAtMillis = ByteBuffer.wrap(packed).getLong(1 + etagLength);
+        return new CachedResponse(packed, etag, storedAtMillis, 1 + etagLength + Long.BYTES);
+    }
+
+    public byte[] packed() {
+        return packed;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public long storedAtMillis() {
+        return storedAtMillis;
+    }
+
+    /**
+     * packed() 배열 안에서 본문이 시작하는 위치
+     */
+    public int bodyOffset() {
+        return bodyOffset;
+    }
+
+    public int bodyLength() {
+        return packed.length - bodyOffset;
+    }
+}
@@ -0,0 +1,133 @@
+package pro.developia.cache.response;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import pro.developia.cache.metrics.CacheBackend;
+import pro.developia.cache.metrics.InstrumentedCache;
+import pro.developia.cache.metrics.InstrumentedCacheResolver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * products 캐시와 같은 backend 에 있는 product-responses 캐시에 렌더링된 상품 JSON 을 저장한다
+ * <p>
+ * 값은 {@link CachedResponse#packed()} byte[] 로만 저장하므로 backend 코덱이 JSON 을 다시 해석하지 않는다.
+ * backend 에 product-responses 캐시가 없으면(offheap 프로필) 아무것도 캐시하지 않는다.
+ * <p>
+ * MISS 렌더링 도중 상품이 바뀌면 이전 본문이 저장되지 않도록, 렌더링 전에 읽은 {@link #version(Long)} 이 그대로일 때만 저장한다.
+ * 버전은 id 별이 아니라 stripe 별로 두므로 같은 stripe 의 다른 상품 변경에도 저장을 한 번 건너뛸 수 있다. (다음 MISS 에서 다시 저장)
+ */
+@Component
+public class ProductResponseCache {
+    public static final String CACHE_NAME = "product-responses";
+    private static final int VERSION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<CacheBackend> cacheBackend;
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    /**
+     * @param cacheResolver 어노테이션 캐시와 같은 hit/miss 메트릭이 남도록 그 CacheManager view 에서 캐시를 꺼낸다
+     */
+    public ProductResponseCache(InstrumentedCacheResolver cacheResolver, ObjectProvider<CacheBackend> cacheBackend, ResponseCacheProperties properties) {
+        this(cacheResolver.getCacheManager(), cacheBackend, properties, Clock.systemUTC());
+    }
+
+    ProductResponseCache(CacheManager cacheManager, ObjectProvider<CacheBackend> cacheBackend, ResponseCacheProperties properties) {
+        this(cacheManager, cacheBackend, properties, Clock.systemUTC());
+    }
+
+    ProductResponseCache(CacheManager cacheManager, ObjectProvider<CacheBackend> cacheBackend, ResponseCacheProperties properties, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.cacheBackend = cacheBackend;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && cache() != null;
+    }
+
+    @Nullable
+    public CachedResponse get(Long id) {
+        Cache cache = cache();
+        if (cache == null) {
+            return null;
+        }
+        byte[] packed = cache.get(id, byte[].class);
+        return packed != null ? CachedResponse.unpack(packed) : null;
+    }
+
+    /**
+     * MISS 에서 컨트롤러를 호출하기 전에 읽어 두고 {@link #put(Long, byte[], long)} 에 넘긴다
+     */
+    public long version(Long id) {
+        return versions.get(stripe(id));
+    }
+
+    /**
+     * @param version 렌더링 전에 읽은 {@link #version(Long)}, 그 사이 evict 되었으면 저장하지 않고 응답만 만든다
+     */
+    public CachedResponse put(Long id, byte[] body, long version) {
+        CachedResponse response = CachedResponse.of(etag(body), clock.millis(), body);
+        Cache cache = cache();
+        if (cache != null && versions.get(stripe(id)) == version) {
+            cache.put(id, response.packed());
+            // 확인과 저장 사이에 evict 가 끼어들었으면 방금 저장한 이전 본문을 지운다
+            if (versions.get(stripe(id)) != version) {
+                cache.evict(id);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * 상품이 바뀌거나 삭제된 뒤(products 캐시 반영 후) 호출, 모드가 꺼져 있어도 이전에 저장된 응답을 지운다
+     */
+    public void evict(Long id) {
+        versions.incrementAndGet(stripe(id));
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    /**
+     * backend TTL 중 남은 시간으로 Cache-Control 을 만든다, TTL 을 모르면 매번 재검증하도록 no-cache
+     */
+    public String cacheControl(CachedResponse response) {
+        Cache cache = cache();
+        Duration ttl = cache != null ? cacheBackend.getIfAvailable(() -> CacheBackend.UNKNOWN).timeToLive(unwrap(cache)) : null;
+        if (ttl == null) {
+            return "no-cache";
+        }
+        long age = clock.millis() - response.storedAtMillis();
+        long maxAge = Math.max(0, (ttl.toMillis() - age) / 1000);
+        return "max-age=" + maxAge;
+    }
+
+    @Nullable
+    private Cache cache() {
+        return properties.isEnabled() ? cacheManager.getCache(CACHE_NAME) : null;
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(id, VERSION_STRIPES);
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof InstrumentedCache instrumented ? instrumented.getDelegate() : cache;
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+}
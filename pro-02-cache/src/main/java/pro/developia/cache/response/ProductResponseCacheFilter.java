@@ -0,0 +1,139 @@
+package pro.developia.cache.response;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+import pro.developia.cache.trace.AccessTraceRecorder;
+import pro.developia.cache.warmup.HotKeyTracker;
+
+import java.io.IOException;
+
+/**
+ * GET /products/{id} 응답 캐시
+ * <p>
+ * HIT: 저장된 JSON 바이트를 역직렬화/직렬화 없이 servlet output 에 바로 쓰고, If-None-Match 가 ETag 와 같으면 본문 없이 304.
+ * MISS: 컨트롤러가 렌더링한 본문을 그대로 저장한다 (200 응답만).
+ * 캐시된 응답은 존재하는 상품이므로 PenetrationGuard 를 다시 거치지 않는다.
+ * HIT 는 컨트롤러를 거치지 않으므로 hot key 집계와 조회 로그는 여기서 남긴다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.response-cache", name = "enabled", havingValue = "true")
+public class ProductResponseCacheFilter extends OncePerRequestFilter {
+    private static final String PATH_PREFIX = "/products/";
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final String VERSION_ATTRIBUTE = ProductResponseCacheFilter.class.getName() + ".version";
+
+    private final ProductResponseCache productResponseCache;
+    private final HotKeyTracker hotKeyTracker;
+    private final AccessTraceRecorder accessTraceRecorder;
+
+    public ProductResponseCacheFilter(ProductResponseCache productResponseCache, HotKeyTracker hotKeyTracker,
+                                      AccessTraceRecorder accessTraceRecorder) {
+        this.productResponseCache = productResponseCache;
+        this.hotKeyTracker = hotKeyTracker;
+        this.accessTraceRecorder = accessTraceRecorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || productId(request) == null || !productResponseCache.isEnabled();
+    }
+
+    /**
+     * 컨트롤러가 CompletableFuture 를 반환하면 본문은 async dispatch 에서 렌더링되므로 그때 저장한다
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long id = productId(request);
+        if (!isAsyncDispatch(request)) {
+            CachedResponse cached = productResponseCache.get(id);
+            if (cached != null) {
+                hotKeyTracker.record(id);
+                accessTraceRecorder.record(id);
+                writeCached(request, response, cached);
+                return;
+            }
+            // 렌더링 중에 상품이 바뀌면 이전 본문을 저장하지 않도록 컨트롤러 호출 전의 버전을 async dispatch 까지 넘긴다
+            request.setAttribute(VERSION_ATTRIBUTE, productResponseCache.version(id));
+        }
+
+        // async dispatch 에는 첫 dispatch 에서 감싼 wrapper 가 (Spring 의 wrapper 안쪽에) 그대로 넘어온다
+        ContentCachingResponseWrapper existing = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        ContentCachingResponseWrapper wrapper = existing != null ? existing : new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, existing != null ? response : wrapper);
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+            CachedResponse stored = productResponseCache.put(id, wrapper.getContentAsByteArray(), (Long) request.getAttribute(VERSION_ATTRIBUTE));
+            wrapper.setHeader(HttpHeaders.ETAG, stored.etag());
+            wrapper.setHeader(HttpHeaders.CACHE_CONTROL, productResponseCache.cacheControl(stored));
+            wrapper.setHeader(CACHE_HEADER, "MISS");
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedResponse cached) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, productResponseCache.cacheControl(cached));
+        response.setHeader(CACHE_HEADER, "HIT");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cached.bodyLength());
+        ServletOutputStream out = response.getOutputStream();
+        out.write(cached.packed(), cached.bodyOffset(), cached.bodyLength());
+    }
+
+    /**
+     * If-None-Match 는 ETag 목록이거나 *, 약한 비교(W/ 무시)로 판단
+     */
+    private static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static Long productId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PATH_PREFIX) || path.length() == PATH_PREFIX.length() || path.length() > PATH_PREFIX.length() + 18) {
+            return null;
+        }
+        for (int i = PATH_PREFIX.length(); i < path.length(); i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return null;
+            }
+        }
+        return Long.valueOf(path.substring(PATH_PREFIX.length()));
+    }
+}
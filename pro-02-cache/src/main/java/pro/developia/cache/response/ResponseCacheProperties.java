@@ -0,0 +1,15 @@
+package pro.developia.cache.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * GET /products/{id} 의 렌더링된 JSON 바이트를 캐시하고 그대로 응답할지 여부
+     */
+    private boolean enabled = false;
+}
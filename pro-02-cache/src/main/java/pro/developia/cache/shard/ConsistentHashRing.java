@@ -0,0 +1,91 @@
+package pro.developia.cache.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 노드마다 가상 노드(virtualNodes 개)를 링 위에 흩어 두고, 키 해시에서 시계 방향으로 처음 만나는 노드를 고르는 consistent hash 링
+ * <p>
+ * 노드가 빠지면 그 노드의 키만 링의 다음 노드로 옮겨 가고 나머지 키의 위치는 그대로다.
+ * 불변 객체라 멤버가 바뀌면 새 링을 만들어 교체하며, 조회는 정렬된 long 배열의 이진 탐색이라 객체를 만들지 않는다.
+ */
+public final class ConsistentHashRing<T> {
+    private final long[] points;
+    private final Object[] owners;
+    private final Set<T> nodes;
+
+    private ConsistentHashRing(long[] points, Object[] owners, Set<T> nodes) {
+        this.points = points;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    /**
+     * @param nodeId 가상 노드 위치를 정하는 노드 식별자, 재시작해도 같은 값이어야 같은 키가 같은 노드로 간다
+     */
+    public static <T> ConsistentHashRing<T> of(Collection<T> nodes, Function<T, String> nodeId, int virtualNodes) {
+        List<Point<T>> ring = new ArrayList<>(nodes.size() * virtualNodes);
+        for (T node : nodes) {
+            String id = nodeId.apply(node);
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.add(new Point<>(hash((id + "#" + i).getBytes(StandardCharsets.UTF_8)), id, node));
+            }
+        }
+        // 해시가 겹치면 노드 id 순으로 정해 어느 인스턴스에서 만들어도 같은 링이 되게 한다
+        ring.sort(Comparator.comparingLong((Point<T> point) -> point.hash()).thenComparing(Point::id));
+
+        long[] points = new long[ring.size()];
+        Object[] owners = new Object[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash();
+            owners[i] = ring.get(i).node();
+        }
+        return new ConsistentHashRing<>(points, owners, Set.copyOf(nodes));
+    }
+
+    @SuppressWarnings("unchecked")
+    public T nodeFor(byte[] key) {
+        if (points.length == 0) {
+            throw new IllegalStateException("링에 노드가 없습니다.");
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return (T) owners[index == points.length ? 0 : index];
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    public Set<T> nodes() {
+        return nodes;
+    }
+
+    /**
+     * FNV-1a 64bit 후 murmur3 finalizer 로 비트를 섞는다 (짧고 비슷한 키도 링 전체에 고르게 흩어지도록)
+     */
+    static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Point<T>(long hash, String id, T node) {
+    }
+}
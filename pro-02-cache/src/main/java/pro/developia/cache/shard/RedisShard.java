@@ -0,0 +1,110 @@
+package pro.developia.cache.shard;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 링의 노드 하나: 연결, 그 연결로 만든 RedisCacheWriter, 연속 실패 횟수
+ */
+@Slf4j
+public class RedisShard {
+    private final String id;
+    private final RedisConnectionFactory connectionFactory;
+    private volatile RedisCacheWriter writer;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean ejected;
+
+    public RedisShard(String id, RedisConnectionFactory connectionFactory, RedisCacheWriter writer) {
+        this.id = id;
+        this.connectionFactory = connectionFactory;
+        this.writer = writer;
+    }
+
+    /**
+     * "host:port" 노드에 연결한다, 끊긴 동안의 명령은 쌓아 두지 않고 바로 실패시켜 장애를 빨리 드러낸다
+     */
+    public static RedisShard connect(String node, Duration timeout, Function<RedisConnectionFactory, RedisCacheWriter> writerFactory) {
+        int separator = node.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Redis shard 노드는 host:port 형식이어야 합니다. node=" + node);
+        }
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(timeout)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build())
+                .build();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(node.substring(0, separator), Integer.parseInt(node.substring(separator + 1))),
+                clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        return new RedisShard(node, connectionFactory, writerFactory.apply(connectionFactory));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public RedisConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public RedisCacheWriter writer() {
+        return writer;
+    }
+
+    void writer(RedisCacheWriter writer) {
+        this.writer = writer;
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    void ejected(boolean ejected) {
+        this.ejected = ejected;
+    }
+
+    void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    /**
+     * @return 연속 실패 횟수
+     */
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void close() {
+        if (writer instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Redis shard writer 종료에 실패했습니다. shard={}", id, e);
+            }
+        }
+        if (connectionFactory instanceof LettuceConnectionFactory lettuce) {
+            lettuce.destroy();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
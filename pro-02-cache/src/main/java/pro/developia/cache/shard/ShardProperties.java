@@ -0,0 +1,39 @@
+package pro.developia.cache.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.redis.shards")
+public class ShardProperties {
+    /**
+     * 캐시 전용 Redis 노드 "host:port" 목록, 비어 있으면 spring.data.redis 의 단일 노드를 쓴다
+     */
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * 노드당 링 위의 가상 노드 수, 많을수록 키가 고르게 나뉜다
+     */
+    private int virtualNodes = 160;
+
+    /**
+     * 노드별 명령/연결 timeout, 죽은 노드를 빨리 감지하도록 짧게 둔다
+     */
+    private Duration timeout = Duration.ofMillis(500);
+
+    /**
+     * 연속 실패가 이 횟수에 도달하면 링에서 뺀다
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * PING 으로 노드 상태를 확인하는 주기 (@Scheduled 에서 직접 참조)
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,44 @@
+package pro.developia.cache.shard;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 키 직렬화/값 역직렬화는 RedisCache 그대로 쓰고, 여러 키 조회를 노드별 MGET 으로 묶는다
+ */
+public class ShardedRedisCache extends RedisCache {
+    private final ShardedRedisCacheWriter shardedWriter;
+
+    protected ShardedRedisCache(String name, ShardedRedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.shardedWriter = cacheWriter;
+    }
+
+    /**
+     * 노드마다 MGET 한 번씩을 동시에 보내 조회한다, 없거나 응답하지 못한 노드의 키는 결과에 넣지 않는다
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        List<Object> keyList = new ArrayList<>(keys);
+        List<byte[]> cacheKeys = new ArrayList<>(keyList.size());
+        for (Object key : keyList) {
+            cacheKeys.add(serializeCacheKey(createCacheKey(key)));
+        }
+
+        List<byte[]> values = shardedWriter.getAll(getName(), cacheKeys);
+        Map<Object, Object> found = new LinkedHashMap<>();
+        for (int i = 0; i < keyList.size(); i++) {
+            byte[] value = values.get(i);
+            Object cached = value != null ? fromStoreValue(deserializeCacheValue(value)) : null;
+            if (cached != null) {
+                found.put(keyList.get(i), cached);
+            }
+        }
+        return found;
+    }
+}
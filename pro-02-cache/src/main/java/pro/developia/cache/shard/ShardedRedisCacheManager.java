@@ -0,0 +1,28 @@
+package pro.developia.cache.shard;
+
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * {@link ShardedRedisCacheWriter} 위에서 {@link ShardedRedisCache} 를 만드는 RedisCacheManager (통계 수집 포함)
+ */
+public class ShardedRedisCacheManager extends RedisCacheManager {
+
+    public ShardedRedisCacheManager(ShardedRedisCacheWriter cacheWriter,
+                                    RedisCacheConfiguration defaultCacheConfiguration,
+                                    Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(cacheWriter.withStatisticsCollector(CacheStatisticsCollector.create()),
+                defaultCacheConfiguration, initialCacheConfigurations);
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, @Nullable RedisCacheConfiguration cacheConfiguration) {
+        return new ShardedRedisCache(name, (ShardedRedisCacheWriter) getCacheWriter(),
+                cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration());
+    }
+}
@@ -0,0 +1,351 @@
+package pro.developia.cache.shard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 키를 consistent hash 링으로 여러 Redis 노드에 나눠 저장하는 RedisCacheWriter
+ * <p>
+ * 단건 명령은 키가 속한 노드의 writer 로 보내고, clean 은 모든 노드에 보낸다. 여러 키 조회({@link #getAll})는 노드별 MGET 을 동시에 보낸다.
+ * 연속 실패가 failureThreshold 에 도달한 노드는 링에서 빼서 그 노드의 키만 다음 노드로 옮겨 가게 하고 (다음 조회는 MISS 후 다시 채워진다),
+ * 주기적인 PING 이 다시 성공하면 링에 되돌린다. 빠져 있는 동안 다른 노드에서 갱신된 키가 옛 값으로 보이지 않도록 돌아온 노드는 비우고 넣는다.
+ * 그래서 shard 노드는 캐시 전용이어야 한다.
+ * <p>
+ * 빠져 있는 동안 다른 노드에 쓴 키는 노드별로 기억해 두었다가, 돌아오면 대신 받은 노드에서 지운다.
+ * 남겨 두면 나중에 대신 받은 노드가 다시 주인이 될 때(돌아온 노드가 또 빠질 때) 그 사이 갱신을 모르는 옛 값이 보인다.
+ * 기억하는 키 수는 노드가 빠져 있는 동안 그 노드 몫으로 쓰인 키 수만큼이다.
+ */
+@Slf4j
+public class ShardedRedisCacheWriter implements RedisCacheWriter, AutoCloseable {
+    private final List<RedisShard> shards;
+    private final int virtualNodes;
+    private final int failureThreshold;
+    private volatile ConsistentHashRing<RedisShard> ring;
+    // 모든 노드가 링에 있을 때의 주인, 키가 다른 노드로 옮겨 갔는지 판단한다
+    private final ConsistentHashRing<RedisShard> homeRing;
+    // 링에서 빠진 노드별로, 빠져 있는 동안 다른 노드에 쓴 키
+    private final Map<RedisShard, Set<RemappedKey>> remapped = new ConcurrentHashMap<>();
+    private volatile CacheStatisticsCollector statistics = CacheStatisticsCollector.none();
+
+    // 노드별 MGET 을 동시에 보내기 위한 executor, 응답을 기다리는 동안 스레드를 붙잡지 않도록 가상 스레드를 쓴다
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final MeterRegistry meterRegistry;
+
+    public ShardedRedisCacheWriter(List<RedisShard> shards, ShardProperties properties, MeterRegistry meterRegistry) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Redis shard 가 하나 이상 필요합니다.");
+        }
+        this.shards = List.copyOf(shards);
+        this.virtualNodes = properties.getVirtualNodes();
+        this.failureThreshold = properties.getFailureThreshold();
+        this.meterRegistry = meterRegistry;
+        this.ring = ConsistentHashRing.of(this.shards, RedisShard::id, virtualNodes);
+        this.homeRing = ring;
+
+        Gauge.builder("cache.redis.shards.healthy", this, writer -> writer.ring.nodes().size()).register(meterRegistry);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return execute(key, writer -> writer.get(name, key));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, @Nullable Duration ttl) {
+        return execute(key, writer -> writer.get(name, key, ttl));
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return shards.stream().allMatch(shard -> shard.writer().supportsAsyncRetrieve());
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, @Nullable Duration ttl) {
+        RedisShard shard = shardFor(key);
+        CompletableFuture<byte[]> value;
+        try {
+            value = shard.writer().retrieve(name, key, ttl);
+        } catch (RuntimeException e) {
+            failed(shard, e);
+            throw e;
+        }
+        return value.whenComplete((result, ex) -> {
+            if (ex == null) {
+                shard.recordSuccess();
+            } else {
+                failed(shard, ex);
+            }
+        });
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        write(name, key, writer -> {
+            writer.put(name, key, value, ttl);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return write(name, key, writer -> writer.store(name, key, value, ttl));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return write(name, key, writer -> writer.putIfAbsent(name, key, value, ttl));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        execute(key, writer -> {
+            writer.remove(name, key);
+            return null;
+        });
+    }
+
+    /**
+     * 링에 있는 모든 노드에서 지운다, 빠져 있는 노드는 돌아올 때 비워진다
+     */
+    @Override
+    public void clean(String name, byte[] pattern) {
+        for (RedisShard shard : ring.nodes()) {
+            try {
+                shard.writer().clean(name, pattern);
+                shard.recordSuccess();
+            } catch (RuntimeException e) {
+                failed(shard, e);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        statistics.reset(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        // 노드별 writer 가 같은 collector 에 기록하게 해 캐시 단위 통계를 합친다
+        for (RedisShard shard : shards) {
+            shard.writer(shard.writer().withStatisticsCollector(cacheStatisticsCollector));
+        }
+        this.statistics = cacheStatisticsCollector;
+        return this;
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return statistics.getCacheStatistics(cacheName);
+    }
+
+    /**
+     * 키를 노드별로 묶어 MGET 을 동시에 보낸다, 응답하지 못한 노드의 키는 MISS(null) 로 돌려준다
+     *
+     * @return keys 와 같은 순서의 값 목록
+     */
+    public List<byte[]> getAll(String name, List<byte[]> keys) {
+        ConsistentHashRing<RedisShard> current = ring;
+        if (current.isEmpty()) {
+            return Arrays.asList(new byte[keys.size()][]);
+        }
+        Map<RedisShard, List<Integer>> indexesByShard = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            indexesByShard.computeIfAbsent(current.nodeFor(keys.get(i)), shard -> new ArrayList<>()).add(i);
+        }
+
+        byte[][] values = new byte[keys.size()][];
+        List<CompletableFuture<Void>> requests = new ArrayList<>(indexesByShard.size());
+        indexesByShard.forEach((shard, indexes) -> requests.add(CompletableFuture.runAsync(() -> {
+            byte[][] shardKeys = new byte[indexes.size()][];
+            for (int i = 0; i < shardKeys.length; i++) {
+                shardKeys[i] = keys.get(indexes.get(i));
+            }
+            try (RedisConnection connection = shard.connectionFactory().getConnection()) {
+                List<byte[]> shardValues = connection.stringCommands().mGet(shardKeys);
+                if (shardValues != null) {
+                    for (int i = 0; i < shardValues.size(); i++) {
+                        values[indexes.get(i)] = shardValues.get(i);
+                    }
+                }
+                shard.recordSuccess();
+            } catch (RuntimeException e) {
+                failed(shard, e);
+            }
+        }, fanOut)));
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+
+        for (byte[] value : values) {
+            statistics.incGets(name);
+            if (value != null) {
+                statistics.incHits(name);
+            } else {
+                statistics.incMisses(name);
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 빠진 노드는 PING 이 성공하면 비운 뒤 링에 되돌리고 (대신 받은 노드의 복사본도 지운다), 링에 있는 노드도 PING 실패가 이어지면 뺀다
+     */
+    @Scheduled(initialDelayString = "${cache.redis.shards.health-check-interval:PT1S}",
+            fixedDelayString = "${cache.redis.shards.health-check-interval:PT1S}")
+    public void checkHealth() {
+        for (RedisShard shard : shards) {
+            try (RedisConnection connection = shard.connectionFactory().getConnection()) {
+                connection.ping();
+                if (shard.isEjected()) {
+                    connection.serverCommands().flushDb();
+                    removeRemappedCopies(shard, rejoin(shard));
+                }
+                shard.recordSuccess();
+            } catch (RuntimeException e) {
+                failed(shard, e);
+            }
+        }
+    }
+
+    public List<RedisShard> shards() {
+        return shards;
+    }
+
+    /**
+     * 키가 지금 속한 노드 (링에서 빠진 노드는 고르지 않는다)
+     */
+    public RedisShard shardFor(byte[] key) {
+        ConsistentHashRing<RedisShard> current = ring;
+        if (current.isEmpty()) {
+            throw new RedisConnectionFailureException("응답하는 Redis shard 가 없습니다.");
+        }
+        return current.nodeFor(key);
+    }
+
+    public List<RedisConnectionFactory> connectionFactories() {
+        return shards.stream().map(RedisShard::connectionFactory).toList();
+    }
+
+    @Override
+    public void close() {
+        fanOut.close();
+        shards.forEach(RedisShard::close);
+    }
+
+    private <T> T execute(byte[] key, Function<RedisCacheWriter, T> command) {
+        return execute(shardFor(key), command);
+    }
+
+    /**
+     * 주인 노드가 빠져 있어 다른 노드에 쓰는 키는 돌아올 때 지우도록 기억해 둔다 (쓰기 전에 기록해야 되돌리는 쪽이 놓치지 않는다)
+     */
+    private <T> T write(String name, byte[] key, Function<RedisCacheWriter, T> command) {
+        RedisShard shard = shardFor(key);
+        RedisShard home = homeRing.nodeFor(key);
+        if (shard != home) {
+            Set<RemappedKey> keys = remapped.get(home);
+            if (keys != null) {
+                keys.add(new RemappedKey(name, ByteBuffer.wrap(key), shard));
+            }
+        }
+        return execute(shard, command);
+    }
+
+    private <T> T execute(RedisShard shard, Function<RedisCacheWriter, T> command) {
+        try {
+            T result = command.apply(shard.writer());
+            shard.recordSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            failed(shard, e);
+            throw e;
+        }
+    }
+
+    private void failed(RedisShard shard, Throwable cause) {
+        int failures = shard.recordFailure();
+        if (failures >= failureThreshold && !shard.isEjected()) {
+            log.warn("Redis shard 를 링에서 뺍니다. shard={}, 연속 실패={}, cause={}", shard.id(), failures, cause.toString());
+            eject(shard);
+        }
+    }
+
+    private synchronized void eject(RedisShard shard) {
+        if (shard.isEjected()) {
+            return;
+        }
+        remapped.put(shard, ConcurrentHashMap.newKeySet());
+        shard.ejected(true);
+        rebuildRing();
+        Counter.builder("cache.redis.shard.ejections").tag("shard", shard.id()).register(meterRegistry).increment();
+    }
+
+    /**
+     * @return 빠져 있는 동안 다른 노드에 쓴 키
+     */
+    private synchronized Set<RemappedKey> rejoin(RedisShard shard) {
+        if (!shard.isEjected()) {
+            return Set.of();
+        }
+        shard.ejected(false);
+        rebuildRing();
+        log.info("Redis shard 를 링에 되돌립니다. shard={}", shard.id());
+        Set<RemappedKey> keys = remapped.remove(shard);
+        return keys != null ? keys : Set.of();
+    }
+
+    /**
+     * 지우지 못한 복사본은 그 노드가 실패로 빠졌다가 돌아올 때 비워진다
+     */
+    private void removeRemappedCopies(RedisShard rejoined, Set<RemappedKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (RemappedKey key : keys) {
+            try {
+                key.shard().writer().remove(key.name(), key.key().array());
+                key.shard().recordSuccess();
+            } catch (RuntimeException e) {
+                failed(key.shard(), e);
+            }
+        }
+        log.info("Redis shard 가 빠져 있는 동안 다른 노드에 쓴 키를 지웠습니다. shard={}, keys={}", rejoined.id(), keys.size());
+    }
+
+    private void rebuildRing() {
+        ring = ConsistentHashRing.of(shards.stream().filter(shard -> !shard.isEjected()).toList(), RedisShard::id, virtualNodes);
+    }
+
+    /**
+     * @param key   ByteBuffer 로 감싸 내용으로 비교한다 (같은 키를 여러 번 써도 한 번만 지운다)
+     * @param shard 대신 받은 노드
+     */
+    private record RemappedKey(String name, ByteBuffer key, RedisShard shard) {
+    }
+}
@@ -0,0 +1,31 @@
+package pro.developia.cache.trace;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.trace")
+public class AccessTraceProperties {
+    /**
+     * 상품 조회 로그 기록 여부, 캐시 크기/TTL 을 정하려고 잠시 켤 때만 사용한다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 조회 로그 파일, 기동할 때마다 이름 뒤에 기동 시각을 붙인 새 파일을 만든다 (product-access-20250101-093000-000.trace)
+     */
+    private String path = System.getProperty("java.io.tmpdir") + "/pro-02-cache/product-access.trace";
+
+    /**
+     * 파일이 이 크기에 도달하면 기록을 멈춘다 (조회 1건에 보통 6 ~ 8 byte)
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /**
+     * 기록 스레드로 넘기기 전 대기열 크기, 가득 차면 요청 스레드를 막지 않고 버린다
+     */
+    private int queueCapacity = 65_536;
+}
@@ -0,0 +1,97 @@
+package pro.developia.cache.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link AccessTraceWriter} 로 쓴 조회 로그를 처음부터 차례로 읽는다
+ * <p>
+ * 기록 중 프로세스가 죽어 마지막 조회가 잘려 있으면 그 앞까지만 읽는다. 엔트리 크기가 없는 이전 형식(PAC1)은 크기를 0 으로 읽는다.
+ */
+public class AccessTraceReader implements Closeable {
+    private final InputStream in;
+    private final boolean withSize;
+    private long timeMillis;
+    private long id;
+    private int size;
+
+    public AccessTraceReader(Path path) throws IOException {
+        this.in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        int magic = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            int b = in.read();
+            if (b < 0) {
+                break;
+            }
+            magic = (magic << 8) | b;
+        }
+        if (magic != AccessTraceWriter.MAGIC && magic != AccessTraceWriter.MAGIC_WITHOUT_SIZE) {
+            in.close();
+            throw new IOException(path + " 은 상품 조회 로그 형식이 아닙니다.");
+        }
+        this.withSize = magic == AccessTraceWriter.MAGIC;
+    }
+
+    /**
+     * 다음 조회로 이동한다, 남은 조회가 없으면 false
+     */
+    public boolean next() throws IOException {
+        try {
+            long delta = readVarLong();
+            long zigzag = readVarLong();
+            int entrySize = withSize ? (int) Math.min(Integer.MAX_VALUE, readVarLong()) : 0;
+            timeMillis += delta;
+            id = (zigzag >>> 1) ^ -(zigzag & 1);
+            size = entrySize;
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 현재 조회 시각 (epoch ms)
+     */
+    public long timeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * 현재 조회한 상품 id
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * 현재 조회한 상품의 캐시 엔트리 크기 (byte), 기록되지 않았으면 0
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint 가 너무 깁니다.");
+    }
+}
@@ -0,0 +1,153 @@
+package pro.developia.cache.trace;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import pro.developia.cache.admission.RetainedSizeEstimator;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductController 와 응답 캐시 HIT(ProductResponseCacheFilter)로 들어오는 상품 조회(HIT/MISS 구분 없이)를 시각과 함께 파일에 기록한다
+ * <p>
+ * 기록된 로그는 HitRatioSimulation 으로 오프라인에서 정책/크기별로 재생하여 캐시 크기와 TTL 을 정하는 데 쓴다.
+ * 응답할 상품을 알면 엔트리 크기(RetainedSizeEstimator)도 함께 남겨 byte 한도(size-bounded) 재생에 쓴다.
+ * 요청 스레드는 대기열에 넣기만 하고, 파일 쓰기는 별도 스레드가 모아서 한다. 대기열이 가득 차면 버리고 개수만 센다.
+ * 재기동이 이전 로그를 지우지 않도록 기동할 때마다 cache.trace.path 이름 뒤에 기동 시각을 붙인 새 파일에 쓴다.
+ * cache.trace.enabled=false 면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class AccessTraceRecorder implements AutoCloseable {
+    private static final int DRAIN_BATCH = 4_096;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+    private static final DateTimeFormatter RUN_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final long maxSize;
+    private final BlockingQueue<Access> queue;
+    private final Thread writerThread;
+    private volatile boolean recording;
+
+    private final Counter recordedCounter;
+    private final Counter droppedCounter;
+
+    public AccessTraceRecorder(AccessTraceProperties properties, MeterRegistry meterRegistry) {
+        this.maxSize = properties.getMaxSize().toBytes();
+        this.recordedCounter = Counter.builder("cache.trace.accesses").tag("result", "recorded").register(meterRegistry);
+        this.droppedCounter = Counter.builder("cache.trace.accesses").tag("result", "dropped").register(meterRegistry);
+        this.queue = properties.isEnabled() ? new ArrayBlockingQueue<>(properties.getQueueCapacity()) : null;
+        this.writerThread = properties.isEnabled() ? start(Path.of(properties.getPath())) : null;
+    }
+
+    /**
+     * 상품을 모르는 조회 (응답 캐시 HIT), 크기는 재생할 때 같은 id 의 이전 기록으로 채운다
+     */
+    public void record(Long id) {
+        record(id, null);
+    }
+
+    /**
+     * @param product 응답한 상품, 크기는 기록 스레드에서 계산한다
+     */
+    public void record(Long id, @Nullable Object product) {
+        if (!recording || id == null) {
+            return;
+        }
+        if (!queue.offer(new Access(System.currentTimeMillis(), id, product))) {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * 대기열에 남은 조회를 파일에 쓰고 기록을 끝낸다
+     */
+    @Override
+    public void close() throws InterruptedException {
+        recording = false;
+        if (writerThread != null) {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        }
+    }
+
+    private Thread start(Path basePath) {
+        Path path = runPath(basePath, LocalDateTime.now(), 0);
+        AccessTraceWriter writer = null;
+        try {
+            for (int attempt = 1; writer == null; attempt++) {
+                try {
+                    writer = new AccessTraceWriter(path);
+                } catch (FileAlreadyExistsException e) {
+                    path = runPath(basePath, LocalDateTime.now(), attempt);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("상품 조회 로그 파일을 열지 못해 기록하지 않습니다. path={}", path, e);
+            return null;
+        }
+        recording = true;
+        log.info("상품 조회 로그를 기록합니다. path={}", path.toAbsolutePath());
+        return Thread.ofPlatform()
+                .name("product-access-trace")
+                .daemon(true)
+                .start(() -> writeLoop(writer));
+    }
+
+    /**
+     * product-access.trace -> product-access-20250101-093000-000.trace, 같은 시각에 이미 있으면 뒤에 -attempt 를 붙인다
+     */
+    static Path runPath(Path basePath, LocalDateTime startedAt, int attempt) {
+        String fileName = basePath.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String name = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        String suffix = RUN_SUFFIX.format(startedAt) + (attempt > 0 ? "-" + attempt : "");
+        return basePath.resolveSibling(name + "-" + suffix + extension);
+    }
+
+    private void writeLoop(AccessTraceWriter writer) {
+        List<Access> batch = new ArrayList<>(DRAIN_BATCH);
+        try (writer) {
+            while (recording || !queue.isEmpty()) {
+                Access first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    writer.flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (Access access : batch) {
+                    int size = access.product() != null ? RetainedSizeEstimator.estimate(access.id(), access.product()) : 0;
+                    writer.write(access.timeMillis(), access.id(), size);
+                }
+                recordedCounter.increment(batch.size());
+                batch.clear();
+                if (writer.size() >= maxSize) {
+                    recording = false;
+                    queue.clear();
+                    log.warn("상품 조회 로그가 최대 크기({} bytes)에 도달해 기록을 멈춥니다.", maxSize);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            recording = false;
+            log.warn("상품 조회 로그를 쓰지 못해 기록을 멈춥니다.", e);
+        } catch (InterruptedException e) {
+            recording = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Access(long timeMillis, long id, @Nullable Object product) {
+    }
+}
@@ -0,0 +1,74 @@
+package pro.developia.cache.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 상품 조회 로그를 압축된 바이너리로 쓴다
+ * <p>
+ * 헤더(MAGIC) 뒤에 조회마다 [이전 조회와의 시각 차이(ms), zigzag 인코딩한 상품 id, 엔트리 크기(byte, 0 이면 모름)] 를 varint 로 이어 쓴다.
+ * 시각이 뒤로 가면 차이를 0 으로 기록하므로 읽은 시각은 항상 단조 증가한다.
+ * 이미 있는 파일은 덮어쓰지 않는다. (FileAlreadyExistsException)
+ */
+public class AccessTraceWriter implements Closeable {
+    static final int MAGIC = 0x50414332; // "PAC2"
+    // 엔트리 크기가 없는 이전 형식
+    static final int MAGIC_WITHOUT_SIZE = 0x50414331; // "PAC1"
+
+    private final OutputStream out;
+    private long previousMillis;
+    private long size;
+
+    public AccessTraceWriter(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(MAGIC >>> shift);
+        }
+        size = Integer.BYTES;
+    }
+
+    /**
+     * @param size 캐시 엔트리 크기 (RetainedSizeEstimator 기준), 모르면 0
+     */
+    public void write(long timeMillis, long id, int size) throws IOException {
+        long delta = Math.max(0, timeMillis - previousMillis);
+        previousMillis += delta;
+        writeVarLong(delta);
+        writeVarLong((id << 1) ^ (id >> 63));
+        writeVarLong(Math.max(0, size));
+    }
+
+    /**
+     * 지금까지 쓴 byte 수
+     */
+    public long size() {
+        return size;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+            size++;
+        }
+        out.write((int) value);
+        size++;
+    }
+}
@@ -0,0 +1,149 @@
+package pro.developia.cache.warmup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+import pro.developia.cache.hotkey.HotKeyCache;
+import pro.developia.cache.product.ProductService;
+import pro.developia.cache.resilience.ResilientCache;
+import pro.developia.cache.shard.ShardedRedisCache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 기동 시 스냅샷의 hot key 를 미리 로드하여 캐시를 채운다
+ * <p>
+ * ApplicationRunner 는 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 실행되므로,
+ * warm-up 이 끝날 때까지 /actuator/health/readiness 는 UP 이 되지 않는다.
+ * ProductService 를 통해 로드하므로 redis, ehcache, caffeine 어느 프로필이든 같은 방식으로 동작한다.
+ * 샤딩된 Redis 를 쓰면 다른 인스턴스가 이미 채워 둔 id 를 노드별 MGET 으로 먼저 확인해 다시 로드하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.warmup", name = "enabled", matchIfMissing = true)
+public class CacheWarmupRunner implements ApplicationRunner {
+    private static final String CACHE_NAME = "products";
+
+    private final HotKeySnapshot hotKeySnapshot;
+    private final ProductService productService;
+    private final CacheManager cacheManager;
+    private final WarmupProperties properties;
+
+    private final Timer durationTimer;
+    private final Counter loadedCounter;
+    private final Counter failedCounter;
+    private final AtomicReference<Double> coverage = new AtomicReference<>(0.0);
+
+    public CacheWarmupRunner(HotKeySnapshot hotKeySnapshot,
+                             ProductService productService,
+                             CacheManager cacheManager,
+                             WarmupProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.hotKeySnapshot = hotKeySnapshot;
+        this.productService = productService;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.durationTimer = Timer.builder("cache.warmup.duration").register(meterRegistry);
+        this.loadedCounter = Counter.builder("cache.warmup.keys").tag("result", "loaded").register(meterRegistry);
+        this.failedCounter = Counter.builder("cache.warmup.keys").tag("result", "failed").register(meterRegistry);
+        meterRegistry.gauge("cache.warmup.coverage", coverage, AtomicReference::get);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        List<Long> ids = hotKeySnapshot.read();
+        if (ids.isEmpty()) {
+            log.info("hot key 스냅샷이 없어 warm-up 을 건너뜁니다.");
+            return;
+        }
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Set<Object> cached = cachedIds(ids);
+        List<Callable<Long>> tasks = ids.stream()
+                .filter(id -> !cached.contains(id))
+                .map(id -> (Callable<Long>) () -> productService.findProductById(id).getId())
+                .toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getConcurrency(),
+                Thread.ofPlatform().name("cache-warmup-", 0).daemon(true).factory());
+        int loaded = cached.size();
+        try {
+            // timeout 을 넘기면 끝나지 않은 로드는 취소된다
+            List<Future<Long>> futures = executor.invokeAll(tasks, properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            for (Future<Long> future : futures) {
+                if (isLoaded(future)) {
+                    loaded++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        stopWatch.stop();
+
+        loadedCounter.increment(loaded);
+        failedCounter.increment(ids.size() - loaded);
+        durationTimer.record(stopWatch.getTotalTimeNanos(), TimeUnit.NANOSECONDS);
+        coverage.set((double) loaded / ids.size());
+        log.info("캐시 warm-up 완료: {}/{}건 (이미 캐시에 있던 {}건 포함), {}ms",
+                loaded, ids.size(), cached.size(), stopWatch.getTotalTimeMillis());
+    }
+
+    /**
+     * 샤딩된 Redis 에 이미 있는 id, 노드별 MGET 을 동시에 보내 한 번에 확인한다
+     * <p>
+     * 샤딩을 쓰지 않는 프로필에서는 비어 있어 모든 id 를 로드한다.
+     * 응답하지 못한 노드의 id 는 없는 것으로 보고 로드한다.
+     */
+    private Set<Object> cachedIds(List<Long> ids) {
+        if (!(unwrap(cacheManager.getCache(CACHE_NAME)) instanceof ShardedRedisCache shardedCache)) {
+            return Set.of();
+        }
+        return shardedCache.getAll(ids).keySet();
+    }
+
+    /**
+     * hot key 복제본 / circuit breaker 데코레이터 안의 캐시
+     */
+    private static Cache unwrap(Cache cache) {
+        Cache target = cache;
+        while (true) {
+            if (target instanceof HotKeyCache hotKeyCache) {
+                target = hotKeyCache.getDelegate();
+            } else if (target instanceof ResilientCache resilientCache) {
+                target = resilientCache.getDelegate();
+            } else {
+                return target;
+            }
+        }
+    }
+
+    private boolean isLoaded(Future<Long> future) throws InterruptedException {
+        try {
+            future.get();
+            return true;
+        } catch (CancellationException e) {
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("warm-up 중 상품 로드에 실패했습니다.", e.getCause());
+            return false;
+        }
+    }
+}
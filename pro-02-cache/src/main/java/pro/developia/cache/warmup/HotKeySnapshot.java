@@ -0,0 +1,85 @@
+package pro.developia.cache.warmup;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * hot key 목록을 로컬 파일로 주기적으로 저장하고, 기동 시 다시 읽어온다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.warmup", name = "enabled", matchIfMissing = true)
+public class HotKeySnapshot {
+    private final HotKeyTracker hotKeyTracker;
+    private final WarmupProperties properties;
+    private final Path path;
+
+    public HotKeySnapshot(HotKeyTracker hotKeyTracker, WarmupProperties properties) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.properties = properties;
+        this.path = Paths.get(properties.getSnapshotPath());
+    }
+
+    @Scheduled(initialDelayString = "${cache.warmup.snapshot-interval:PT1M}",
+            fixedDelayString = "${cache.warmup.snapshot-interval:PT1M}")
+    public void snapshot() {
+        List<Long> ids = hotKeyTracker.topKeys(properties.getTopKeys());
+        // 트래픽이 없던 구간에는 이전 스냅샷을 유지
+        if (ids.isEmpty()) {
+            return;
+        }
+        write(ids);
+        hotKeyTracker.decay();
+        log.info("hot key {}건을 스냅샷으로 저장했습니다. path={}", ids.size(), path);
+    }
+
+    /**
+     * 배포 종료 직전의 인기도를 마지막으로 저장
+     */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        try {
+            snapshot();
+        } catch (UncheckedIOException e) {
+            log.warn("종료 시 hot key 스냅샷 저장에 실패했습니다.", e);
+        }
+    }
+
+    public List<Long> read() {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (var lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(Long::valueOf)
+                    .toList();
+        } catch (IOException | NumberFormatException e) {
+            log.warn("hot key 스냅샷을 읽지 못했습니다. path={}", path, e);
+            return List.of();
+        }
+    }
+
+    void write(List<Long> ids) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // 쓰는 도중 종료되어도 이전 스냅샷이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "hot-keys", ".tmp");
+            Files.write(temp, ids.stream().map(String::valueOf).toList());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package pro.developia.cache.warmup;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 id 별 조회 횟수를 집계하여 스냅샷 대상(hot key)을 고른다
+ */
+@Component
+public class HotKeyTracker {
+    private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+
+    public HotKeyTracker(WarmupProperties properties) {
+        this.maxTrackedKeys = properties.getMaxTrackedKeys();
+    }
+
+    public void record(Long id) {
+        LongAdder count = counts.get(id);
+        if (count == null) {
+            // 무작위 id 스캔으로 맵이 무한히 커지지 않도록 제한
+            if (counts.size() >= maxTrackedKeys) {
+                return;
+            }
+            count = counts.computeIfAbsent(id, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * 조회 횟수 상위 limit 개의 id
+     */
+    public List<Long> topKeys(int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * 오래된 인기도가 계속 남지 않도록 횟수를 절반으로 줄이고, 0 이 된 id 는 제거
+     */
+    public void decay() {
+        counts.entrySet().removeIf(entry -> {
+            LongAdder count = entry.getValue();
+            long half = count.sumThenReset() / 2;
+            count.add(half);
+            return half == 0;
+        });
+    }
+}
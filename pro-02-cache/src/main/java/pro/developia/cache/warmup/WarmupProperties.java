@@ -0,0 +1,47 @@
+package pro.developia.cache.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+
+    /**
+     * hot key 스냅샷 파일 경로 (한 줄에 상품 id 하나)
+     */
+    private String snapshotPath = System.getProperty("java.io.tmpdir") + "/pro-02-cache/hot-keys.txt";
+
+    /**
+     * 스냅샷 주기 (@Scheduled 에서 직접 참조)
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+
+    /**
+     * 스냅샷에 기록할 상위 id 수
+     */
+    private int topKeys = 1_000;
+
+    /**
+     * 접근 횟수를 추적할 최대 id 수, 초과한 신규 id 는 다음 스냅샷 주기까지 추적하지 않는다
+     */
+    private int maxTrackedKeys = 100_000;
+
+    /**
+     * 기동 시 동시에 로드할 최대 id 수
+     * <p>
+     * 동시 로드는 MissBatcher 가 findAllById 한 번으로 묶으므로, miss-batch 의 max-batch-size 만큼 두면
+     * warm-up 시간은 약 (top-keys / concurrency) x 저장소 조회 지연이 된다. timeout 안에 끝나도록 함께 정한다.
+     */
+    private int concurrency = 128;
+
+    /**
+     * warm-up 최대 소요 시간, 초과하면 남은 id 는 포기하고 트래픽을 받는다
+     */
+    private Duration timeout = Duration.ofMinutes(2);
+}
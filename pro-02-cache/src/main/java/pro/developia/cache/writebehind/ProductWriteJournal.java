@@ -0,0 +1,185 @@
+package pro.developia.cache.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+import pro.developia.cache.product.ProductCodec;
+import pro.developia.cache.product.ProductWrite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 아직 저장소에 반영되지 않은 상품 변경을 기록하는 append-only 파일
+ * <p>
+ * 레코드: 본문 길이(int) / CRC32C(int) / 본문(삭제 여부 byte + id long + {@link ProductCodec} 으로 인코딩한 상품).
+ * 기록 도중 종료되어 잘린 마지막 레코드는 CRC 가 맞지 않으므로 복구 시 버린다.
+ * append/force 는 동시에 호출할 수 있고, rewrite 는 둘과 배타적으로 실행된다.
+ */
+@Slf4j
+public class ProductWriteJournal implements AutoCloseable {
+    private static final int HEADER = Integer.BYTES * 2;
+    private static final int BODY_HEADER = 1 + Long.BYTES;
+    private static final byte UPSERT = 0;
+    private static final byte DELETE = 1;
+
+    private final Path path;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+
+    public ProductWriteJournal(String path) {
+        this.path = Paths.get(path);
+        try {
+            Files.createDirectories(this.path.toAbsolutePath().getParent());
+            this.channel = open(this.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 마지막으로 정상 기록된 레코드까지 순서대로 반환
+     */
+    public List<ProductWrite> replay() {
+        List<ProductWrite> writes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            while (buffer.remaining() >= HEADER) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < BODY_HEADER || length > buffer.remaining() || checksum(buffer, buffer.position(), length) != checksum) {
+                    log.warn("저널 끝의 손상된 레코드를 버립니다. path={}, offset={}", path, buffer.position() - HEADER);
+                    break;
+                }
+                int body = buffer.position();
+                byte type = buffer.get(body);
+                long id = buffer.getLong(body + 1);
+                writes.add(type == DELETE
+                        ? ProductWrite.delete(id)
+                        : ProductWrite.upsert(ProductCodec.decode(buffer, body + BODY_HEADER)));
+                buffer.position(body + length);
+            }
+            return writes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void append(ProductWrite write) {
+        ByteBuffer record = encode(write);
+        lock.readLock().lock();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 지금까지 append 한 레코드를 디스크에 기록, 여러 스레드의 append 를 한 번에 내려보낸다
+     */
+    public void force() {
+        lock.readLock().lock();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * writes 만 담은 새 저널로 교체
+     */
+    public void rewrite(Collection<ProductWrite> writes) {
+        lock.writeLock().lock();
+        try {
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), "product-writes", ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                for (ProductWrite write : writes) {
+                    ByteBuffer record = encode(write);
+                    while (record.hasRemaining()) {
+                        out.write(record);
+                    }
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("저널을 닫지 못했습니다. path={}", path, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static ByteBuffer encode(ProductWrite write) {
+        int productSize = write.isDelete() ? 0 : ProductCodec.encodedSize(write.product());
+        if (productSize < 0) {
+            throw new IllegalArgumentException("저널에 기록할 수 없는 상품입니다. id=" + write.id());
+        }
+        int length = BODY_HEADER + productSize;
+        ByteBuffer record = ByteBuffer.allocate(HEADER + length);
+        record.put(HEADER, write.isDelete() ? DELETE : UPSERT);
+        record.putLong(HEADER + 1, write.id());
+        if (!write.isDelete()) {
+            ProductCodec.encode(write.product(), record, HEADER + BODY_HEADER, productSize);
+        }
+        record.putInt(0, length);
+        record.putInt(Integer.BYTES, checksum(record, HEADER, length));
+        return record;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
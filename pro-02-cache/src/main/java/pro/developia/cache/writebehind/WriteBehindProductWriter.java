@@ -0,0 +1,306 @@
+package pro.developia.cache.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductRepository;
+import pro.developia.cache.product.ProductWrite;
+import pro.developia.cache.product.ProductWriter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+/**
+ * 상품 변경을 저널에 기록하고 바로 반환한 뒤, 별도 스레드가 모아서 저장소에 반영하는 ProductWriter
+ * <p>
+ * 같은 id 의 변경은 마지막 것만 남기고(coalescing), batchSize 만큼 쌓이거나 flushInterval 이 지나면 saveAll/deleteAllById 로 보낸다.
+ * 반영 전 변경은 {@link #pending(Long)} 으로 조회되므로 캐시에서 밀려나도 로더가 이전 값을 읽지 않는다.
+ * 대기 중인 상품 수가 maxPending 을 넘으면 요청 스레드가 자리가 날 때까지 기다리고, 그래도 없으면 직접 저장소에 쓴다.
+ * 직접 쓰는 변경도 저널에 남긴다. 저널에는 이미 반영된 변경도 compact 전까지 남아 있으므로,
+ * 빠뜨리면 복구 때 이전 변경이 더 최신인 직접 쓰기 값을 덮어쓴다.
+ */
+@Slf4j
+public class WriteBehindProductWriter implements ProductWriter, AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final ProductRepository productRepository;
+    private final WriteBehindProperties properties;
+    private final ProductWriteJournal journal;
+
+    private final ConcurrentMap<Long, ProductWrite> pending = new ConcurrentHashMap<>();
+    // 저널 순서와 pending 의 마지막 값이 어긋나지 않도록 append 와 put 을 함께 묶는다
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Timer writeBehindTimer;
+    private final Timer writeThroughTimer;
+    private final Timer flushTimer;
+    private final Counter coalescedCounter;
+    private final Counter flushedCounter;
+    private final Counter flushFailedCounter;
+
+    public WriteBehindProductWriter(ProductRepository productRepository, WriteBehindProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.journal = new ProductWriteJournal(properties.getJournalPath());
+
+        this.writeBehindTimer = Timer.builder("product.write").tag("mode", "write-behind").register(meterRegistry);
+        this.writeThroughTimer = Timer.builder("product.write").tag("mode", "write-through").register(meterRegistry);
+        this.flushTimer = Timer.builder("product.write.flush").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("product.write.coalesced")
+                .description("반영 전에 같은 id 의 더 최신 변경으로 대체된 변경")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("product.write.flushed").register(meterRegistry);
+        this.flushFailedCounter = Counter.builder("product.write.flush.failures").register(meterRegistry);
+        Gauge.builder("product.write.pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder("product.write.journal.size", journal, ProductWriteJournal::size)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        recover();
+        this.flusher = Thread.ofPlatform()
+                .name("product-write-behind")
+                .daemon(true)
+                .start(this::flushLoop);
+    }
+
+    @Override
+    public void write(ProductWrite write) {
+        long start = System.nanoTime();
+        if (!awaitCapacity(write.id())) {
+            // 자리가 나지 않으면 요청 스레드에서 직접 써서 생산 속도를 늦춘다
+            writeThrough(write);
+            writeThroughTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        lock.lock();
+        try {
+            journal.append(write);
+            if (pending.put(write.id(), write) != null) {
+                coalescedCounter.increment();
+            }
+            if (pending.size() >= properties.getBatchSize()) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 락 밖에서 fsync 하여 동시에 들어온 append 를 한 번에 내려보낸다
+        if (properties.isJournalFsync()) {
+            journal.force();
+        }
+        writeBehindTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Nullable
+    @Override
+    public ProductWrite pending(Long id) {
+        return pending.get(id);
+    }
+
+    @Override
+    public LongStream pendingUpsertIds() {
+        return pending.values().stream()
+                .filter(write -> !write.isDelete())
+                .mapToLong(ProductWrite::id);
+    }
+
+    public int pendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * 대기 중인 변경을 모두 저장소에 반영할 때까지 기다린다
+     */
+    public void flush() {
+        while (!pending.isEmpty()) {
+            flushBatch();
+        }
+    }
+
+    private boolean awaitCapacity(Long id) {
+        if (!running) {
+            return false;
+        }
+        if (pending.size() < properties.getMaxPending() || pending.containsKey(id)) {
+            return true;
+        }
+        long remaining = properties.getOfferTimeout().toNanos();
+        lock.lock();
+        try {
+            flushRequested.signal();
+            while (pending.size() >= properties.getMaxPending() && !pending.containsKey(id)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeThrough(ProductWrite write) {
+        lock.lock();
+        try {
+            journal.append(write);
+        } finally {
+            lock.unlock();
+        }
+        if (properties.isJournalFsync()) {
+            journal.force();
+        }
+        if (write.isDelete()) {
+            productRepository.deleteById(write.id());
+        } else {
+            productRepository.save(write.product());
+        }
+    }
+
+    private void flushLoop() {
+        while (running || !pending.isEmpty()) {
+            lock.lock();
+            try {
+                if (running && pending.size() < properties.getBatchSize()) {
+                    flushRequested.await(properties.getFlushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                flushBatch();
+            } catch (RuntimeException e) {
+                flushFailedCounter.increment();
+                log.warn("상품 변경 {}건을 저장소에 반영하지 못했습니다. 다음 주기에 다시 시도합니다.", pending.size(), e);
+                pause();
+            }
+        }
+    }
+
+    private void flushBatch() {
+        List<ProductWrite> batch = pending.values().stream()
+                .limit(properties.getBatchSize())
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Product> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (ProductWrite write : batch) {
+            if (write.isDelete()) {
+                deletes.add(write.id());
+            } else {
+                upserts.add(write.product());
+            }
+        }
+        long start = System.nanoTime();
+        productRepository.saveAll(upserts);
+        productRepository.deleteAllById(deletes);
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushedCounter.increment(batch.size());
+
+        lock.lock();
+        try {
+            // 반영하는 사이 더 최신 변경이 들어온 id 는 남겨둔다
+            batch.forEach(write -> pending.remove(write.id(), write));
+            notFull.signalAll();
+            if (journal.size() > properties.getJournalCompactSize().toBytes()) {
+                journal.rewrite(pending.values());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이전 실행에서 반영하지 못한 변경을 저널에서 읽어 다시 대기열에 올린다
+     */
+    private void recover() {
+        Map<Long, ProductWrite> recovered = new LinkedHashMap<>();
+        for (ProductWrite write : journal.replay()) {
+            recovered.put(write.id(), write);
+        }
+        pending.putAll(recovered);
+        // 잘린 레코드나 이미 대체된 변경을 정리
+        journal.rewrite(recovered.values());
+        if (!recovered.isEmpty()) {
+            log.info("저널에서 반영되지 않은 상품 변경 {}건을 복구했습니다.", recovered.size());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getFlushInterval());
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    /**
+     * 대기 중인 변경을 반영하지 않고 flusher 와 저널만 닫는다, 비정상 종료 후의 복구를 검증할 때 사용
+     */
+    void halt() {
+        lock.lock();
+        try {
+            running = false;
+            pending.clear();
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    /**
+     * 종료 시 대기 중인 변경을 모두 반영한 뒤 저널을 비운다
+     */
+    @Override
+    public void close() {
+        // 저널 FileChannel 이 interrupt 로 닫히지 않도록 interrupt 대신 signal 로 깨운다
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.isEmpty()) {
+            journal.rewrite(List.of());
+        } else {
+            log.warn("종료 시점에 반영하지 못한 상품 변경 {}건은 다음 기동 때 저널에서 복구합니다.", pending.size());
+        }
+        journal.close();
+    }
+}
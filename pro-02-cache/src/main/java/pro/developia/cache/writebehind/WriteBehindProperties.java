@@ -0,0 +1,48 @@
+package pro.developia.cache.writebehind;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.write-behind")
+public class WriteBehindProperties {
+    /**
+     * 한 번에 저장소로 보내는 최대 변경 수, 대기 중인 변경이 이만큼 쌓이면 주기를 기다리지 않고 바로 보낸다
+     */
+    private int batchSize = 500;
+
+    /**
+     * 변경이 적을 때의 최대 반영 지연
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 메모리에 들고 있는 최대 상품 수 (같은 id 의 변경은 하나로 합쳐진다)
+     */
+    private int maxPending = 100_000;
+
+    /**
+     * 가득 찼을 때 자리가 나기를 기다리는 시간, 넘으면 요청 스레드에서 직접 저장소에 쓴다
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /**
+     * 반영 전 변경을 기록하는 로컬 저널, 재기동 시 남은 변경을 다시 반영한다
+     */
+    private String journalPath = System.getProperty("java.io.tmpdir") + "/pro-02-cache/product-writes.journal";
+
+    /**
+     * 응답 전에 저널을 디스크에 fsync 할지 여부, false 면 OS 장애 시 마지막 변경이 유실될 수 있다
+     */
+    private boolean journalFsync = true;
+
+    /**
+     * 저널이 이 크기를 넘으면 아직 반영되지 않은 변경만 남기고 다시 쓴다
+     */
+    private DataSize journalCompactSize = DataSize.ofMegabytes(16);
+}
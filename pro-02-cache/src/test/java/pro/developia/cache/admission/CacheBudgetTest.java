@@ -0,0 +1,245 @@
+package pro.developia.cache.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.util.unit.DataSize;
+import pro.developia.cache.config.CaffeineCacheConfig;
+import pro.developia.cache.config.EhcacheConfig;
+import pro.developia.cache.ehcache.EhcacheTierProperties;
+import pro.developia.cache.ehcache.TieredCacheManagerFactory;
+import pro.developia.cache.product.Product;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class CacheBudgetTest {
+    private static final DataSize BUDGET = DataSize.ofKilobytes(32);
+    private static final int HOT_KEYS = 50;
+
+    @TempDir
+    Path diskPath;
+
+    @Test
+    @DisplayName("상품명 길이가 제각각이어도 추정 retained 크기 합은 예산을 넘지 않고, 장부와 실제 엔트리가 일치한다.")
+    void weightStaysWithinBudget() {
+        ConcurrentMapCache delegate = new ConcurrentMapCache("products");
+        BudgetedCache cache = new BudgetedCache(delegate, properties(), new SimpleMeterRegistry());
+        Random random = new Random(42);
+
+        for (long id = 1; id <= 10_000; id++) {
+            cache.get(id);
+            cache.put(id, product(id, random.nextInt(200)));
+            assertThat(cache.weight()).isLessThanOrEqualTo(BUDGET.toBytes());
+        }
+
+        long actual = 0;
+        for (Map.Entry<Object, Object> entry : delegate.getNativeCache().entrySet()) {
+            actual += RetainedSizeEstimator.estimate(entry.getKey(), entry.getValue());
+        }
+        assertThat(cache.weight()).isEqualTo(actual);
+
+        cache.clear();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    @DisplayName("예산보다 큰 값 하나는 저장하지 않는다.")
+    void rejectsValueLargerThanBudget() {
+        ConcurrentMapCache delegate = new ConcurrentMapCache("product-responses");
+        BudgetedCache cache = new BudgetedCache(delegate, properties(), new SimpleMeterRegistry());
+
+        cache.put(1L, new byte[(int) BUDGET.toBytes()]);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 번씩만 읽히는 scan 이 지나가도 hot set 은 캐시에 남는다. (ehcache 데코레이터 / caffeine weigher)")
+    void hotSetSurvivesScan() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BudgetedCache budgeted = new BudgetedCache(new ConcurrentMapCache("products"), properties(), meterRegistry);
+        double budgetedHitRatio = hotHitRatioDuringScan(budgeted, () -> {
+        });
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = new CaffeineCacheConfig()
+                .caffeine(properties(), Duration.ofMinutes(10))
+                .executor(Runnable::run)
+                .build();
+        double caffeineHitRatio = hotHitRatioDuringScan(new CaffeineCache("products", caffeine), caffeine::cleanUp);
+
+        log.info("""
+                        scan 중 hot key 적중률 (예산 {}KB, hot {}개)
+                        BudgetedCache(ehcache)  : {}, 거절 {}건
+                        Caffeine weigher        : {}""",
+                BUDGET.toKilobytes(), HOT_KEYS,
+                budgetedHitRatio, meterRegistry.get("cache.budget.admissions").tag("result", "rejected").counter().count(),
+                caffeineHitRatio);
+
+        assertThat(budgetedHitRatio).isGreaterThan(0.95);
+        assertThat(caffeineHitRatio).isGreaterThan(0.95);
+        assertThat(budgeted.weight()).isLessThanOrEqualTo(BUDGET.toBytes());
+        assertThat(caffeine.policy().eviction().orElseThrow().weightedSize().orElseThrow()).isLessThanOrEqualTo(BUDGET.toBytes());
+    }
+
+    @Test
+    @DisplayName("ehcache: heap 예산은 heap 계층에만 적용되어, 예산을 넘는 엔트리도 off-heap/disk 계층에 남는다.")
+    void tieredCacheKeepsEntriesBeyondHeapBudget() {
+        EhcacheTierProperties tierProperties = tierProperties();
+        try (CacheManager jCacheCacheManager = TieredCacheManagerFactory.create(tierProperties)) {
+            BudgetedCache cache = (BudgetedCache) new EhcacheConfig()
+                    .cacheManager(jCacheCacheManager, tierProperties, properties(), new SimpleMeterRegistry())
+                    .getCache(TieredCacheManagerFactory.PRODUCTS);
+            int entries = 2_000;
+            long retained = 0;
+            long stored = 0;
+            for (long id = 1; id <= entries; id++) {
+                Product product = product(id, 10);
+                cache.put(id, product);
+                retained += RetainedSizeEstimator.estimate(id, product);
+                stored += StoredSizeEstimator.estimate(id, product);
+            }
+
+            assertThat(retained).isGreaterThan(BUDGET.toBytes() * 4);
+            assertThat(LongStream.rangeClosed(1, entries).allMatch(id -> cache.get(id) != null)).isTrue();
+            assertThat(cache.weight()).isEqualTo(stored);
+            assertThat(cache.maxWeight()).isEqualTo(tierProperties.getDiskSize().toBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("ehcache: persistent disk 계층에서 복원된 엔트리는 기동 시 순회하지 않고, 처음 HIT 될 때 장부에 올린다.")
+    void seedsLedgerFromRestoredDiskTierOnHit() {
+        EhcacheTierProperties tierProperties = tierProperties();
+        long stored = 0;
+        try (CacheManager jCacheCacheManager = TieredCacheManagerFactory.create(tierProperties)) {
+            javax.cache.Cache<Long, Product> cache = jCacheCacheManager.getCache(TieredCacheManagerFactory.PRODUCTS, Long.class, Product.class);
+            for (long id = 1; id <= 100; id++) {
+                cache.put(id, product(id, 10));
+                stored += StoredSizeEstimator.estimate(id, product(id, 10));
+            }
+        }
+
+        try (CacheManager restarted = TieredCacheManagerFactory.create(tierProperties)) {
+            BudgetedCache cache = (BudgetedCache) new EhcacheConfig()
+                    .cacheManager(restarted, tierProperties, properties(), new SimpleMeterRegistry())
+                    .getCache(TieredCacheManagerFactory.PRODUCTS);
+
+            assertThat(cache.weight()).isZero();
+            for (long id = 1; id <= 100; id++) {
+                assertThat(cache.get(id)).isNotNull();
+            }
+            assertThat(cache.weight()).isEqualTo(stored);
+            cache.get(1L);
+            assertThat(cache.weight()).isEqualTo(stored);
+            cache.evict(1L);
+            assertThat(cache.weight()).isEqualTo(stored - StoredSizeEstimator.estimate(1L, product(1L, 10)));
+        }
+    }
+
+    @Test
+    @DisplayName("추정 크기는 상품명 길이와 문자 종류(Latin1/UTF16)를 반영한다.")
+    void estimatesRetainedSize() {
+        Product shortLatin = new Product(1L, "a", BigDecimal.TEN, LocalDateTime.of(2025, 1, 1, 0, 0));
+        Product longLatin = new Product(1L, "a".repeat(100), BigDecimal.TEN, LocalDateTime.of(2025, 1, 1, 0, 0));
+        Product longKorean = new Product(1L, "가".repeat(100), BigDecimal.TEN, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertThat(RetainedSizeEstimator.sizeOf(longLatin) - RetainedSizeEstimator.sizeOf(shortLatin)).isBetween(96L, 104L);
+        assertThat(RetainedSizeEstimator.sizeOf(longKorean) - RetainedSizeEstimator.sizeOf(longLatin)).isEqualTo(96L);
+        assertThat(RetainedSizeEstimator.sizeOf(new byte[1_000])).isEqualTo(1_016L);
+        assertThat(RetainedSizeEstimator.estimate(1L, null)).isEqualTo(RetainedSizeEstimator.ENTRY_OVERHEAD);
+    }
+
+    @Test
+    @DisplayName("sketch 는 접근 빈도 순서를 구분하고, 증가 횟수가 sampleSize 에 도달하면 빈도를 절반으로 줄인다.")
+    void sketchCountsAndAges() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        assertThat(sketch.frequency("hot")).isEqualTo(15);
+        assertThat(sketch.frequency("cold")).isBetween(1, 3);
+        assertThat(sketch.frequency("unknown")).isLessThan(sketch.frequency("hot"));
+
+        for (int i = 0; i < 1_000; i++) {
+            sketch.increment("scan-" + i);
+        }
+
+        assertThat(sketch.frequency("hot")).isLessThanOrEqualTo(10);
+    }
+
+    /**
+     * hot key 를 충분히 읽어 둔 뒤, 한 번씩만 읽히는 키 10,000개 사이사이에 hot key 를 섞어 읽는다
+     */
+    private static double hotHitRatioDuringScan(Cache cache, Runnable maintenance) {
+        for (int round = 0; round < 20; round++) {
+            for (long id = 1; id <= HOT_KEYS; id++) {
+                read(cache, id);
+            }
+        }
+        maintenance.run();
+
+        int hits = 0;
+        int reads = 0;
+        for (long id = 1_000; id < 11_000; id++) {
+            read(cache, id);
+            if (id % 5 == 0) {
+                reads++;
+                if (read(cache, id / 5 % HOT_KEYS + 1)) {
+                    hits++;
+                }
+            }
+        }
+        maintenance.run();
+        return (double) hits / reads;
+    }
+
+    /**
+     * @return HIT 여부
+     */
+    private static boolean read(Cache cache, long id) {
+        if (cache.get(id) != null) {
+            return true;
+        }
+        cache.put(id, product(id, 10));
+        return false;
+    }
+
+    private EhcacheTierProperties tierProperties() {
+        EhcacheTierProperties properties = new EhcacheTierProperties();
+        properties.setHeapSize(BUDGET);
+        properties.setOffheapSize(DataSize.ofMegabytes(1));
+        properties.setDiskSize(DataSize.ofMegabytes(8));
+        properties.setDiskPath(diskPath.toString());
+        properties.setPersistent(true);
+        return properties;
+    }
+
+    private static CacheBudgetProperties properties() {
+        CacheBudgetProperties properties = new CacheBudgetProperties();
+        properties.setMaxSize(BUDGET);
+        properties.setSketchEntries(10_000);
+        return properties;
+    }
+
+    private static Product product(long id, int nameLength) {
+        return new Product(id, "p".repeat(nameLength + 1), BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,153 @@
+package pro.developia.cache.batch;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MissBatcherTest {
+    private static final Duration READ_LATENCY = Duration.ofMillis(50);
+
+    private final ProductRepository productRepository = new ProductRepository(1_000, READ_LATENCY, Duration.ZERO);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MissBatcher<Long, Product> batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.close();
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("products 캐시의 서로 다른 id 동시 MISS 는 findAllById 한 번으로 로드되고, 각 호출자는 자기 상품을 받는다.")
+    void coalescesConcurrentMissesIntoOneLoad() {
+        batcher = batcher(Duration.ofMillis(200), 128);
+        // caffeine 프로필처럼 AsyncCache 로 만든 캐시, 컨트롤러의 findProductByIdAsync 와 같은 Cache.retrieve 경로
+        Cache cache = new CaffeineCache("products", Caffeine.newBuilder().buildAsync(), false);
+
+        List<CompletableFuture<Product>> results = LongStream.rangeClosed(1, 64)
+                .mapToObj(id -> cache.<Product>retrieve(id, () -> batcher.load(id)))
+                .toList();
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join().getId()).isEqualTo(i + 1L);
+        }
+        assertThat(productRepository.readCalls()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.miss.batch.size").summary().max()).isEqualTo(64);
+
+        // 캐시에 올라간 뒤에는 로더를 거치지 않는다
+        assertThat(cache.<Product>retrieve(1L, () -> batcher.load(1L)).join().getId()).isEqualTo(1L);
+        assertThat(productRepository.readCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 배치의 같은 id 는 같은 future 를 받고, DB 에 없는 id 는 null 로 완료된다.")
+    void dedupesKeysAndCompletesMissingWithNull() {
+        batcher = batcher(Duration.ofMillis(50), 128);
+
+        CompletableFuture<Product> first = batcher.load(7L);
+        CompletableFuture<Product> second = batcher.load(7L);
+        CompletableFuture<Product> missing = batcher.load(5_000L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.join().getId()).isEqualTo(7L);
+        assertThat(missing.join()).isNull();
+        assertThat(productRepository.readCalls()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.miss.batch.deduped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("maxBatchSize 만큼 모이면 window 를 기다리지 않고 바로 로드하고, 남은 키는 close 시 로드한다.")
+    void dispatchesFullBatchesWithoutWaitingForWindow() {
+        batcher = batcher(Duration.ofHours(1), 4);
+
+        List<CompletableFuture<Product>> futures = LongStream.rangeClosed(1, 9)
+                .mapToObj(batcher::load)
+                .toList();
+
+        CompletableFuture.allOf(futures.subList(0, 8).toArray(CompletableFuture[]::new)).join();
+        assertThat(productRepository.readCalls()).isEqualTo(2);
+        assertThat(futures.get(8)).isNotDone();
+
+        batcher.close();
+        assertThat(futures.get(8).join().getId()).isEqualTo(9L);
+        assertThat(productRepository.readCalls()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("일괄 로드가 실패하면 배치의 모든 호출자가 같은 예외를 받고, 다음 배치는 다시 로드한다.")
+    void propagatesBatchFailureToEveryCaller() {
+        AtomicInteger attempts = new AtomicInteger();
+        batcher = new MissBatcher<>("products", ids -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("DB 연결 실패");
+            }
+            return load(ids);
+        }, executor, properties(Duration.ofMillis(50), 128), meterRegistry);
+
+        CompletableFuture<Product> first = batcher.load(1L);
+        CompletableFuture<Product> second = batcher.load(2L);
+        for (CompletableFuture<Product> future : List.of(first, second)) {
+            assertThatThrownBy(future::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(batcher.load(1L).join().getId()).isEqualTo(1L);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 MISS 마다 한 건씩 바로 로드한다.")
+    void disabledLoadsEachMissSeparately() {
+        MissBatchProperties properties = properties(Duration.ofMillis(200), 128);
+        properties.setEnabled(false);
+        batcher = new MissBatcher<>("products", this::load, executor, properties, meterRegistry);
+
+        List<CompletableFuture<Product>> futures = LongStream.rangeClosed(1, 8)
+                .mapToObj(batcher::load)
+                .toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(productRepository.readCalls()).isEqualTo(8);
+    }
+
+    private MissBatcher<Long, Product> batcher(Duration window, int maxBatchSize) {
+        return new MissBatcher<>("products", this::load, executor, properties(window, maxBatchSize), meterRegistry);
+    }
+
+    private Map<Long, Product> load(Set<Long> ids) {
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private static MissBatchProperties properties(Duration window, int maxBatchSize) {
+        MissBatchProperties properties = new MissBatchProperties();
+        properties.setWindow(window);
+        properties.setMaxBatchSize(maxBatchSize);
+        return properties;
+    }
+}
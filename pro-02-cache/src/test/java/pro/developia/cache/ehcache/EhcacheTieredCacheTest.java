@@ -0,0 +1,109 @@
+package pro.developia.cache.ehcache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import pro.developia.cache.product.Product;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class EhcacheTieredCacheTest {
+    private static final int ENTRY_COUNT = 50_000;
+
+    @TempDir
+    Path diskPath;
+
+    @Test
+    @DisplayName("persistent disk 계층: CacheManager 를 닫고 다시 생성해도 저장된 엔트리를 그대로 조회한다.")
+    void survivesRestart() {
+        EhcacheTierProperties properties = properties();
+
+        CacheManager cacheManager = TieredCacheManagerFactory.create(properties);
+        Cache<Long, Product> cache = cacheManager.getCache(TieredCacheManagerFactory.PRODUCTS, Long.class, Product.class);
+        for (long id = 0; id < ENTRY_COUNT; id++) {
+            cache.put(id, product(id));
+        }
+        cacheManager.close(); // 배포로 인한 종료
+
+        CacheManager restarted = TieredCacheManagerFactory.create(properties);
+        Cache<Long, Product> restartedCache = restarted.getCache(TieredCacheManagerFactory.PRODUCTS, Long.class, Product.class);
+        int hits = 0;
+        for (long id = 0; id < ENTRY_COUNT; id++) {
+            Product product = restartedCache.get(id);
+            if (product != null) {
+                hits++;
+                assertThat(product).isEqualTo(product(id));
+            }
+        }
+        restarted.close();
+
+        double hitRate = (double) hits / ENTRY_COUNT;
+        log.info("재시작 후 hit rate: {} ({}/{})", hitRate, hits, ENTRY_COUNT);
+        assertThat(hitRate).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("heap 계층을 제한하면 heap-only 캐시보다 힙 사용량이 적다.")
+    void tieredCacheUsesLessHeapThanHeapOnly() {
+        CachingProvider cachingProvider = Caching.getCachingProvider();
+        CacheManager heapOnlyManager = cachingProvider.getCacheManager(diskPath.resolve("heap-only").toUri(),
+                cachingProvider.getDefaultClassLoader());
+        Cache<Long, Product> heapOnly = heapOnlyManager.createCache("heapOnly", new MutableConfiguration<Long, Product>()
+                .setTypes(Long.class, Product.class)
+                .setStoreByValue(false));
+
+        long before = usedHeap();
+        for (long id = 0; id < ENTRY_COUNT; id++) {
+            heapOnly.put(id, product(id));
+        }
+        long heapOnlyFootprint = usedHeap() - before;
+        heapOnlyManager.close();
+
+        CacheManager tieredManager = TieredCacheManagerFactory.create(properties());
+        Cache<Long, Product> tiered = tieredManager.getCache(TieredCacheManagerFactory.PRODUCTS, Long.class, Product.class);
+        before = usedHeap();
+        for (long id = 0; id < ENTRY_COUNT; id++) {
+            tiered.put(id, product(id));
+        }
+        long tieredFootprint = usedHeap() - before;
+        tieredManager.close();
+
+        log.info("{}건 힙 사용량 - heap-only: {}KB, heap/off-heap/disk: {}KB",
+                ENTRY_COUNT, heapOnlyFootprint / 1024, tieredFootprint / 1024);
+        assertThat(tieredFootprint).isLessThan(heapOnlyFootprint);
+    }
+
+    private EhcacheTierProperties properties() {
+        EhcacheTierProperties properties = new EhcacheTierProperties();
+        properties.setHeapEntries(1_000);
+        properties.setOffheapSize(DataSize.ofMegabytes(16));
+        properties.setDiskSize(DataSize.ofMegabytes(64));
+        properties.setDiskPath(diskPath.resolve("tiered").toString());
+        properties.setPersistent(true);
+        return properties;
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,158 @@
+package pro.developia.cache.hotkey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import pro.developia.cache.product.Product;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyCacheTest {
+    private static final long VIRAL_ID = 1L;
+
+    private HotKeyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CountingCache remote;
+    private HotKeyCacheManager cacheManager;
+    private HotKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotKeyProperties();
+        properties.setMaxHotKeys(8);
+        properties.setLocalTtl(Duration.ofMinutes(10)); // 테스트 도중 만료되지 않도록
+        meterRegistry = new SimpleMeterRegistry();
+        remote = new CountingCache("products");
+        SimpleCacheManager remoteCacheManager = new SimpleCacheManager();
+        remoteCacheManager.setCaches(List.of(remote, new ConcurrentMapCache("product-responses")));
+        remoteCacheManager.afterPropertiesSet();
+        cacheManager = new HotKeyCacheManager(remoteCacheManager, properties, meterRegistry);
+        cache = (HotKeyCache) cacheManager.getCache("products");
+    }
+
+    @Test
+    @DisplayName("조회의 절반이 한 상품에 몰리면 그 상품만 hot key 가 되고, 이후에는 원격 캐시를 거의 조회하지 않는다.")
+    void promotesViralKeyToLocalReplica() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            read(cache, i % 2 == 0 ? VIRAL_ID : 1_000 + random.nextInt(99_000));
+        }
+
+        assertThat(remote.lookups(VIRAL_ID)).isLessThan(20);
+        assertThat(meterRegistry.get("cache.hotkey.local").tag("result", "hit").counter().count()).isGreaterThan(9_900);
+        assertThat(new HotKeyMonitor(cacheManager, properties).hotKeys().get("products"))
+                .extracting(HotKeyStat::key)
+                .containsExactly(String.valueOf(VIRAL_ID));
+        assertThat(cacheManager.getCache("product-responses")).isNotInstanceOf(HotKeyCache.class);
+    }
+
+    @Test
+    @DisplayName("트래픽이 다른 상품으로 옮겨가면 식은 hot key 는 내려가고 다시 원격 캐시에서 조회한다.")
+    void demotesCooledKey() {
+        for (int i = 0; i < 100; i++) {
+            read(cache, VIRAL_ID);
+        }
+        assertThat(cache.getDetector().isHot(VIRAL_ID)).isTrue();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 30_000; i++) {
+            read(cache, 1_000 + random.nextInt(99_000));
+        }
+        new HotKeyMonitor(cacheManager, properties).demoteCooled();
+        int lookups = remote.lookups(VIRAL_ID);
+        cache.get(VIRAL_ID);
+
+        assertThat(cache.getDetector().isHot(VIRAL_ID)).isFalse();
+        assertThat(cache.getDetector().demotions()).isEqualTo(1);
+        assertThat(remote.lookups(VIRAL_ID)).isEqualTo(lookups + 1);
+    }
+
+    @Test
+    @DisplayName("이 인스턴스에서 값을 바꾸면 로컬 복제본도 바로 갱신된다.")
+    void putInvalidatesLocalReplica() {
+        for (int i = 0; i < 100; i++) {
+            read(cache, VIRAL_ID);
+        }
+
+        cache.put(VIRAL_ID, product(VIRAL_ID, "변경된 상품"));
+
+        assertThat(cache.get(VIRAL_ID, Product.class).getName()).isEqualTo("변경된 상품");
+        assertThat(cache.<Product>retrieve(VIRAL_ID, () -> {
+            throw new AssertionError("캐시에 있는 값은 로드하지 않는다");
+        }).join().getName()).isEqualTo("변경된 상품");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 조회해도 hot key 수는 maxHotKeys 를 넘지 않는다.")
+    void boundsHotKeysUnderConcurrency() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        // 상위 32개 상품에 조회의 절반이 몰린다
+                        read(cache, i % 2 == 0 ? random.nextInt(32) : 1_000 + random.nextInt(99_000));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(cache.getDetector().size()).isEqualTo(properties.getMaxHotKeys());
+        assertThat(cache.getDetector().hotKeys()).hasSize(properties.getMaxHotKeys())
+                .allMatch(stat -> Long.parseLong(stat.key()) < 32);
+    }
+
+    private static void read(Cache cache, long id) {
+        if (cache.get(id) == null) {
+            cache.put(id, product(id, "상품" + id));
+        }
+    }
+
+    private static Product product(long id, String name) {
+        return new Product(id, name, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+
+    /**
+     * 키별 원격 조회 횟수를 세는 캐시
+     */
+    private static class CountingCache extends ConcurrentMapCache {
+        private final Map<Object, AtomicInteger> lookups = new ConcurrentHashMap<>();
+
+        CountingCache(String name) {
+            super(name);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            lookups.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return super.lookup(key);
+        }
+
+        int lookups(Object key) {
+            AtomicInteger count = lookups.get(key);
+            return count != null ? count.get() : 0;
+        }
+    }
+}
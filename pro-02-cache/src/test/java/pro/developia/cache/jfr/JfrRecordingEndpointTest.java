@@ -0,0 +1,113 @@
+package pro.developia.cache.jfr;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.unit.DataSize;
+import pro.developia.cache.metrics.CaffeineCacheBackend;
+import pro.developia.cache.metrics.InstrumentedCache;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.redis.TimedRedisSerializer;
+import pro.developia.cache.resilience.RedisResilienceProperties;
+import pro.developia.cache.resilience.ResilientCache;
+import pro.developia.common.jfr.JfrRecordingEndpoint;
+import pro.developia.common.jfr.JfrRecordingProperties;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint("pro-02-cache-test", List.of(
+            CacheLookupEvent.class,
+            CacheLoadEvent.class,
+            CacheSerializationEvent.class,
+            CircuitBreakerPermissionEvent.class,
+            CacheFallbackEvent.class), new JfrRecordingProperties());
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    @DisplayName("녹화를 시작하면 캐시 조회/로드/직렬화/breaker 허용 확인/fallback 이벤트가 기록되고 dump 로 내려받을 수 있다.")
+    void recordsCacheEventsAndDumps() throws Exception {
+        assertThat(endpoint.start(Duration.ofMinutes(1), DataSize.ofMegabytes(8), null).getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_OK);
+
+        Cache cache = new InstrumentedCache(new CaffeineCache("products", Caffeine.newBuilder().build()),
+                new CaffeineCacheBackend(), meterRegistry);
+        cache.get(1L, () -> product(1L));
+        cache.get(1L, () -> product(1L));
+
+        RedisSerializer<String> serializer = new TimedRedisSerializer<>(RedisSerializer.string(), meterRegistry);
+        serializer.deserialize(serializer.serialize("상품1"));
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("redisCache");
+        circuitBreaker.transitionToForcedOpenState();
+        Cache resilient = new ResilientCache(new CaffeineCache("products", Caffeine.newBuilder().build()),
+                circuitBreaker, new RedisResilienceProperties(), meterRegistry);
+        resilient.get(2L, () -> product(2L));
+
+        List<RecordedEvent> events = dump();
+
+        List<RecordedEvent> lookups = events(events, "pro.developia.cache.Lookup");
+        assertThat(lookups).extracting(event -> event.getBoolean("hit")).containsExactly(false, true);
+        assertThat(lookups).allSatisfy(event -> {
+            assertThat(event.getString("backend")).isEqualTo("caffeine");
+            assertThat(event.getString("key")).isEqualTo("1");
+        });
+        assertThat(lookups.get(1).getLong("bytes")).isPositive();
+
+        assertThat(events(events, "pro.developia.cache.Load"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getBoolean("success")).isTrue());
+
+        assertThat(events(events, "pro.developia.cache.Serialization"))
+                .extracting(event -> event.getString("operation") + ":" + event.getLong("bytes"))
+                .containsExactly("serialize:7", "deserialize:7");
+
+        assertThat(events(events, "pro.developia.cache.CircuitBreakerPermission"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getBoolean("permitted")).isFalse();
+                    assertThat(event.getString("state")).isEqualTo("FORCED_OPEN");
+                });
+        assertThat(events(events, "pro.developia.cache.Fallback"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getString("source")).isEqualTo("loader"));
+    }
+
+    private List<RecordedEvent> dump() throws Exception {
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        return RecordingFile.readAllEvents(response.getBody().getFile().toPath());
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
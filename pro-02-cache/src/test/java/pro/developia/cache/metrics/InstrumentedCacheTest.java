@@ -0,0 +1,126 @@
+package pro.developia.cache.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class InstrumentedCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private CacheBackend backend;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        backend = new CacheBackend() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public double size(Cache cache) {
+                return ((ConcurrentMapCache) cache).getNativeCache().size();
+            }
+
+            @Override
+            public double evictions(Cache cache) {
+                return 0;
+            }
+        };
+        cache = new InstrumentedCache(new ConcurrentMapCache("products"), backend, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("get(key, loader): 첫 호출은 miss 와 load, 두 번째 호출은 hit 로 기록한다.")
+    void recordsHitMissAndLoad() {
+        cache.get(1L, () -> "상품1");
+        cache.get(1L, () -> "상품1");
+
+        assertThat(counter("cache.backend.gets", "result", "miss")).isEqualTo(1);
+        assertThat(counter("cache.backend.gets", "result", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.backend.loads").tags("backend", "test", "result", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.backend.size").tag("cache", "products").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("로더가 실패하면 failure 로 기록한다.")
+    void recordsLoadFailure() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        assertThat(meterRegistry.get("cache.backend.loads").tag("result", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("get(key) 와 put 도 구현체와 무관하게 집계한다.")
+    void recordsGetAndPut() {
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "상품1");
+        assertThat(cache.get(1L)).isNotNull();
+
+        assertThat(counter("cache.backend.gets", "result", "miss")).isEqualTo(1);
+        assertThat(counter("cache.backend.gets", "result", "hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.backend.puts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("retrieve 를 지원하지 않는 구현에서 진행 중인 로드에 합류한 요청도 miss 로 기록한다.")
+    void countsJoinedLoadAsMiss() {
+        Cache delegate = withoutAsyncSupport();
+        InstrumentedCache instrumented = new InstrumentedCache(delegate, backend, meterRegistry);
+        CompletableFuture<String> load = new CompletableFuture<>();
+
+        CompletableFuture<String> first = instrumented.retrieve(1L, () -> load);
+        CompletableFuture<String> joined = instrumented.retrieve(1L, () -> CompletableFuture.completedFuture("다른 로드"));
+        load.complete("상품1");
+
+        assertThat(first.join()).isEqualTo("상품1");
+        assertThat(joined.join()).isEqualTo("상품1");
+        assertThat(counter("cache.backend.gets", "result", "miss")).isEqualTo(2);
+        assertThat(counter("cache.backend.gets", "result", "hit")).isZero();
+        assertThat(meterRegistry.get("cache.backend.loads").tag("result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("로드 중에 evict 되면 로드 결과는 돌려주되 지우기 전 값을 다시 저장하지 않는다.")
+    void doesNotStoreValueLoadedBeforeEvict() {
+        Cache delegate = withoutAsyncSupport();
+        InstrumentedCache instrumented = new InstrumentedCache(delegate, backend, meterRegistry);
+        CompletableFuture<String> load = new CompletableFuture<>();
+
+        CompletableFuture<String> result = instrumented.retrieve(1L, () -> load);
+        instrumented.evict(1L);
+        load.complete("삭제 전 상품1");
+
+        assertThat(result.join()).isEqualTo("삭제 전 상품1");
+        assertThat(delegate.get(1L)).isNull();
+        assertThat(instrumented.retrieve(1L, () -> CompletableFuture.completedFuture("상품1")).join()).isEqualTo("상품1");
+        assertThat(delegate.get(1L)).isNotNull();
+    }
+
+    /**
+     * JCacheCache 처럼 retrieve 를 지원하지 않는 구현
+     */
+    private static Cache withoutAsyncSupport() {
+        Cache delegate = spy(new ConcurrentMapCache("products"));
+        doThrow(new UnsupportedOperationException()).when(delegate).retrieve(any(), any());
+        return delegate;
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tags("cache", "products", "backend", "test", tagKey, tagValue).counter().count();
+    }
+}
@@ -0,0 +1,63 @@
+package pro.developia.cache.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pro.developia.cache.config.RedisCacheConfig;
+import pro.developia.cache.support.RedisStandIn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCacheBackendTest {
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+    private Cache cache;
+    private RedisCacheBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        redis = RedisStandIn.start(0);
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.port()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisCacheManager cacheManager = new RedisCacheConfig().redisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), new SimpleMeterRegistry());
+        cacheManager.afterPropertiesSet();
+        cache = cacheManager.getCache("products");
+        backend = new RedisCacheBackend(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("크기 조회(scrape)는 Redis 를 호출하지 않고, 주기적인 refresh 에서 센 값을 돌려준다.")
+    void sizeIsServedFromLastRefresh() {
+        cache.put(1L, "상품1");
+        cache.put(2L, "상품2");
+
+        assertThat(backend.size(cache)).isNaN(); // 아직 센 적 없음
+        backend.refreshSizes();
+        assertThat(backend.size(cache)).isEqualTo(2);
+
+        cache.put(3L, "상품3");
+        long commands = redis.commandCount();
+        for (int i = 0; i < 100; i++) {
+            assertThat(backend.size(cache)).isEqualTo(2);
+        }
+        assertThat(redis.commandCount()).isEqualTo(commands);
+
+        backend.refreshSizes();
+        assertThat(backend.size(cache)).isEqualTo(3);
+    }
+}
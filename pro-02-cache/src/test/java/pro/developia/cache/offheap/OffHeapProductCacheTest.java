@@ -0,0 +1,203 @@
+package pro.developia.cache.offheap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import pro.developia.cache.product.Product;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class OffHeapProductCacheTest {
+    private static final int ONE_MILLION = 1_000_000;
+
+    @Test
+    @DisplayName("packing 후 다시 꺼낸 상품은 원본과 같고, 조회할 때마다 새 객체를 반환한다.")
+    void roundTrip() {
+        OffHeapProductCache cache = new OffHeapProductCache("products", new OffHeapProductStore(100, 96, 4, Duration.ZERO));
+        Product product = product(1L);
+
+        cache.put(1L, product);
+        Product cached = cache.get(1L, Product.class);
+
+        assertThat(cached).isEqualTo(product).isNotSameAs(product);
+        assertThat(cache.get(1L, Product.class)).isNotSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("삽입/삭제를 무작위로 반복해도 HashMap 과 같은 결과를 반환한다. (backward shift 삭제 검증)")
+    void matchesHashMapUnderRandomOperations() {
+        OffHeapProductStore store = new OffHeapProductStore(10_000, 96, 2, Duration.ZERO);
+        Map<Long, Product> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(store.remove(id)).isEqualTo(expected.remove(id) != null);
+            } else {
+                Product product = product(id);
+                store.put(id, product);
+                expected.put(id, product);
+            }
+        }
+
+        assertThat(store.size()).isEqualTo(expected.size());
+        for (long id = 0; id < 5_000; id++) {
+            assertThat(store.get(id)).isEqualTo(expected.get(id));
+        }
+    }
+
+    @Test
+    @DisplayName("최대 엔트리 수를 넘으면 CLOCK 으로 evict 하고, 최근 조회된 엔트리는 한 번 더 기회를 얻는다.")
+    void evictsWithClock() {
+        OffHeapProductStore store = new OffHeapProductStore(100, 96, 1, Duration.ZERO);
+        for (long id = 0; id < 100; id++) {
+            store.put(id, product(id));
+        }
+        // 첫 eviction 에서 모든 참조 비트가 꺼지므로, 그 뒤 다시 조회한 엔트리는 다음 스윕에서 살아남는다
+        store.put(100L, product(100L));
+        long survivor = LongStream.range(0, 100)
+                .filter(id -> store.get(id) != null)
+                .findFirst()
+                .orElseThrow();
+        for (long id = 101; id < 150; id++) {
+            store.put(id, product(id));
+        }
+
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.evictions()).isEqualTo(50);
+        assertThat(store.get(survivor)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 엔트리는 반환하지 않는다.")
+    void expiresAfterTimeToLive() {
+        MutableClock clock = new MutableClock();
+        OffHeapProductStore store = new OffHeapProductStore(100, 96, 1, Duration.ofMinutes(10), clock);
+        store.put(1L, product(1L));
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("슬롯보다 큰 상품은 캐시하지 않는다.")
+    void rejectsOversizedProduct() {
+        OffHeapProductStore store = new OffHeapProductStore(100, 64, 1, Duration.ZERO);
+        Product product = product(1L).withName("아주 긴 상품명".repeat(10));
+
+        assertThat(store.put(1L, product)).isFalse();
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("100만 건: heap 캐시(ConcurrentMapCache) 대비 힙 사용량과 Full GC 시간 비교")
+    void heapAndGcComparisonAtOneMillionEntries() {
+        long baseline = usedHeap();
+        Cache heapCache = new ConcurrentMapCache("products");
+        fill(heapCache);
+        long heapCacheFootprint = usedHeap() - baseline;
+        long heapCacheGc = fullGcMillis();
+        long heapCacheSize = ((ConcurrentMapCache) heapCache).getNativeCache().size();
+        heapCache = null;
+
+        baseline = usedHeap();
+        // 세그먼트별 키 분포 편차로 evict 되지 않도록 10% 여유
+        OffHeapProductStore store = new OffHeapProductStore(ONE_MILLION + ONE_MILLION / 10, 96, 16, Duration.ZERO);
+        Cache offHeapCache = new OffHeapProductCache("products", store);
+        fill(offHeapCache);
+        long offHeapFootprint = usedHeap() - baseline;
+        long offHeapGc = fullGcMillis();
+
+        log.info("""
+                        {}건 비교
+                        heap 캐시     : heap {}MB, full GC {}ms
+                        off-heap 캐시 : heap {}MB, full GC {}ms, direct {}MB, evictions {}, rejected {}""",
+                ONE_MILLION,
+                heapCacheFootprint / 1024 / 1024, heapCacheGc,
+                offHeapFootprint / 1024 / 1024, offHeapGc,
+                store.allocatedBytes() / 1024 / 1024, store.evictions(), store.rejected());
+
+        assertThat(heapCacheSize).isEqualTo(ONE_MILLION);
+        assertThat(store.size()).isEqualTo(ONE_MILLION);
+        assertThat(offHeapFootprint).isLessThan(heapCacheFootprint / 10);
+    }
+
+    private static void fill(Cache cache) {
+        for (long id = 0; id < ONE_MILLION; id++) {
+            cache.put(id, product(id));
+        }
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(id));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 살아있는 객체 그래프 크기에 비례하는 Full GC 시간 (GC MXBean 누적 시간 차이)
+     */
+    private static long fullGcMillis() {
+        long before = totalGcMillis();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return totalGcMillis() - before;
+    }
+
+    private static long totalGcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
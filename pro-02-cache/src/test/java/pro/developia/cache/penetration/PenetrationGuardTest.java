@@ -0,0 +1,208 @@
+package pro.developia.cache.penetration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pro.developia.cache.product.ProductService;
+import pro.developia.cache.support.RedisStandIn;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PenetrationGuardTest {
+    private static final long CATALOG_SIZE = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    private PenetrationProperties properties;
+    private ProductService productService;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PenetrationProperties();
+        properties.getFilter().setExpectedInsertions(CATALOG_SIZE * 2);
+        properties.getFilter().setSnapshotPath(tempDir.resolve("product-ids.bloom").toString());
+        productService = mock(ProductService.class);
+        when(productService.findAllIds()).thenAnswer(invocation -> LongStream.rangeClosed(1, CATALOG_SIZE));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Bloom filter 는 추가한 id 를 놓치지 않고, 없는 id 의 오탐률은 목표치 근처다.")
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        LongStream.range(0, 100_000).forEach(filter::put);
+
+        assertThat(LongStream.range(0, 100_000).allMatch(filter::mightContain)).isTrue();
+        long falsePositives = LongStream.range(100_000, 1_100_000).filter(filter::mightContain).count();
+        assertThat(falsePositives / 1_000_000.0).isLessThan(0.015);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.015);
+    }
+
+    @Test
+    @DisplayName("바이트 스냅샷으로 복원하거나 합친 필터는 원본의 id 를 모두 포함한다.")
+    void bloomFilterRoundTripsThroughBytes() {
+        BloomFilter left = BloomFilter.create(1_000, 0.01);
+        BloomFilter right = BloomFilter.create(1_000, 0.01);
+        LongStream.range(0, 500).forEach(left::put);
+        LongStream.range(500, 1_000).forEach(right::put);
+
+        BloomFilter restored = BloomFilter.fromByteArray(left.toByteArray(), left.numHashes());
+        restored.merge(right.toByteArray());
+
+        assertThat(restored.bitSize()).isEqualTo(left.bitSize());
+        assertThat(LongStream.range(0, 1_000).allMatch(restored::mightContain)).isTrue();
+    }
+
+    @Test
+    @DisplayName("필터가 없다고 하는 id 는 로더 없이 거절하고, 회피한 로드 수를 기록한다.")
+    void rejectsUnknownIdsBeforeLoader() {
+        PenetrationGuard guard = new PenetrationGuard(filter(), properties, meterRegistry);
+
+        long rejected = LongStream.rangeClosed(CATALOG_SIZE + 1, CATALOG_SIZE * 11)
+                .filter(guard::isKnownMissing)
+                .count();
+
+        assertThat(LongStream.rangeClosed(1, CATALOG_SIZE).noneMatch(guard::isKnownMissing)).isTrue();
+        assertThat(rejected).isGreaterThan(CATALOG_SIZE * 10 * 98 / 100);
+        assertThat(avoided("filter")).isEqualTo(rejected);
+        verify(productService, never()).findProductById(anyLong());
+    }
+
+    @Test
+    @DisplayName("로더가 없다고 확인한 id 는 TTL 동안만 부재 결과 캐시로 거절하고, 오탐으로 집계한다.")
+    void negativeResultExpiresAfterTtl() {
+        properties.setNegativeTtl(Duration.ofSeconds(30));
+        AtomicLong nanos = new AtomicLong();
+        PenetrationGuard guard = new PenetrationGuard(filter(), properties, meterRegistry, nanos::get);
+        // 필터를 통과하는(오탐) 없는 id
+        long falsePositive = LongStream.iterate(CATALOG_SIZE + 1, id -> id + 1)
+                .filter(id -> !guard.isKnownMissing(id))
+                .findFirst()
+                .orElseThrow();
+
+        guard.recordMissing(falsePositive);
+        assertThat(guard.isKnownMissing(falsePositive)).isTrue();
+        assertThat(avoided("negative-cache")).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(guard.isKnownMissing(falsePositive)).isFalse();
+        assertThat(meterRegistry.get("product.filter.false.positives").counter().count()).isEqualTo(2);
+        assertThat(guard.observedFalsePositiveRate()).isPositive();
+    }
+
+    @Test
+    @DisplayName("새로 생긴 상품은 필터와 부재 결과 캐시에 바로 반영된다.")
+    void createdProductIsVisibleImmediately() {
+        PenetrationGuard guard = new PenetrationGuard(filter(), properties, meterRegistry);
+        long newId = CATALOG_SIZE * 100;
+        guard.recordMissing(newId);
+
+        guard.recordCreated(newId);
+
+        assertThat(guard.isKnownMissing(newId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("스냅샷이 있어도 DB 에서 다시 만들고, 스냅샷의 id 는 합친다.")
+    void mergesSnapshotIntoRebuiltFilter() {
+        BloomFilterStore store = new FileBloomFilterStore(properties.getFilter().getSnapshotPath());
+        ProductIdFilter first = new ProductIdFilter(properties, store, productService, meterRegistry);
+        first.initialize();
+        first.add(CATALOG_SIZE * 100);
+        first.sync();
+
+        ProductIdFilter restored = new ProductIdFilter(properties, store, productService, new SimpleMeterRegistry());
+        restored.initialize();
+
+        verify(productService, times(2)).findAllIds();
+        assertThat(restored.mightContain(CATALOG_SIZE * 100)).isTrue();
+        assertThat(LongStream.rangeClosed(1, CATALOG_SIZE).allMatch(restored::mightContain)).isTrue();
+    }
+
+    @Test
+    @DisplayName("마지막 스냅샷 저장 이후 생긴 상품도 재기동 후 없는 상품으로 판정하지 않는다.")
+    void productCreatedAfterLastSnapshotIsNotLost() {
+        BloomFilterStore store = new FileBloomFilterStore(properties.getFilter().getSnapshotPath());
+        ProductIdFilter first = new ProductIdFilter(properties, store, productService, meterRegistry);
+        first.initialize();
+        long createdId = CATALOG_SIZE + 1;
+        first.add(createdId); // sync 전에 비정상 종료
+
+        when(productService.findAllIds()).thenAnswer(invocation -> LongStream.rangeClosed(1, createdId));
+        ProductIdFilter restored = new ProductIdFilter(properties, store, productService, new SimpleMeterRegistry());
+        restored.initialize();
+
+        assertThat(restored.mightContain(createdId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("종료 시 마지막 sync 이후 추가된 id 를 스냅샷에 저장한다.")
+    void savesSnapshotOnClose() {
+        BloomFilterStore store = new FileBloomFilterStore(properties.getFilter().getSnapshotPath());
+        ProductIdFilter first = new ProductIdFilter(properties, store, productService, meterRegistry);
+        first.initialize();
+        first.add(CATALOG_SIZE * 100);
+        first.close();
+
+        BloomFilter saved = BloomFilter.create(properties.getFilter().getExpectedInsertions(), properties.getFilter().getFalsePositiveRate());
+        saved.merge(store.load(saved));
+        assertThat(saved.mightContain(CATALOG_SIZE * 100)).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 Redis 에 추가한 id 는 sync 전에도 없는 상품으로 판정하지 않는다.")
+    void seesIdAddedByOtherInstanceBeforeSync() {
+        try (RedisStandIn redis = RedisStandIn.start(0)) {
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.port()));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            try {
+                String key = properties.getFilter().getRedisKey();
+                ProductIdFilter writer = new ProductIdFilter(properties, new RedisBloomFilterStore(connectionFactory, key), productService, meterRegistry);
+                ProductIdFilter reader = new ProductIdFilter(properties, new RedisBloomFilterStore(connectionFactory, key), productService, new SimpleMeterRegistry());
+                writer.initialize();
+                reader.initialize();
+                long[] missing = LongStream.iterate(CATALOG_SIZE + 1, id -> id + 1)
+                        .filter(id -> !reader.mightContain(id))
+                        .limit(2)
+                        .toArray();
+
+                writer.add(missing[0]);
+
+                assertThat(reader.mightContain(missing[0])).isTrue();
+                assertThat(reader.mightContain(missing[1])).isFalse();
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    private ProductIdFilter filter() {
+        ProductIdFilter filter = new ProductIdFilter(properties,
+                new FileBloomFilterStore(properties.getFilter().getSnapshotPath()), productService, meterRegistry);
+        filter.initialize();
+        return filter;
+    }
+
+    private double avoided(String reason) {
+        return meterRegistry.get("product.loads.avoided").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,126 @@
+package pro.developia.cache.product;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import pro.developia.cache.support.TestStoragePaths;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * cold key 가 한꺼번에 몰려 DB 로드가 요청 스레드 수보다 많아져도, 캐시된 hot key 요청은 로드를 기다리지 않는다
+ * <p>
+ * 요청 스레드를 8개로 줄이고 cold key 64개를 동시에 요청한다. 동기 컨트롤러라면 hot key 요청이 로드 시간(1초) 이상 대기열에 묶인다.
+ */
+@Slf4j
+@ActiveProfiles("caffeine")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "cache.warmup.enabled=false",
+        "product.repository.read-latency=PT1S",
+        "server.tomcat.threads.max=8"
+})
+class ColdKeyBurstTest {
+    private static final Duration READ_LATENCY = Duration.ofSeconds(1);
+    private static final long HOT_ID = 1L;
+    private static final int COLD_KEYS = 64;
+
+    @TempDir
+    static Path storageDirectory;
+
+    @DynamicPropertySource
+    static void storagePaths(DynamicPropertyRegistry registry) {
+        TestStoragePaths.register(registry, storageDirectory);
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.task.execution.pool.core-size=" + COLD_KEYS
+    })
+    @DisplayName("플랫폼 요청 스레드 + CompletableFuture 컨트롤러")
+    class PlatformRequestThreads {
+        @LocalServerPort
+        int port;
+
+        @Test
+        @DisplayName("cold key burst 가 진행되는 동안에도 hot key 는 로드 시간보다 훨씬 빨리 응답한다.")
+        void hotKeysAreNotStarved() throws Exception {
+            assertHotKeysServedDuringColdBurst(port, "platform");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    @DisplayName("가상 스레드 모드")
+    class VirtualThreads {
+        @LocalServerPort
+        int port;
+
+        @Test
+        @DisplayName("cold key burst 가 진행되는 동안에도 hot key 는 로드 시간보다 훨씬 빨리 응답한다.")
+        void hotKeysAreNotStarved() throws Exception {
+            assertHotKeysServedDuringColdBurst(port, "virtual");
+        }
+    }
+
+    private static void assertHotKeysServedDuringColdBurst(int port, String mode) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI base = URI.create("http://localhost:" + port + "/products/");
+        assertThat(send(client, base, HOT_ID).statusCode()).isEqualTo(200); // hot key 를 캐시에 올린다
+
+        List<Long> hotLatencies = new ArrayList<>();
+        long burstStart = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> coldRequests = LongStream.rangeClosed(1, COLD_KEYS)
+                    .mapToObj(i -> executor.submit(() -> send(client, base, 1_000 + i)))
+                    .toList();
+
+            // 첫 cold 로드가 끝나기 전까지 hot key 를 계속 요청
+            while (System.nanoTime() - burstStart < READ_LATENCY.toNanos() * 8 / 10) {
+                long start = System.nanoTime();
+                assertThat(send(client, base, HOT_ID).statusCode()).isEqualTo(200);
+                hotLatencies.add(System.nanoTime() - start);
+            }
+
+            for (Future<HttpResponse<String>> coldRequest : coldRequests) {
+                assertThat(coldRequest.get().statusCode()).isEqualTo(200);
+            }
+        }
+        long burstMillis = Duration.ofNanos(System.nanoTime() - burstStart).toMillis();
+
+        hotLatencies.sort(null);
+        long p99 = Duration.ofNanos(hotLatencies.get((int) Math.ceil(hotLatencies.size() * 0.99) - 1)).toMillis();
+        log.info("[{}] cold key {}개 burst {}ms 동안 hot key {}회, p99 {}ms", mode, COLD_KEYS, burstMillis, hotLatencies.size(), p99);
+
+        assertThat(hotLatencies).hasSizeGreaterThan(10);
+        assertThat(p99).isLessThan(READ_LATENCY.toMillis() / 4);
+        // 로드는 동시에 진행되므로 burst 전체도 로드 몇 번 분량 안에 끝난다
+        assertThat(burstMillis).isLessThan(READ_LATENCY.toMillis() * 4);
+    }
+
+    private static HttpResponse<String> send(HttpClient client, URI base, long id) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(String.valueOf(id))).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
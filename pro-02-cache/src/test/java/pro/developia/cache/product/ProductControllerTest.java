@@ -5,29 +5,46 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.StopWatch;
+import pro.developia.cache.support.TestStoragePaths;
 
+import java.nio.file.Path;
 import java.util.Objects;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Slf4j
-@SpringBootTest
+@SpringBootTest(properties = "cache.warmup.enabled=false") // 이전 실행의 스냅샷으로 캐시가 미리 채워지지 않도록
 @AutoConfigureMockMvc
 class ProductControllerTest {
 
+    @TempDir
+    static Path storageDirectory;
+
+    @DynamicPropertySource
+    static void storagePaths(DynamicPropertyRegistry registry) {
+        TestStoragePaths.register(registry, storageDirectory);
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -53,7 +70,7 @@ class ProductControllerTest {
         // 1. 첫 번째 호출 (캐시 MISS)
         log.info("[{}] --- 첫 번째 호출 시작 ---", cacheType);
         stopWatch.start("First Call");
-        mockMvc.perform(get("/products/{id}", productId))
+        getProduct(productId)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(productId));
         stopWatch.stop();
@@ -61,18 +78,28 @@ class ProductControllerTest {
         // 2. 두 번째 호출 (캐시 HIT)
         log.info("[{}] --- 두 번째 호출 시작 ---", cacheType);
         stopWatch.start("Second Call (Cached)");
-        mockMvc.perform(get("/products/{id}", productId))
+        getProduct(productId)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(productId));
         stopWatch.stop();
 
         // 3. 결과 검증
-        // ProductService의 findProductById 메서드가 단 1번만 호출되었는지 검증
-        verify(productService, times(1)).findProductById(productId);
+        // ProductService의 findProductByIdAsync 메서드가 단 1번만 호출되었는지 검증
+        verify(productService, times(1)).findProductByIdAsync(productId);
 
         log.info("[{}] 테스트 성능 결과:\n{}", cacheType, stopWatch.prettyPrint());
     }
 
+    /**
+     * 컨트롤러가 CompletableFuture 를 반환하므로 async dispatch 까지 수행한 결과를 검증한다
+     */
+    private ResultActions getProduct(Long productId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/products/{id}", productId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Nested
     @ActiveProfiles("caffeine")
     @DisplayName("Caffeine 로컬 캐시 테스트")
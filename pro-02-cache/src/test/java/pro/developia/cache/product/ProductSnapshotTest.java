@@ -0,0 +1,71 @@
+package pro.developia.cache.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.jcache.JCacheCache;
+import pro.developia.cache.admission.CacheBudgetProperties;
+import pro.developia.cache.config.CaffeineCacheConfig;
+import pro.developia.cache.ehcache.EhcacheTierProperties;
+import pro.developia.cache.ehcache.TieredCacheManagerFactory;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSnapshotTest {
+
+    @TempDir
+    Path diskPath;
+
+    @Test
+    @DisplayName("Caffeine / Ehcache heap 계층은 put 한 스냅샷을 복사 없이 같은 인스턴스로 돌려준다.")
+    void heapProvidersShareSnapshotByReference() {
+        Product product = product();
+        Cache caffeine = new CaffeineCache("products",
+                new CaffeineCacheConfig().caffeine(new CacheBudgetProperties(), Duration.ofSeconds(30)).build());
+
+        EhcacheTierProperties properties = new EhcacheTierProperties();
+        properties.setDiskPath(diskPath.toString());
+        properties.setPersistent(false);
+        try (CacheManager cacheManager = TieredCacheManagerFactory.create(properties)) {
+            Cache ehcache = new JCacheCache(cacheManager.getCache(TieredCacheManagerFactory.PRODUCTS));
+
+            for (Cache cache : new Cache[]{caffeine, ehcache}) {
+                cache.put(1L, product);
+                assertThat(cache.get(1L, Product.class)).isSameAs(product);
+                assertThat(cache.get(1L, Product.class)).isSameAs(cache.get(1L, Product.class));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("with* 는 새 스냅샷을 만들고, 캐시의 값은 다시 put 하기 전까지 바뀌지 않는다.")
+    void copyOnWrite() {
+        Cache cache = new CaffeineCache("products",
+                new CaffeineCacheConfig().caffeine(new CacheBudgetProperties(), Duration.ofSeconds(30)).build());
+        Product product = product();
+        cache.put(1L, product);
+
+        Product renamed = cache.get(1L, Product.class).withName("변경된 상품");
+
+        assertThat(renamed).isNotSameAs(product);
+        assertThat(renamed.getName()).isEqualTo("변경된 상품");
+        assertThat(renamed.getPrice()).isSameAs(product.getPrice());
+        assertThat(cache.get(1L, Product.class).getName()).isEqualTo("상품1");
+
+        cache.put(1L, renamed);
+        assertThat(cache.get(1L, Product.class)).isSameAs(renamed);
+        assertThat(product.getName()).isEqualTo("상품1");
+    }
+
+    private static Product product() {
+        return new Product(1L, "상품1", BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
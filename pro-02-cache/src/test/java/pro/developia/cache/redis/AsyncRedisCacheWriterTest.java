@@ -0,0 +1,222 @@
+package pro.developia.cache.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.mockito.InOrder;
+import org.springframework.util.StopWatch;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+class AsyncRedisCacheWriterTest {
+    private static final String CACHE_NAME = "products";
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private RedisCacheWriter delegate;
+    private RedisConnectionFactory connectionFactory;
+    private RedisConnection connection;
+    private RedisStringCommands stringCommands;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncRedisWriteProperties properties;
+    private AsyncRedisCacheWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(RedisCacheWriter.class);
+        connectionFactory = mock(RedisConnectionFactory.class);
+        connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AsyncRedisWriteProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("put 은 요청 스레드에서 Redis 를 호출하지 않고, 별도 스레드가 파이프라인으로 SET 을 전송한다.")
+    void putIsFlushedThroughPipeline() {
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        writer.put(CACHE_NAME, key(1), value(1), TTL);
+
+        verify(connection, timeout(1000)).closePipeline();
+        verify(connection).openPipeline();
+        verify(stringCommands).set(eq(key(1)), eq(value(1)), any(Expiration.class), eq(SetOption.upsert()));
+        verify(delegate, never()).put(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("전송 전이라도 get 은 대기 중인 값을 반환한다. (read-your-writes)")
+    void getReturnsPendingValue() throws InterruptedException {
+        CountDownLatch release = blockFlusher();
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        writer.put(CACHE_NAME, key(1), value(1), TTL);
+
+        assertThat(writer.get(CACHE_NAME, key(1))).isEqualTo(value(1));
+        verify(delegate, never()).get(any(), any());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 offer-timeout 후 호출 스레드에서 동기로 기록한다. (backpressure)")
+    void fallsBackToSyncWriteWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = blockFlusher();
+        properties.setQueueCapacity(1);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        writer.put(CACHE_NAME, key(1), value(1), TTL); // flusher 가 꺼내서 전송 중 (blocked)
+        verify(connectionFactory, timeout(1000)).getConnection();
+        writer.put(CACHE_NAME, key(2), value(2), TTL); // 큐에 적재
+        writer.put(CACHE_NAME, key(3), value(3), TTL); // 큐가 가득 차서 동기 쓰기
+
+        verify(delegate, times(1)).put(CACHE_NAME, key(3), value(3), TTL);
+        assertThat(meterRegistry.get("cache.redis.write").tag("mode", "sync").timer().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("전송 중인 SET 이 있으면 remove 는 전송이 끝난 뒤 DEL 하여, 늦게 도착한 SET 이 삭제를 되돌리지 않는다.")
+    void removeWaitsForInFlightFlush() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(connection).closePipeline();
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        writer.put(CACHE_NAME, key(1), value(1), TTL);
+        assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue(); // flusher 가 pending 확인 후 SET 전송 중
+
+        CompletableFuture<Void> evict = CompletableFuture.runAsync(() -> writer.remove(CACHE_NAME, key(1)));
+        Thread.sleep(100);
+        assertThat(evict).isNotDone();
+        verify(delegate, never()).remove(any(), any());
+
+        release.countDown();
+        evict.get(1, TimeUnit.SECONDS);
+
+        InOrder order = inOrder(connection, delegate);
+        order.verify(connection).closePipeline();
+        order.verify(delegate).remove(CACHE_NAME, key(1));
+    }
+
+    @Test
+    @DisplayName("전송 전에 remove 된 쓰기는 SET 하지 않는다.")
+    void removedWriteIsNotFlushed() throws Exception {
+        CountDownLatch release = blockFlusher();
+        properties.setBatchSize(1);
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        writer.put(CACHE_NAME, key(1), value(1), TTL); // flusher 가 꺼내서 전송 중 (blocked)
+        verify(connectionFactory, timeout(1000)).getConnection();
+        CompletableFuture<Void> future = writer.store(CACHE_NAME, key(2), value(2), TTL);
+        writer.remove(CACHE_NAME, key(2));
+        release.countDown();
+
+        future.get(1, TimeUnit.SECONDS);
+        verify(stringCommands, never()).set(eq(key(2)), any(), any(Expiration.class), any(SetOption.class));
+        assertThat(writer.get(CACHE_NAME, key(2))).isNull();
+    }
+
+    @Test
+    @DisplayName("DROP 정책에서는 전송에 실패한 쓰기를 버리고 dropped 카운터를 증가시킨다.")
+    void dropPolicyDiscardsFailedWrites() {
+        properties.setFailurePolicy(AsyncRedisWriteProperties.WriteFailurePolicy.DROP);
+        doThrow(new IllegalStateException("connection reset")).when(connection).closePipeline();
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+
+        CompletableFuture<Void> future = writer.store(CACHE_NAME, key(1), value(1), TTL);
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("cache.redis.write.dropped").counter().count()).isEqualTo(1);
+        assertThat(writer.get(CACHE_NAME, key(1))).isNull();
+    }
+
+    @Test
+    @DisplayName("동기 SET 대비 비동기 put 이 요청 스레드에서 소요하는 시간 비교")
+    void asyncPutRemovesWriteLatencyFromRequestPath() throws InterruptedException {
+        // Redis 왕복 지연을 흉내
+        doAnswer(invocation -> {
+            Thread.sleep(5);
+            return null;
+        }).when(delegate).put(any(), any(), any(), any());
+        writer = new AsyncRedisCacheWriter(delegate, connectionFactory, properties, meterRegistry);
+        int count = 100;
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start("sync");
+        for (int i = 0; i < count; i++) {
+            delegate.put(CACHE_NAME, key(i), value(i), TTL);
+        }
+        stopWatch.stop();
+
+        stopWatch.start("async");
+        for (int i = 0; i < count; i++) {
+            writer.put(CACHE_NAME, key(i), value(i), TTL);
+        }
+        stopWatch.stop();
+
+        log.info("동기/비동기 쓰기 {}건 소요 시간:\n{}", count, stopWatch.prettyPrint(TimeUnit.MILLISECONDS));
+        assertThat(stopWatch.getTaskInfo()[1].getTimeNanos()).isLessThan(stopWatch.getTaskInfo()[0].getTimeNanos());
+        assertThat(meterRegistry.get("cache.redis.write").tag("mode", "async").timer().count()).isEqualTo(count);
+    }
+
+    /**
+     * flusher 스레드가 커넥션을 얻는 시점에서 멈추도록 하고, 해제용 latch 반환
+     */
+    private CountDownLatch blockFlusher() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(connectionFactory.getConnection()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return connection;
+        });
+        return release;
+    }
+
+    private static byte[] key(int id) {
+        return (CACHE_NAME + "::" + id).getBytes();
+    }
+
+    private static byte[] value(int id) {
+        return ("{\"id\":" + id + "}").getBytes();
+    }
+}
@@ -0,0 +1,175 @@
+package pro.developia.cache.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pro.developia.cache.config.RedisCacheConfig;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductNotFoundException;
+import pro.developia.cache.support.RedisStandIn;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class ResilientCacheTest {
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(100);
+
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+    private MeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private Cache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        redis = RedisStandIn.start(0);
+        // redis 프로필의 LettuceClientConfigurationBuilderCustomizer 와 같은 옵션
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofSeconds(1))
+                .clientOptions(ClientOptions.builder()
+                        .timeoutOptions(TimeoutOptions.builder()
+                                .timeoutSource(new RedisCommandTimeouts(READ_TIMEOUT, Duration.ofMillis(200), Duration.ofSeconds(1)))
+                                .build())
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.port()),
+                clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        RedisCacheManager redisCacheManager = new RedisCacheConfig().redisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), meterRegistry);
+        redisCacheManager.afterPropertiesSet();
+        circuitBreaker = CircuitBreaker.of("redisCache", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMillis(500))
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .build());
+        cache = new ResilientCacheManager(redisCacheManager, circuitBreaker, new RedisResilienceProperties(), meterRegistry)
+                .getCache("products");
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("Redis 가 죽으면 breaker 가 열리고, 열린 동안은 Redis 를 기다리지 않고 로컬 사본이나 로더로 응답한다.")
+    void servesLocallyWhileOpen() {
+        cache.put(1L, product(1L, "상품1"));
+        assertThat(cache.get(1L, Product.class)).isEqualTo(product(1L, "상품1"));
+
+        redis.stop();
+        for (long id = 100; id < 104; id++) {
+            assertThat(cache.get(id, loader(id))).isEqualTo(product(id, "상품" + id));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(loads).hasValue(4);
+
+        long start = System.nanoTime();
+        assertThat(cache.get(1L, Product.class)).isEqualTo(product(1L, "상품1"));
+        assertThat(cache.get(2L, loader(2L))).isEqualTo(product(2L, "상품2"));
+        assertThat(cache.get(2L, loader(2L))).isEqualTo(product(2L, "상품2"));
+        assertThat(cache.<Product>retrieve(3L, () -> CompletableFuture.completedFuture(product(3L, "상품3"))).join())
+                .isEqualTo(product(3L, "상품3"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(READ_TIMEOUT);
+
+        assertThat(loads).hasValue(5);
+        // 실패한 호출 4번 + 열린 동안 로컬 사본에 없던 2L, 3L
+        assertThat(meterRegistry.get("cache.degraded.requests").tag("source", "loader").counter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("cache.degraded.requests").tag("source", "local").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("로더 예외는 Redis 장애로 세지 않고 그대로 던진다.")
+    void loaderFailureIsNotRedisFailure() {
+        for (int i = 0; i < 8; i++) {
+            assertThatThrownBy(() -> cache.get(404L, () -> {
+                throw new ProductNotFoundException(404L);
+            })).isInstanceOf(Cache.ValueRetrievalException.class).hasCauseInstanceOf(ProductNotFoundException.class);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 가 다시 살아나면 breaker 가 닫히고, 열린 동안 바뀐 키는 Redis 에 남은 이전 값을 지워 다시 보이지 않는다.")
+    void repairsKeysChangedWhileOpen() {
+        cache.put(1L, product(1L, "변경 전"));
+        redis.stop();
+        for (long id = 100; id < 104; id++) {
+            cache.get(id, loader(id));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        cache.put(1L, product(1L, "변경 후"));
+        assertThat(cache.get(1L, Product.class).getName()).isEqualTo("변경 후");
+
+        redis.start();
+        await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
+            cache.get(999L);
+            assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        });
+
+        // 복구가 끝나면 로컬 사본이 아닌 Redis 를 조회하고, 이전 값은 지워졌으므로 MISS
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(cache.get(1L)).isNull());
+        assertThat(redis.size()).isZero();
+        assertThat(meterRegistry.get("cache.degraded.time").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.degraded.current").timeGauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("캐시 오류 처리기는 캐시 저장소 오류만 삼키고, 로더 예외는 그대로 던진다.")
+    void errorHandlerSwallowsOnlyCacheFailures() {
+        DegradingCacheErrorHandler errorHandler = new DegradingCacheErrorHandler(meterRegistry);
+
+        errorHandler.handleCacheGetError(new QueryTimeoutException("timeout"), cache, 1L);
+        errorHandler.handleCachePutError(new IllegalStateException("put"), cache, 1L, product(1L, "상품1"));
+        assertThatThrownBy(() -> errorHandler.handleCacheGetError(new ProductNotFoundException(1L), cache, 1L))
+                .isInstanceOf(ProductNotFoundException.class);
+
+        assertThat(meterRegistry.get("cache.errors").tag("operation", "get").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.errors").tag("operation", "put").counter().count()).isEqualTo(1);
+    }
+
+    private Callable<Product> loader(long id) {
+        return () -> {
+            loads.incrementAndGet();
+            return product(id, "상품" + id);
+        };
+    }
+
+    private static Product product(long id, String name) {
+        return new Product(id, name, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,175 @@
+package pro.developia.cache.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pro.developia.cache.metrics.CacheBackend;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.trace.AccessTraceRecorder;
+import pro.developia.cache.warmup.HotKeyTracker;
+import pro.developia.cache.warmup.WarmupProperties;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ProductResponseCacheFilterTest {
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final ObjectMapper responseMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private ProductResponseCache productResponseCache;
+    private AccessTraceRecorder accessTraceRecorder;
+    private ProductResponseCacheFilter filter;
+    private FilterChain controller;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        productResponseCache = new ProductResponseCache(new ConcurrentMapCacheManager(ProductResponseCache.CACHE_NAME),
+                backend(TTL), properties, Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        accessTraceRecorder = mock(AccessTraceRecorder.class);
+        filter = new ProductResponseCacheFilter(productResponseCache, new HotKeyTracker(new WarmupProperties()), accessTraceRecorder);
+        // 컨트롤러 + Jackson 메시지 컨버터 역할
+        controller = (request, response) -> {
+            renders.incrementAndGet();
+            response.setContentType("application/json");
+            responseMapper.writeValue(response.getOutputStream(), product(1L));
+        };
+    }
+
+    @Test
+    @DisplayName("MISS 에서 렌더링한 바이트를 저장하고, HIT 에서는 컨트롤러 없이 같은 바이트와 ETag 를 응답한다.")
+    void servesRenderedBytesOnHit() throws Exception {
+        MockHttpServletResponse miss = get(null);
+        MockHttpServletResponse hit = get(null);
+
+        assertThat(renders).hasValue(1);
+        assertThat(miss.getHeader("X-Cache")).isEqualTo("MISS");
+        assertThat(hit.getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(hit.getContentAsByteArray()).isEqualTo(miss.getContentAsByteArray());
+        assertThat(hit.getHeader(HttpHeaders.ETAG)).isEqualTo(miss.getHeader(HttpHeaders.ETAG)).startsWith("\"");
+        assertThat(hit.getContentType()).isEqualTo("application/json");
+        // MISS 는 컨트롤러가 기록하고, 컨트롤러를 거치지 않는 HIT 는 필터가 기록한다
+        verify(accessTraceRecorder).record(1L);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 ETag 와 같으면 본문 없이 304 를 응답한다.")
+    void answersNotModified() throws Exception {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get("W/" + etag);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentLength()).isZero();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(get("\"other\"").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Cache-Control max-age 는 backend TTL 에서 저장 후 지난 시간을 뺀 값이다.")
+    void derivesCacheControlFromBackendTtl() throws Exception {
+        // 저장 시각(NOW) 을 직접 넣고, 조회는 60초 뒤 시계로 한다
+        CachedResponse cached = CachedResponse.of("\"etag\"", NOW.toEpochMilli(), new byte[]{'{', '}'});
+
+        assertThat(productResponseCache.cacheControl(cached)).isEqualTo("max-age=" + (TTL.toSeconds() - 60));
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        ProductResponseCache unknownTtl = new ProductResponseCache(new ConcurrentMapCacheManager(ProductResponseCache.CACHE_NAME),
+                backend(null), properties);
+        assertThat(unknownTtl.cacheControl(cached)).isEqualTo("no-cache");
+    }
+
+    @Test
+    @DisplayName("evict 후에는 다시 렌더링한다.")
+    void rendersAgainAfterEvict() throws Exception {
+        get(null);
+        productResponseCache.evict(1L);
+        get(null);
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("MISS 렌더링 도중 상품이 바뀌면 이전 본문을 저장하지 않는다.")
+    void doesNotStoreBodyRenderedBeforeUpdate() throws Exception {
+        FilterChain render = controller;
+        // 이전 상품을 렌더링한 뒤, 응답을 저장하기 전에 상품이 바뀐다
+        controller = (request, response) -> {
+            render.doFilter(request, response);
+            productResponseCache.evict(1L);
+        };
+        MockHttpServletResponse stale = get(null);
+        controller = render;
+
+        assertThat(stale.getHeader("X-Cache")).isEqualTo("MISS");
+        assertThat(productResponseCache.get(1L)).isNull();
+        get(null);
+        assertThat(get(null).getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(renders).hasValue(2);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private static ObjectProvider<CacheBackend> backend(Duration ttl) {
+        CacheBackend backend = new CacheBackend() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public double size(Cache cache) {
+                return Double.NaN;
+            }
+
+            @Override
+            public double evictions(Cache cache) {
+                return Double.NaN;
+            }
+
+            @Override
+            public Duration timeToLive(Cache cache) {
+                return ttl;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("cacheBackend", backend);
+        return beanFactory.getBeanProvider(CacheBackend.class);
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
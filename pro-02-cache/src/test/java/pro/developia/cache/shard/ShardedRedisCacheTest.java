@@ -0,0 +1,234 @@
+package pro.developia.cache.shard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import pro.developia.cache.config.RedisCacheConfig;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductService;
+import pro.developia.cache.support.RedisStandIn;
+import pro.developia.cache.warmup.CacheWarmupRunner;
+import pro.developia.cache.warmup.HotKeySnapshot;
+import pro.developia.cache.warmup.HotKeyTracker;
+import pro.developia.cache.warmup.WarmupProperties;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedRedisCacheTest {
+    private static final int NODES = 3;
+    private static final int VIRTUAL_NODES = 160;
+
+    private final List<RedisStandIn> redisNodes = new ArrayList<>();
+    private ShardedRedisCacheWriter writer;
+    private RedisCacheManager cacheManager;
+    private ShardedRedisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        List<RedisShard> shards = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            RedisStandIn redis = RedisStandIn.start(0);
+            redisNodes.add(redis);
+            shards.add(RedisShard.connect("localhost:" + redis.port(), Duration.ofMillis(500),
+                    RedisCacheWriter::nonLockingRedisCacheWriter));
+        }
+        ShardProperties properties = new ShardProperties();
+        properties.setVirtualNodes(VIRTUAL_NODES);
+        writer = new ShardedRedisCacheWriter(shards, properties, new SimpleMeterRegistry());
+        cacheManager = new RedisCacheConfig().redisCacheManager(writer, new SimpleMeterRegistry());
+        cacheManager.afterPropertiesSet();
+        cache = (ShardedRedisCache) cacheManager.getCache("products");
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+        redisNodes.forEach(RedisStandIn::close);
+    }
+
+    @Test
+    @DisplayName("가상 노드로 키가 고르게 나뉘고, 노드가 빠지거나 늘어도 그 노드와 관련된 키만 옮겨 간다.")
+    void ringSpreadsKeysAndRemapsMinimally() {
+        List<String> nodes = List.of("redis-a:6379", "redis-b:6379", "redis-c:6379", "redis-d:6379");
+        ConsistentHashRing<String> ring = ConsistentHashRing.of(nodes, node -> node, VIRTUAL_NODES);
+        ConsistentHashRing<String> withoutD = ConsistentHashRing.of(nodes.subList(0, 3), node -> node, VIRTUAL_NODES);
+        List<String> withE = new ArrayList<>(nodes);
+        withE.add("redis-e:6379");
+        ConsistentHashRing<String> grown = ConsistentHashRing.of(withE, node -> node, VIRTUAL_NODES);
+
+        int keys = 100_000;
+        Map<String, Integer> counts = new HashMap<>();
+        int movedOnRemove = 0;
+        int movedOnAdd = 0;
+        for (long id = 0; id < keys; id++) {
+            byte[] key = key(id);
+            String owner = ring.nodeFor(key);
+            counts.merge(owner, 1, Integer::sum);
+
+            String afterRemove = withoutD.nodeFor(key);
+            if (!afterRemove.equals(owner)) {
+                assertThat(owner).isEqualTo("redis-d:6379");
+                movedOnRemove++;
+            }
+            String afterAdd = grown.nodeFor(key);
+            if (!afterAdd.equals(owner)) {
+                assertThat(afterAdd).isEqualTo("redis-e:6379");
+                movedOnAdd++;
+            }
+        }
+
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count / (double) keys).isBetween(0.18, 0.32));
+        assertThat(movedOnRemove).isEqualTo(counts.get("redis-d:6379"));
+        assertThat(movedOnAdd / (double) keys).isBetween(0.12, 0.28);
+    }
+
+    @Test
+    @DisplayName("상품이 모든 노드에 나뉘어 저장되고 그대로 조회된다.")
+    void spreadsEntriesAcrossNodes() {
+        LongStream.rangeClosed(1, 300).forEach(id -> cache.put(id, product(id)));
+
+        assertThat(redisNodes).allSatisfy(redis -> assertThat(redis.size()).isGreaterThan(50));
+        assertThat(redisNodes.stream().mapToInt(RedisStandIn::size).sum()).isEqualTo(300);
+        assertThat(LongStream.rangeClosed(1, 300).allMatch(id -> product(id).equals(cache.get(id, Product.class)))).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 키 조회는 노드별 MGET 을 동시에 보내므로, 가장 느린 노드 한 번의 왕복 시간 안에 끝난다.")
+    void getAllQueriesShardsInParallel() {
+        LongStream.rangeClosed(1, 30).forEach(id -> cache.put(id, product(id)));
+        Duration latency = Duration.ofMillis(200);
+        redisNodes.forEach(redis -> redis.latency(latency));
+        long commandsBefore = redisNodes.stream().mapToLong(RedisStandIn::commandCount).sum();
+
+        long start = System.nanoTime();
+        Map<Object, Object> found = cache.getAll(LongStream.rangeClosed(1, 35).boxed().toList());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(found).hasSize(30).containsEntry(7L, product(7L));
+        assertThat(redisNodes.stream().mapToLong(RedisStandIn::commandCount).sum() - commandsBefore).isEqualTo(NODES);
+        assertThat(elapsed).isLessThan(latency.multipliedBy(NODES).minus(Duration.ofMillis(150)));
+    }
+
+    @Test
+    @DisplayName("warm-up 은 이미 캐시에 있는 hot key 를 MGET 으로 확인하고 나머지만 로드한다.")
+    void warmupSkipsCachedKeys(@TempDir Path tempDir) throws Exception {
+        LongStream.rangeClosed(1, 15).forEach(id -> cache.put(id, product(id)));
+        WarmupProperties properties = new WarmupProperties();
+        properties.setSnapshotPath(tempDir.resolve("hot-keys.txt").toString());
+        properties.setTopKeys(20);
+        HotKeyTracker hotKeyTracker = new HotKeyTracker(properties);
+        LongStream.rangeClosed(1, 20).forEach(hotKeyTracker::record);
+        HotKeySnapshot hotKeySnapshot = new HotKeySnapshot(hotKeyTracker, properties);
+        hotKeySnapshot.snapshot();
+        ProductService productService = mock(ProductService.class);
+        when(productService.findProductById(anyLong())).thenAnswer(invocation -> product(invocation.getArgument(0)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new CacheWarmupRunner(hotKeySnapshot, productService, cacheManager, properties, meterRegistry)
+                .run(new DefaultApplicationArguments());
+
+        LongStream.rangeClosed(1, 15).forEach(id -> verify(productService, never()).findProductById(id));
+        LongStream.rangeClosed(16, 20).forEach(id -> verify(productService, times(1)).findProductById(id));
+        assertThat(meterRegistry.get("cache.warmup.keys").tag("result", "loaded").counter().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("cache.warmup.coverage").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("응답하지 않는 노드는 링에서 빠져 그 키만 MISS 가 되고, 다시 살아나면 비워진 상태로 링에 돌아온다.")
+    void ejectsFailedNodeAndRejoinsEmpty() {
+        LongStream.rangeClosed(1, 300).forEach(id -> cache.put(id, product(id)));
+        RedisStandIn failed = redisNodes.get(0);
+        RedisShard failedShard = writer.shards().get(0);
+        long failedId = LongStream.rangeClosed(1, 300).filter(id -> writer.shardFor(key(id)) == failedShard).findFirst().orElseThrow();
+        long healthyId = LongStream.rangeClosed(1, 300).filter(id -> writer.shardFor(key(id)) != failedShard).findFirst().orElseThrow();
+
+        failed.stop();
+        for (int i = 0; i < 3; i++) {
+            writer.checkHealth();
+        }
+
+        assertThat(failedShard.isEjected()).isTrue();
+        assertThat(cache.get(failedId)).isNull();
+        assertThat(cache.get(healthyId, Product.class)).isEqualTo(product(healthyId));
+        cache.put(failedId, product(failedId));
+        assertThat(cache.get(failedId, Product.class)).isEqualTo(product(failedId));
+
+        failed.start();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            writer.checkHealth();
+            assertThat(failedShard.isEjected()).isFalse();
+        });
+
+        // 빠져 있던 동안의 옛 값이 다시 보이지 않도록 비워진 채로 돌아온다
+        assertThat(failed.size()).isZero();
+        assertThat(writer.shardFor(key(failedId))).isSameAs(failedShard);
+        assertThat(cache.get(failedId)).isNull();
+        assertThat(cache.get(healthyId, Product.class)).isEqualTo(product(healthyId));
+    }
+
+    @Test
+    @DisplayName("노드가 돌아오면 빠져 있는 동안 다른 노드에 쓴 키를 지워, 그 노드가 다시 빠져도 옛 값이 보이지 않는다.")
+    void rejoinRemovesCopiesWrittenToOtherNodes() {
+        LongStream.rangeClosed(1, 300).forEach(id -> cache.put(id, product(id)));
+        RedisStandIn failed = redisNodes.get(0);
+        RedisShard failedShard = writer.shards().get(0);
+        long failedId = LongStream.rangeClosed(1, 300).filter(id -> writer.shardFor(key(id)) == failedShard).findFirst().orElseThrow();
+
+        eject(failed);
+        cache.put(failedId, product(failedId).withName("빠져 있는 동안 쓴 상품"));
+        RedisStandIn fallback = redisNodes.get(writer.shards().indexOf(writer.shardFor(key(failedId))));
+        int fallbackSize = fallback.size();
+
+        failed.start();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            writer.checkHealth();
+            assertThat(failedShard.isEjected()).isFalse();
+        });
+        assertThat(fallback.size()).isEqualTo(fallbackSize - 1);
+
+        // 돌아온 노드에서 갱신한 뒤 다시 빠지면, 대신 받던 노드에는 옛 복사본이 없어 MISS 가 된다
+        cache.put(failedId, product(failedId));
+        eject(failed);
+        assertThat(cache.get(failedId)).isNull();
+    }
+
+    private void eject(RedisStandIn redis) {
+        redis.stop();
+        for (int i = 0; i < 3; i++) {
+            writer.checkHealth();
+        }
+        assertThat(writer.shards().get(redisNodes.indexOf(redis)).isEjected()).isTrue();
+    }
+
+    private static byte[] key(long id) {
+        return ("products::" + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
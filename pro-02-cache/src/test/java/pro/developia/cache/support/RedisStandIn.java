@@ -0,0 +1,397 @@
+package pro.developia.cache.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트/벤치마크용 인메모리 Redis (RESP2)
+ * <p>
+ * 캐시 모듈이 쓰는 명령만 구현한다: PING, GET, SET(EX/PX/NX/XX), MGET, DEL, EXISTS, KEYS, SCAN, INFO, SETBIT, GETBIT, PTTL, DBSIZE, FLUSHDB.
+ * HELLO 에는 unknown command 로 답해서 Lettuce 가 RESP2 로 내려오게 한다.
+ * {@link #stop()} 은 서버 소켓과 모든 연결을 끊어 장애를 흉내 내고, {@link #start()} 로 같은 포트에서 다시 띄울 수 있다 (데이터는 유지).
+ */
+@Slf4j
+public class RedisStandIn implements AutoCloseable {
+    private final Map<ByteBuffer, Entry> data = new ConcurrentHashMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commands = new AtomicLong();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile ServerSocket serverSocket;
+    private int port;
+
+    public RedisStandIn(int port) {
+        this.port = port;
+    }
+
+    public static RedisStandIn start(int port) {
+        RedisStandIn redis = new RedisStandIn(port);
+        redis.start();
+        return redis;
+    }
+
+    public synchronized void start() {
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            port = socket.getLocalPort();
+            serverSocket = socket;
+            Thread.ofPlatform().name("redis-stand-in-" + port).daemon(true).start(() -> accept(socket));
+        } catch (IOException e) {
+            throw new IllegalStateException("Redis stand-in 을 시작하지 못했습니다. port=" + port, e);
+        }
+    }
+
+    /**
+     * 프로세스가 죽은 것처럼 모든 연결을 끊는다
+     */
+    public synchronized void stop() {
+        ServerSocket socket = serverSocket;
+        serverSocket = null;
+        if (socket != null) {
+            closeQuietly(socket);
+        }
+        clients.forEach(RedisStandIn::closeQuietly);
+        clients.clear();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public boolean isRunning() {
+        return serverSocket != null;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /**
+     * 응답 전에 매번 지연을 넣는다 (느린 Redis 흉내)
+     */
+    public void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public long commandCount() {
+        return commands.get();
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public void flushAll() {
+        data.clear();
+    }
+
+    private void accept(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                Thread.ofVirtual().start(() -> serve(client));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Redis stand-in 연결 수락 실패", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = new BufferedOutputStream(client.getOutputStream());
+            while (true) {
+                List<byte[]> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                commands.incrementAndGet();
+                if (!latency.isZero()) {
+                    Thread.sleep(latency);
+                }
+                execute(command, out);
+                // 파이프라인으로 들어온 명령은 모아서 한 번에 내보낸다
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (SocketException | EOFException e) {
+            // stop() 또는 클라이언트 종료
+        } catch (IOException e) {
+            log.debug("Redis stand-in 연결 오류: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private void execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = string(command.get(0)).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "HELLO" -> error(out, "ERR unknown command 'HELLO'");
+            case "CLIENT", "SELECT" -> simple(out, "OK");
+            case "QUIT" -> {
+                simple(out, "OK");
+                out.flush();
+                throw new EOFException();
+            }
+            case "GET" -> bulk(out, value(command.get(1)));
+            case "SET" -> set(command, out);
+            case "MGET" -> {
+                array(out, command.size() - 1);
+                for (int i = 1; i < command.size(); i++) {
+                    bulk(out, value(command.get(i)));
+                }
+            }
+            case "DEL", "UNLINK" -> {
+                long removed = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    removed += data.remove(ByteBuffer.wrap(command.get(i))) != null ? 1 : 0;
+                }
+                integer(out, removed);
+            }
+            case "EXISTS" -> {
+                long count = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    count += value(command.get(i)) != null ? 1 : 0;
+                }
+                integer(out, count);
+            }
+            case "KEYS" -> {
+                List<byte[]> keys = keys(glob(string(command.get(1))));
+                array(out, keys.size());
+                for (byte[] key : keys) {
+                    bulk(out, key);
+                }
+            }
+            case "SCAN" -> scan(command, out);
+            case "INFO" -> bulk(out, "# Stats\r\nevicted_keys:0\r\n".getBytes(StandardCharsets.UTF_8));
+            case "SETBIT" -> integer(out, setBit(command.get(1), Long.parseLong(string(command.get(2))), "1".equals(string(command.get(3)))));
+            case "GETBIT" -> integer(out, getBit(command.get(1), Long.parseLong(string(command.get(2)))));
+            case "PTTL" -> {
+                Entry entry = entry(command.get(1));
+                integer(out, entry == null ? -2 : entry.expiresAt == 0 ? -1 : entry.expiresAt - System.currentTimeMillis());
+            }
+            case "DBSIZE" -> integer(out, data.size());
+            case "FLUSHDB", "FLUSHALL" -> {
+                data.clear();
+                simple(out, "OK");
+            }
+            default -> error(out, "ERR unknown command '" + name + "'");
+        }
+    }
+
+    private void set(List<byte[]> command, OutputStream out) throws IOException {
+        ByteBuffer key = ByteBuffer.wrap(command.get(1));
+        byte[] value = command.get(2);
+        long expiresAt = 0;
+        boolean nx = false;
+        boolean xx = false;
+        for (int i = 3; i < command.size(); i++) {
+            switch (string(command.get(i)).toUpperCase(Locale.ROOT)) {
+                case "EX" -> expiresAt = System.currentTimeMillis() + Long.parseLong(string(command.get(++i))) * 1000;
+                case "PX" -> expiresAt = System.currentTimeMillis() + Long.parseLong(string(command.get(++i)));
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                default -> {
+                }
+            }
+        }
+        boolean exists = value(command.get(1)) != null;
+        if ((nx && exists) || (xx && !exists)) {
+            bulk(out, null);
+            return;
+        }
+        data.put(key, new Entry(value, expiresAt));
+        simple(out, "OK");
+    }
+
+    private void scan(List<byte[]> command, OutputStream out) throws IOException {
+        int cursor = Integer.parseInt(string(command.get(1)));
+        Pattern pattern = null;
+        int count = 10;
+        for (int i = 2; i < command.size(); i++) {
+            String option = string(command.get(i)).toUpperCase(Locale.ROOT);
+            if (option.equals("MATCH")) {
+                pattern = glob(string(command.get(++i)));
+            } else if (option.equals("COUNT")) {
+                count = Integer.parseInt(string(command.get(++i)));
+            }
+        }
+        List<byte[]> all = keys(pattern);
+        int end = Math.min(all.size(), cursor + count);
+        List<byte[]> page = cursor < all.size() ? all.subList(cursor, end) : List.of();
+        array(out, 2);
+        bulk(out, String.valueOf(end >= all.size() ? 0 : end).getBytes(StandardCharsets.UTF_8));
+        array(out, page.size());
+        for (byte[] key : page) {
+            bulk(out, key);
+        }
+    }
+
+    private synchronized long setBit(byte[] key, long offset, boolean on) {
+        Entry entry = entry(key);
+        byte[] bits = entry != null ? entry.value : new byte[0];
+        int index = (int) (offset >>> 3);
+        if (index >= bits.length) {
+            bits = java.util.Arrays.copyOf(bits, index + 1);
+        }
+        int mask = 0x80 >>> (offset & 7);
+        long previous = (bits[index] & mask) != 0 ? 1 : 0;
+        bits[index] = (byte) (on ? bits[index] | mask : bits[index] & ~mask);
+        data.put(ByteBuffer.wrap(key), new Entry(bits, entry != null ? entry.expiresAt : 0));
+        return previous;
+    }
+
+    private long getBit(byte[] key, long offset) {
+        byte[] bits = value(key);
+        int index = (int) (offset >>> 3);
+        if (bits == null || index >= bits.length) {
+            return 0;
+        }
+        return (bits[index] & (0x80 >>> (offset & 7))) != 0 ? 1 : 0;
+    }
+
+    private List<byte[]> keys(Pattern pattern) {
+        List<byte[]> keys = new ArrayList<>();
+        for (ByteBuffer key : data.keySet()) {
+            byte[] bytes = key.array();
+            if (value(bytes) != null && (pattern == null || pattern.matcher(string(bytes)).matches())) {
+                keys.add(bytes);
+            }
+        }
+        return keys;
+    }
+
+    private byte[] value(byte[] key) {
+        Entry entry = entry(key);
+        return entry != null ? entry.value : null;
+    }
+
+    private Entry entry(byte[] key) {
+        ByteBuffer wrapped = ByteBuffer.wrap(key);
+        Entry entry = data.get(wrapped);
+        if (entry != null && entry.expiresAt != 0 && entry.expiresAt <= System.currentTimeMillis()) {
+            data.remove(wrapped, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("RESP 배열이 아닌 요청입니다. type=" + (char) type);
+        }
+        int length = Integer.parseInt(readLine(in));
+        List<byte[]> arguments = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            if (in.read() != '$') {
+                throw new IOException("RESP bulk string 이 아닌 인자입니다.");
+            }
+            byte[] argument = in.readNBytes(Integer.parseInt(readLine(in)));
+            readLine(in);
+            arguments.add(argument);
+        }
+        return arguments;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        in.read(); // \n
+        return line.toString();
+    }
+
+    private static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                case '[', ']' -> regex.append(c);
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static void simple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void error(OutputStream out, String message) throws IOException {
+        out.write(('-' + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void integer(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void array(OutputStream out, int size) throws IOException {
+        out.write(("*" + size + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void bulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
@@ -0,0 +1,88 @@
+package pro.developia.cache.support;
+
+import io.lettuce.core.ClientOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pro.developia.cache.config.RedisCacheConfig;
+import pro.developia.cache.product.Product;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class RedisStandInTest {
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        redis = RedisStandIn.start(0);
+        // 끊긴 동안 명령을 쌓아두지 않고 바로 실패시킨다
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofSeconds(1))
+                .clientOptions(ClientOptions.builder()
+                        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                        .build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.port()),
+                clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisCacheManager cacheManager = new RedisCacheConfig().redisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), new SimpleMeterRegistry());
+        cacheManager.afterPropertiesSet();
+        cache = cacheManager.getCache("products");
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("redis 프로필의 RedisCacheManager 설정 그대로 stand-in 에 저장/조회/삭제한다.")
+    void worksWithRedisCacheManager() {
+        Product product = new Product(1L, "상품1", BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        cache.put(1L, product);
+        cache.put(2L, product);
+
+        assertThat(cache.get(1L, Product.class)).isEqualTo(product);
+        assertThat(redis.size()).isEqualTo(2);
+
+        cache.evict(1L);
+        assertThat(cache.get(1L)).isNull();
+
+        cache.clear();
+        assertThat(redis.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("stop 하면 명령이 실패하고, 같은 포트로 다시 start 하면 데이터가 남아 있다.")
+    void survivesRestartOnSamePort() {
+        cache.put(1L, "value");
+
+        redis.stop();
+        assertThatThrownBy(() -> cache.get(1L)).isInstanceOf(RuntimeException.class);
+
+        redis.start();
+        await().atMost(Duration.ofSeconds(10))
+                .ignoreExceptions()
+                .untilAsserted(() -> assertThat(cache.get(1L, String.class)).isEqualTo("value"));
+    }
+}
@@ -0,0 +1,23 @@
+package pro.developia.cache.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.nio.file.Path;
+
+/**
+ * 스프링 컨텍스트 테스트가 java.io.tmpdir 아래의 공용 경로 대신 테스트별 디렉터리를 쓰도록 파일 경로 프로퍼티를 바꾼다
+ * <p>
+ * 이전 실행이 남긴 ehcache 디스크 계층, write-behind journal, Bloom filter 스냅샷이 다음 실행 결과에 섞이지 않게 한다.
+ */
+public final class TestStoragePaths {
+    private TestStoragePaths() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry, Path directory) {
+        registry.add("cache.ehcache.disk-path", () -> directory.resolve("ehcache").toString());
+        registry.add("cache.warmup.snapshot-path", () -> directory.resolve("hot-keys.txt").toString());
+        registry.add("cache.penetration.filter.snapshot-path", () -> directory.resolve("product-ids.bloom").toString());
+        registry.add("cache.trace.path", () -> directory.resolve("product-access.trace").toString());
+        registry.add("product.write-behind.journal-path", () -> directory.resolve("product-writes.journal").toString());
+    }
+}
@@ -0,0 +1,177 @@
+package pro.developia.cache.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import pro.developia.cache.admission.RetainedSizeEstimator;
+import pro.developia.cache.product.Product;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTraceRecorderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("기록한 조회는 같은 순서의 id 와 단조 증가하는 시각으로 다시 읽힌다.")
+    void recordsAccessesInOrder() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccessTraceRecorder recorder = new AccessTraceRecorder(properties(DataSize.ofMegabytes(1)), meterRegistry);
+
+        long start = System.currentTimeMillis();
+        LongStream.rangeClosed(1, 10_000).forEach(i -> recorder.record(i % 100 - 10));
+        recorder.close();
+        Path path = single(traceFiles());
+
+        List<Long> ids = new ArrayList<>();
+        long previous = 0;
+        try (AccessTraceReader reader = new AccessTraceReader(path)) {
+            while (reader.next()) {
+                assertThat(reader.timeMillis()).isGreaterThanOrEqualTo(Math.max(previous, start));
+                previous = reader.timeMillis();
+                ids.add(reader.id());
+            }
+        }
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 10_000).map(i -> i % 100 - 10).boxed().toList());
+        assertThat(meterRegistry.get("cache.trace.accesses").tag("result", "recorded").counter().count()).isEqualTo(10_000);
+        // 시각 차이 1 byte + 작은 id 1 byte + 모르는 크기 1 byte
+        assertThat(Files.size(path)).isLessThan(10_000 * 4);
+    }
+
+    @Test
+    @DisplayName("파일이 max-size 에 도달하면 기록을 멈춘다.")
+    void stopsAtMaxSize() throws Exception {
+        AccessTraceRecorder recorder = new AccessTraceRecorder(properties(DataSize.ofBytes(1_024)), new SimpleMeterRegistry());
+
+        for (long id = 1; id <= 100_000; id++) {
+            recorder.record(id);
+            if (id % 1_000 == 0) {
+                Thread.sleep(10); // 기록 스레드가 max-size 를 확인할 시간
+            }
+        }
+        recorder.close();
+        Path path = single(traceFiles());
+
+        assertThat(Files.size(path)).isLessThan(100_000);
+        assertThat(count(path)).isPositive().isLessThan(100_000);
+    }
+
+    @Test
+    @DisplayName("상품과 함께 기록한 조회는 엔트리 크기를, 상품 없이 기록한 조회는 0 을 남긴다.")
+    void recordsEntrySize() throws Exception {
+        Product product = new Product(1L, "상품1", BigDecimal.valueOf(10_000), LocalDateTime.of(2025, 1, 1, 0, 0));
+        AccessTraceRecorder recorder = new AccessTraceRecorder(properties(DataSize.ofMegabytes(1)), new SimpleMeterRegistry());
+
+        recorder.record(1L, product);
+        recorder.record(1L);
+        recorder.close();
+
+        List<Integer> sizes = new ArrayList<>();
+        try (AccessTraceReader reader = new AccessTraceReader(single(traceFiles()))) {
+            while (reader.next()) {
+                sizes.add(reader.size());
+            }
+        }
+        assertThat(sizes).containsExactly(RetainedSizeEstimator.estimate(1L, product), 0);
+    }
+
+    @Test
+    @DisplayName("재기동해도 이전 로그를 덮어쓰지 않고 기동마다 새 파일에 쓴다.")
+    void keepsPreviousRunTrace() throws Exception {
+        for (long id = 1; id <= 2; id++) {
+            AccessTraceRecorder recorder = new AccessTraceRecorder(properties(DataSize.ofMegabytes(1)), new SimpleMeterRegistry());
+            recorder.record(id);
+            recorder.close();
+        }
+
+        List<Path> files = traceFiles();
+        assertThat(files).hasSize(2);
+        for (Path file : files) {
+            assertThat(count(file)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 기동 시각의 파일이 이미 있으면 번호를 붙인다.")
+    void runPathAvoidsCollision() {
+        Path base = tempDir.resolve("product-access.trace");
+        LocalDateTime startedAt = LocalDateTime.of(2025, 1, 1, 9, 30);
+
+        assertThat(AccessTraceRecorder.runPath(base, startedAt, 0).getFileName().toString())
+                .isEqualTo("product-access-20250101-093000-000.trace");
+        assertThat(AccessTraceRecorder.runPath(base, startedAt, 1).getFileName().toString())
+                .isEqualTo("product-access-20250101-093000-000-1.trace");
+    }
+
+    @Test
+    @DisplayName("마지막 조회가 잘린 로그는 그 앞까지만 읽는다.")
+    void readsUpToTruncatedTail() throws IOException {
+        Path path = tempDir.resolve("product-access.trace");
+        try (AccessTraceWriter writer = new AccessTraceWriter(path)) {
+            writer.write(1_000, 1L, 120);
+            writer.write(2_000, 100_000L, 120);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThat(count(path)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 파일을 만들지 않는다.")
+    void disabledRecordsNothing() throws Exception {
+        AccessTraceProperties properties = properties(DataSize.ofMegabytes(1));
+        properties.setEnabled(false);
+        AccessTraceRecorder recorder = new AccessTraceRecorder(properties, new SimpleMeterRegistry());
+
+        recorder.record(1L);
+        recorder.close();
+
+        assertThat(traceFiles()).isEmpty();
+    }
+
+    private static long count(Path path) throws IOException {
+        long count = 0;
+        try (AccessTraceReader reader = new AccessTraceReader(path)) {
+            while (reader.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Path> traceFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("product-access-")).sorted().toList();
+        }
+    }
+
+    private static Path single(List<Path> files) {
+        assertThat(files).hasSize(1);
+        return files.getFirst();
+    }
+
+    private AccessTraceProperties properties(DataSize maxSize) {
+        AccessTraceProperties properties = new AccessTraceProperties();
+        properties.setEnabled(true);
+        properties.setPath(tempDir.resolve("product-access.trace").toString());
+        properties.setMaxSize(maxSize);
+        properties.setQueueCapacity(100_000);
+        return properties;
+    }
+}
@@ -0,0 +1,103 @@
+package pro.developia.cache.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductService;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmupRunnerTest {
+    @TempDir
+    Path tempDir;
+
+    private WarmupProperties properties;
+    private HotKeyTracker hotKeyTracker;
+    private HotKeySnapshot hotKeySnapshot;
+    private ProductService productService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmupProperties();
+        properties.setSnapshotPath(tempDir.resolve("hot-keys.txt").toString());
+        properties.setTopKeys(3);
+        properties.setConcurrency(4);
+        hotKeyTracker = new HotKeyTracker(properties);
+        hotKeySnapshot = new HotKeySnapshot(hotKeyTracker, properties);
+        productService = mock(ProductService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("조회 횟수 상위 id 만 스냅샷으로 저장한다.")
+    void snapshotKeepsHottestKeys() {
+        record(1L, 10);
+        record(2L, 5);
+        record(3L, 20);
+        record(4L, 1);
+
+        hotKeySnapshot.snapshot();
+
+        assertThat(hotKeySnapshot.read()).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("스냅샷의 id 를 최대 concurrency 개씩 병렬로 로드하고 소요 시간과 적중률을 기록한다.")
+    void preloadsSnapshotWithBoundedConcurrency() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 20).boxed().toList();
+        hotKeySnapshot.write(ids);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(productService.findProductById(anyLong())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            Long id = invocation.getArgument(0);
+            return new Product(id, "상품" + id, BigDecimal.valueOf(10_000), LocalDateTime.now());
+        });
+
+        new CacheWarmupRunner(hotKeySnapshot, productService, new ConcurrentMapCacheManager(), properties, meterRegistry)
+                .run(new DefaultApplicationArguments());
+
+        ids.forEach(id -> verify(productService, times(1)).findProductById(id));
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(properties.getConcurrency());
+        assertThat(meterRegistry.get("cache.warmup.keys").tag("result", "loaded").counter().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("cache.warmup.coverage").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스냅샷이 없으면 아무것도 로드하지 않는다.")
+    void skipsWithoutSnapshot() throws Exception {
+        new CacheWarmupRunner(hotKeySnapshot, productService, new ConcurrentMapCacheManager(), properties, meterRegistry)
+                .run(new DefaultApplicationArguments());
+
+        verify(productService, never()).findProductById(anyLong());
+    }
+
+    private void record(Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.record(id);
+        }
+    }
+}
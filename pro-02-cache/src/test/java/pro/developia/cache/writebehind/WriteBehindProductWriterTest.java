@@ -0,0 +1,220 @@
+package pro.developia.cache.writebehind;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pro.developia.cache.product.Product;
+import pro.developia.cache.product.ProductRepository;
+import pro.developia.cache.product.ProductWrite;
+import pro.developia.cache.product.ProductWriter;
+import pro.developia.cache.product.WriteThroughProductWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class WriteBehindProductWriterTest {
+    private static final Duration WRITE_LATENCY = Duration.ofMillis(5);
+    private static final int THREADS = 4;
+    private static final int WRITES_PER_THREAD = 250;
+
+    @TempDir
+    Path tempDir;
+
+    private WriteBehindProperties properties;
+    private ProductRepository productRepository;
+    private final List<WriteBehindProductWriter> writers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        properties.setJournalPath(tempDir.resolve("product-writes.journal").toString());
+        properties.setFlushInterval(Duration.ofHours(1)); // 주기 flush 가 끼어들지 않도록
+        productRepository = new ProductRepository(1_000, Duration.ZERO, WRITE_LATENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writers.forEach(WriteBehindProductWriter::close);
+    }
+
+    @Test
+    @DisplayName("같은 id 의 변경은 마지막 값만 한 번의 배치로 저장소에 반영된다.")
+    void coalescesUpdatesPerId() {
+        WriteBehindProductWriter writer = writer(new SimpleMeterRegistry());
+        for (int version = 0; version < 100; version++) {
+            for (long id = 1; id <= 10; id++) {
+                writer.write(ProductWrite.upsert(product(id, version)));
+            }
+        }
+
+        writer.flush();
+
+        assertThat(productRepository.writeCalls()).isEqualTo(1);
+        assertThat(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> productRepository.findById(id).orElseThrow().getName()))
+                .allMatch(name -> name.endsWith("v99"));
+    }
+
+    @Test
+    @DisplayName("반영 전 변경은 pending 으로 조회되고, 삭제도 순서대로 반영된다.")
+    void exposesPendingWritesBeforeFlush() {
+        WriteBehindProductWriter writer = writer(new SimpleMeterRegistry());
+        writer.write(ProductWrite.upsert(product(1L, 1)));
+        writer.write(ProductWrite.delete(2L));
+
+        assertThat(writer.pending(1L).product().getName()).endsWith("v1");
+        assertThat(writer.pending(2L).isDelete()).isTrue();
+        assertThat(writer.pendingUpsertIds()).containsExactly(1L);
+        assertThat(productRepository.writeCalls()).isZero();
+
+        writer.flush();
+
+        assertThat(writer.pending(1L)).isNull();
+        assertThat(productRepository.findById(1L).orElseThrow().getName()).endsWith("v1");
+        assertThat(productRepository.findById(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("반영 전에 종료되어도 다음 기동 때 저널에서 복구하고, 잘린 마지막 레코드는 버린다.")
+    void recoversFromJournalAfterCrash() throws IOException {
+        WriteBehindProductWriter crashed = new WriteBehindProductWriter(productRepository, properties, new SimpleMeterRegistry());
+        for (long id = 1; id <= 100; id++) {
+            crashed.write(ProductWrite.upsert(product(id, 1)));
+        }
+        crashed.write(ProductWrite.delete(50L));
+        // 반영 없이 멈춘 상태에서, 기록 도중 끊긴 레코드를 흉내
+        crashed.halt();
+        Files.write(Path.of(properties.getJournalPath()), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        WriteBehindProductWriter recovered = writer(new SimpleMeterRegistry());
+        assertThat(recovered.pendingWrites()).isEqualTo(100);
+        recovered.flush();
+
+        assertThat(productRepository.findById(1L).orElseThrow().getName()).endsWith("v1");
+        assertThat(productRepository.findById(100L).orElseThrow().getName()).endsWith("v1");
+        assertThat(productRepository.findById(50L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대기 중인 상품 수가 한도를 넘으면 요청 스레드에서 직접 저장소에 쓴다.")
+    void boundsPendingWrites() {
+        properties.setMaxPending(10);
+        properties.setBatchSize(1_000);
+        properties.setOfferTimeout(Duration.ZERO);
+        WriteBehindProductWriter writer = writer(new SimpleMeterRegistry());
+
+        for (long id = 1; id <= 30; id++) {
+            writer.write(ProductWrite.upsert(product(id, 1)));
+            assertThat(writer.pendingWrites()).isLessThanOrEqualTo(10);
+        }
+        writer.flush();
+
+        assertThat(LongStream.rangeClosed(1, 30)
+                .allMatch(id -> productRepository.findById(id).orElseThrow().getName().endsWith("v1"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("한도를 넘어 직접 쓴 변경도 저널에 남아, 복구 때 이전 변경이 더 최신 값을 덮어쓰지 않는다.")
+    void writeThroughIsJournaled() {
+        properties.setMaxPending(10);
+        properties.setBatchSize(1_000);
+        properties.setOfferTimeout(Duration.ZERO);
+        WriteBehindProductWriter crashed = new WriteBehindProductWriter(productRepository, properties, new SimpleMeterRegistry());
+        crashed.write(ProductWrite.upsert(product(1L, 1)));
+        crashed.flush(); // 반영되었지만 저널에는 남아 있다
+        for (long id = 2; id <= 11; id++) {
+            crashed.write(ProductWrite.upsert(product(id, 1)));
+        }
+        crashed.write(ProductWrite.upsert(product(1L, 2))); // 대기열이 가득 차서 직접 쓴다
+        assertThat(productRepository.findById(1L).orElseThrow().getName()).endsWith("v2");
+        crashed.halt();
+
+        WriteBehindProductWriter recovered = writer(new SimpleMeterRegistry());
+        recovered.flush();
+
+        assertThat(productRepository.findById(1L).orElseThrow().getName()).endsWith("v2");
+        assertThat(productRepository.findById(11L).orElseThrow().getName()).endsWith("v1");
+    }
+
+    @Test
+    @DisplayName("처리량 비교: write-through 대비 write-behind 는 요청 스레드가 저장소 왕복을 기다리지 않는다.")
+    void throughputComparedWithWriteThrough() throws Exception {
+        properties.setFlushInterval(Duration.ofMillis(100));
+        properties.setBatchSize(200);
+
+        double writeThrough = throughput(new WriteThroughProductWriter(productRepository, new SimpleMeterRegistry()));
+        long writeThroughCalls = productRepository.writeCalls();
+
+        properties.setJournalFsync(false);
+        WriteBehindProductWriter noFsync = writer(new SimpleMeterRegistry());
+        double writeBehind = throughput(noFsync);
+        noFsync.flush();
+        noFsync.close();
+        writers.remove(noFsync);
+
+        properties.setJournalFsync(true);
+        properties.setJournalPath(tempDir.resolve("product-writes-fsync.journal").toString());
+        WriteBehindProductWriter fsync = writer(new SimpleMeterRegistry());
+        double writeBehindFsync = throughput(fsync);
+        fsync.flush();
+
+        log.info("""
+                        상품 쓰기 처리량 (저장소 왕복 {}ms, {}스레드 x {}건)
+                        write-through           : {} writes/s, 저장소 왕복 {}회
+                        write-behind            : {} writes/s
+                        write-behind (fsync)    : {} writes/s""",
+                WRITE_LATENCY.toMillis(), THREADS, WRITES_PER_THREAD,
+                Math.round(writeThrough), writeThroughCalls,
+                Math.round(writeBehind), Math.round(writeBehindFsync));
+
+        assertThat(writeBehind).isGreaterThan(writeThrough * 5);
+        assertThat(productRepository.writeCalls() - writeThroughCalls).isLessThan(writeThroughCalls / 5);
+    }
+
+    private static double throughput(ProductWriter writer) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        writer.write(ProductWrite.upsert(product((i * THREADS + offset) % 500 + 1, i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return THREADS * WRITES_PER_THREAD / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private WriteBehindProductWriter writer(SimpleMeterRegistry meterRegistry) {
+        WriteBehindProductWriter writer = new WriteBehindProductWriter(productRepository, properties, meterRegistry);
+        writers.add(writer);
+        return writer;
+    }
+
+    private static Product product(long id, int version) {
+        return new Product(id, "상품" + id + "-v" + version, BigDecimal.valueOf(10_000 + version), LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}